@@ -1,22 +1,66 @@
 package com.carmanagement;
 
+import com.carmanagement.persistence.FsyncPolicy;
+import com.carmanagement.persistence.PersistenceManager;
 import com.carmanagement.repository.CarRepository;
+import com.carmanagement.repository.CarRepositoryInterface;
+import com.carmanagement.repository.ColumnarFuelRepository;
 import com.carmanagement.repository.FuelRepository;
+import com.carmanagement.repository.FuelRepositoryInterface;
+import com.carmanagement.repository.OffHeapFuelRepository;
 import com.carmanagement.service.CarService;
+import com.carmanagement.service.FleetService;
 import com.carmanagement.service.FuelService;
+import com.carmanagement.servlet.AnalyticsExecutor;
 import com.carmanagement.servlet.CarsApiServlet;
+import com.carmanagement.servlet.FleetApiServlet;
 import com.carmanagement.servlet.FuelStatsServlet;
 import com.carmanagement.servlet.HealthServlet;
+import com.carmanagement.servlet.MetricsServlet;
+import com.carmanagement.servlet.ResponseCompression;
+import jakarta.servlet.http.HttpServlet;
+import org.eclipse.jetty.http2.server.HTTP2CServerConnectionFactory;
+import org.eclipse.jetty.server.HttpConfiguration;
+import org.eclipse.jetty.server.HttpConnectionFactory;
 import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
 import org.eclipse.jetty.servlet.ServletContextHandler;
 import org.eclipse.jetty.servlet.ServletHolder;
+import org.eclipse.jetty.util.BlockingArrayQueue;
+import org.eclipse.jetty.util.VirtualThreads;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 public class Application {
     
     private static final int DEFAULT_PORT = 8080;
+    private static final String FUEL_STORAGE_PROPERTY = "carmanagement.fuel.storage";
+    private static final String DATA_DIR_PROPERTY = "carmanagement.data.dir";
+    private static final String WAL_FSYNC_PROPERTY = "carmanagement.wal.fsync";
+    private static final String WAL_FSYNC_INTERVAL_PROPERTY = "carmanagement.wal.fsyncIntervalMs";
+    private static final String SNAPSHOT_INTERVAL_PROPERTY = "carmanagement.snapshot.intervalSeconds";
+    private static final String FLEET_PARALLELISM_PROPERTY = "carmanagement.fleet.parallelism";
+    private static final String ANALYTICS_THREADS_PROPERTY = "carmanagement.analytics.threads";
+    private static final String ANALYTICS_MAX_QUEUED_PROPERTY = "carmanagement.analytics.maxQueued";
+    private static final int DEFAULT_ANALYTICS_MAX_QUEUED = 256;
+    private static final long DEFAULT_FSYNC_INTERVAL_MS = 20;
+    private static final long DEFAULT_SNAPSHOT_INTERVAL_SECONDS = 300;
     
     private final Server server;
     private final int port;
+    private String fuelStorage;
+    private ServerTuning tuning;
+    private String threadMode;
+    private QueuedThreadPool threadPool;
+    private ServerConnector connector;
+    private PersistenceManager persistence;
+    private FleetService fleetService;
+    private AnalyticsExecutor analyticsExecutor;
 
     public Application() {
         this(DEFAULT_PORT);
@@ -28,45 +72,221 @@ public class Application {
     }
 
     private Server createServer() {
-        Server server = new Server(port);
+        tuning = ServerTuning.load();
+        threadPool = createThreadPool();
+        Server server = new Server(threadPool);
+        connector = createConnector(server);
+        server.addConnector(connector);
         
         ServletContextHandler context = new ServletContextHandler(ServletContextHandler.SESSIONS);
         context.setContextPath("/");
         server.setHandler(context);
         
-        CarRepository carRepository = new CarRepository();
-        FuelRepository fuelRepository = new FuelRepository();
+        CarRepositoryInterface carRepository = new CarRepository();
+        FuelRepositoryInterface fuelStore = createFuelRepository();
+        FuelRepositoryInterface fuelRepository = fuelStore;
+        
+        String dataDir = System.getProperty(DATA_DIR_PROPERTY);
+        if (dataDir != null) {
+            persistence = openPersistence(dataDir, carRepository, fuelStore);
+            carRepository = persistence.getCarRepository();
+            fuelRepository = persistence.getFuelRepository();
+        }
         
         CarService carService = new CarService(carRepository);
         FuelService fuelService = new FuelService(fuelRepository, carRepository);
+        fleetService = new FleetService(carRepository, fuelRepository, fleetParallelism());
+        
+        analyticsExecutor = createAnalyticsExecutor();
+        
+        // Stats routes go async on the analytics executor, which needs async support on their holders.
+        ResponseCompression compression = tuning.getCompressionEncodings().isEmpty() ? null
+                : new ResponseCompression(tuning.getCompressionThreshold(), tuning.getCompressionLevel(),
+                        tuning.getCompressionEncodings());
+        CarsApiServlet carsApiServlet = new CarsApiServlet(carService, fuelService, analyticsExecutor, compression);
+        context.addServlet(asyncHolder(carsApiServlet), "/api/cars");
+        context.addServlet(asyncHolder(carsApiServlet), "/api/cars/*");
         
-        CarsApiServlet carsApiServlet = new CarsApiServlet(carService, fuelService);
-        context.addServlet(new ServletHolder(carsApiServlet), "/api/cars");
-        context.addServlet(new ServletHolder(carsApiServlet), "/api/cars/*");
+        FuelStatsServlet fuelStatsServlet = new FuelStatsServlet(fuelService, analyticsExecutor);
+        context.addServlet(asyncHolder(fuelStatsServlet), "/servlet/fuel-stats");
         
-        FuelStatsServlet fuelStatsServlet = new FuelStatsServlet(fuelService);
-        context.addServlet(new ServletHolder(fuelStatsServlet), "/servlet/fuel-stats");
+        FleetApiServlet fleetApiServlet = new FleetApiServlet(fleetService, analyticsExecutor);
+        context.addServlet(asyncHolder(fleetApiServlet), "/api/fleet/*");
         
         HealthServlet healthServlet = new HealthServlet();
         context.addServlet(new ServletHolder(healthServlet), "/health");
         
+        MetricsServlet metricsServlet = new MetricsServlet();
+        metricsServlet.register("threadPool", this::getThreadPoolStats);
+        metricsServlet.register("analytics", analyticsExecutor::getStats);
+        if (compression != null) {
+            metricsServlet.register("compression", compression::getStats);
+        }
+        if (persistence != null) {
+            metricsServlet.register("persistence", persistence::getStats);
+        }
+        if (fuelStore instanceof OffHeapFuelRepository) {
+            metricsServlet.register("offHeapFuelStorage", ((OffHeapFuelRepository) fuelStore)::getStorageStats);
+        }
+        context.addServlet(new ServletHolder(metricsServlet), "/metrics");
+        
         return server;
     }
 
+    private ServletHolder asyncHolder(HttpServlet servlet) {
+        ServletHolder holder = new ServletHolder(servlet);
+        holder.setAsyncSupported(true);
+        return holder;
+    }
+
+    private AnalyticsExecutor createAnalyticsExecutor() {
+        int processors = Runtime.getRuntime().availableProcessors();
+        int threads = Integer.getInteger(ANALYTICS_THREADS_PROPERTY, processors);
+        if (threads < 1) {
+            System.err.println("Invalid " + ANALYTICS_THREADS_PROPERTY + ": " + threads + ", using " + processors);
+            threads = processors;
+        }
+        int maxQueued = Integer.getInteger(ANALYTICS_MAX_QUEUED_PROPERTY, DEFAULT_ANALYTICS_MAX_QUEUED);
+        if (maxQueued < 1) {
+            System.err.println("Invalid " + ANALYTICS_MAX_QUEUED_PROPERTY + ": " + maxQueued
+                    + ", using " + DEFAULT_ANALYTICS_MAX_QUEUED);
+            maxQueued = DEFAULT_ANALYTICS_MAX_QUEUED;
+        }
+        return new AnalyticsExecutor(threads, maxQueued);
+    }
+
+    private PersistenceManager openPersistence(String dataDir, CarRepositoryInterface carRepository,
+                                               FuelRepositoryInterface fuelRepository) {
+        FsyncPolicy policy = FsyncPolicy.fromString(System.getProperty(WAL_FSYNC_PROPERTY, "interval"));
+        long intervalMs = Long.getLong(WAL_FSYNC_INTERVAL_PROPERTY, DEFAULT_FSYNC_INTERVAL_MS);
+        long snapshotSeconds = Long.getLong(SNAPSHOT_INTERVAL_PROPERTY, DEFAULT_SNAPSHOT_INTERVAL_SECONDS);
+        PersistenceManager manager = new PersistenceManager(Paths.get(dataDir), policy, intervalMs, snapshotSeconds);
+        
+        try {
+            manager.open(carRepository, fuelRepository);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open data directory " + dataDir, e);
+        }
+        System.out.println("Recovered from " + dataDir + " in " + manager.getRecoveryMillis() + " ms"
+                + " (snapshot: " + manager.getRestoredSnapshot()
+                + ", replayed journal records: " + manager.getReplayedRecords()
+                + ", fsync: " + policy.name().toLowerCase() + ")");
+        return manager;
+    }
+
+    private int fleetParallelism() {
+        int processors = Runtime.getRuntime().availableProcessors();
+        int parallelism = Integer.getInteger(FLEET_PARALLELISM_PROPERTY, processors);
+        if (parallelism < 1) {
+            System.err.println("Invalid " + FLEET_PARALLELISM_PROPERTY + ": " + parallelism + ", using " + processors);
+            return processors;
+        }
+        return parallelism;
+    }
+
+    // Jetty's pool always runs the acceptor and selector threads. In virtual mode it hands request
+    // handling to a new virtual thread per task, so a handler blocked on I/O no longer holds one of the
+    // pool's platform threads. Jetty detects support reflectively; without it (Java 17, or 19/20 without
+    // --enable-preview) the bounded platform pool is used instead.
+    private QueuedThreadPool createThreadPool() {
+        int maxThreads = tuning.getMaxThreads();
+        int minThreads = tuning.getMinThreads();
+        int maxQueued = tuning.getMaxQueuedRequests();
+        // A bound makes excess connections fail fast instead of waiting in Jetty's growable queue.
+        QueuedThreadPool pool = maxQueued > 0
+                ? new QueuedThreadPool(maxThreads, minThreads, tuning.getThreadIdleTimeoutMs(),
+                        new BlockingArrayQueue<>(Math.min(minThreads, maxQueued), minThreads, maxQueued))
+                : new QueuedThreadPool(maxThreads, minThreads, tuning.getThreadIdleTimeoutMs());
+        pool.setName("carmanagement");
+
+        threadMode = tuning.getThreadMode();
+        if (threadMode.equals("virtual")) {
+            if (VirtualThreads.areSupported()) {
+                pool.setVirtualThreadsExecutor(VirtualThreads.getDefaultVirtualThreadsExecutor());
+            } else {
+                System.err.println("Virtual threads are not available on Java " + Runtime.version().feature()
+                        + ", using platform threads");
+                threadMode = "platform";
+            }
+        }
+        return pool;
+    }
+
+    // HTTP/1.1 always; with h2c the same port also takes cleartext HTTP/2, either by prior knowledge or
+    // through an HTTP/1.1 Upgrade request.
+    private ServerConnector createConnector(Server server) {
+        HttpConfiguration config = new HttpConfiguration();
+        config.setOutputBufferSize(tuning.getOutputBufferSize());
+        HttpConnectionFactory http1 = new HttpConnectionFactory(config);
+        ServerConnector serverConnector = tuning.isH2c()
+                ? new ServerConnector(server, tuning.getAcceptors(), tuning.getSelectors(),
+                        http1, new HTTP2CServerConnectionFactory(config))
+                : new ServerConnector(server, tuning.getAcceptors(), tuning.getSelectors(), http1);
+        serverConnector.setPort(port);
+        serverConnector.setIdleTimeout(tuning.getIdleTimeoutMs());
+        serverConnector.setAcceptQueueSize(tuning.getAcceptQueueSize());
+        return serverConnector;
+    }
+
+    private Map<String, Object> getThreadPoolStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("mode", threadMode);
+        stats.put("threads", threadPool.getThreads());
+        stats.put("busyThreads", threadPool.getBusyThreads());
+        stats.put("idleThreads", threadPool.getIdleThreads());
+        stats.put("maxThreads", threadPool.getMaxThreads());
+        stats.put("queuedJobs", threadPool.getQueueSize());
+        return stats;
+    }
+
+    private FuelRepositoryInterface createFuelRepository() {
+        fuelStorage = System.getProperty(FUEL_STORAGE_PROPERTY, "map");
+        switch (fuelStorage) {
+            case "map":
+                return new FuelRepository();
+            case "columnar":
+                return new ColumnarFuelRepository();
+            case "offheap":
+                return new OffHeapFuelRepository();
+            default:
+                System.err.println("Unknown " + FUEL_STORAGE_PROPERTY + ": " + fuelStorage + ", using map");
+                fuelStorage = "map";
+                return new FuelRepository();
+        }
+    }
+
     public void start() throws Exception {
         server.start();
         System.out.println("========================================");
         System.out.println("  Car Management Server Started");
         System.out.println("  Port: " + port);
+        System.out.println("  Fuel storage: " + fuelStorage);
+        System.out.println("  Server config: " + (tuning.getSource() == null ? "system properties" : tuning.getSource()));
+        System.out.println("  Protocols: " + String.join(", ", connector.getProtocols()));
+        System.out.println("  Connector: " + connector.getAcceptors() + " acceptors, "
+                + connector.getSelectorManager().getSelectorCount() + " selectors, idle timeout "
+                + connector.getIdleTimeout() + " ms, accept queue "
+                + (connector.getAcceptQueueSize() == 0 ? "OS default" : connector.getAcceptQueueSize())
+                + ", output buffer " + tuning.getOutputBufferSize() + " bytes");
+        System.out.println("  Request threads: " + threadMode + " (pool " + threadPool.getMinThreads() + "-"
+                + threadPool.getMaxThreads() + ", queue "
+                + (tuning.getMaxQueuedRequests() == 0 ? "unbounded" : tuning.getMaxQueuedRequests())
+                + ", idle timeout " + threadPool.getIdleTimeout() + " ms)");
+        System.out.println("  Compression: " + (tuning.getCompressionEncodings().isEmpty() ? "off"
+                : String.join(", ", tuning.getCompressionEncodings()) + " from " + tuning.getCompressionThreshold()
+                        + " bytes, level " + tuning.getCompressionLevel()));
         System.out.println("========================================");
         System.out.println();
         System.out.println("Available endpoints:");
         System.out.println("  POST   /api/cars                  - Create a car");
         System.out.println("  GET    /api/cars                  - List all cars");
         System.out.println("  POST   /api/cars/{id}/fuel        - Add fuel entry");
+        System.out.println("  GET    /api/cars/{id}/fuel/entries - Fuel entries in an odometer range");
         System.out.println("  GET    /api/cars/{id}/fuel/stats  - Get fuel statistics");
+        System.out.println("  GET    /api/fleet/fuel/stats      - Fleet-wide fuel statistics");
         System.out.println("  GET    /servlet/fuel-stats?carId={id} - Manual servlet");
         System.out.println("  GET    /health                     - Health check");
+        System.out.println("  GET    /metrics                    - Server metrics");
         System.out.println();
         System.out.println("Press Ctrl+C to stop the server");
         System.out.println("========================================");
@@ -78,6 +298,11 @@ public class Application {
 
     public void stop() throws Exception {
         server.stop();
+        analyticsExecutor.close();
+        fleetService.close();
+        if (persistence != null) {
+            persistence.close();
+        }
     }
 
     public static void main(String[] args) {
@@ -0,0 +1,220 @@
+package com.carmanagement;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+
+// Connector and thread pool settings for the Jetty server. Values come from an optional properties
+// file named by carmanagement.server.config, then from system properties, which win over the file.
+// Both use the same keys. An invalid value is reported and replaced with its default rather than
+// failing startup; -1 for acceptors and selectors and 0 for the accept queue leave the choice to
+// Jetty or the OS.
+public final class ServerTuning {
+
+    public static final String CONFIG_FILE_PROPERTY = "carmanagement.server.config";
+
+    static final String THREADS = "carmanagement.server.threads";
+    static final String MAX_THREADS = "carmanagement.server.maxThreads";
+    static final String MIN_THREADS = "carmanagement.server.minThreads";
+    static final String MAX_QUEUED_REQUESTS = "carmanagement.server.maxQueuedRequests";
+    static final String THREAD_IDLE_TIMEOUT_MS = "carmanagement.server.threadIdleTimeoutMs";
+    static final String ACCEPTORS = "carmanagement.server.acceptors";
+    static final String SELECTORS = "carmanagement.server.selectors";
+    static final String IDLE_TIMEOUT_MS = "carmanagement.server.idleTimeoutMs";
+    static final String ACCEPT_QUEUE_SIZE = "carmanagement.server.acceptQueueSize";
+    static final String OUTPUT_BUFFER_SIZE = "carmanagement.server.outputBufferSize";
+    static final String H2C = "carmanagement.server.h2c";
+    static final String COMPRESSION_ENCODINGS = "carmanagement.server.compression";
+    static final String COMPRESSION_THRESHOLD = "carmanagement.server.compressionThreshold";
+    static final String COMPRESSION_LEVEL = "carmanagement.server.compressionLevel";
+
+    private static final int DEFAULT_MAX_THREADS = 200;
+    private static final int DEFAULT_MIN_THREADS = 8;
+    private static final int DEFAULT_THREAD_IDLE_TIMEOUT_MS = 60_000;
+    private static final int DEFAULT_IDLE_TIMEOUT_MS = 30_000;
+    private static final int DEFAULT_OUTPUT_BUFFER_SIZE = 32 * 1024;
+    private static final String DEFAULT_COMPRESSION_ENCODINGS = "gzip,deflate";
+    private static final int DEFAULT_COMPRESSION_THRESHOLD = 1024;
+    private static final int DEFAULT_COMPRESSION_LEVEL = 6;
+
+    private final String source;
+    private final String threadMode;
+    private final int maxThreads;
+    private final int minThreads;
+    private final int maxQueuedRequests;
+    private final int threadIdleTimeoutMs;
+    private final int acceptors;
+    private final int selectors;
+    private final int idleTimeoutMs;
+    private final int acceptQueueSize;
+    private final int outputBufferSize;
+    private final boolean h2c;
+    private final List<String> compressionEncodings;
+    private final int compressionThreshold;
+    private final int compressionLevel;
+
+    ServerTuning(Properties properties, String source) {
+        this.source = source;
+
+        String mode = properties.getProperty(THREADS, "platform").trim();
+        if (!mode.equals("platform") && !mode.equals("virtual")) {
+            System.err.println("Unknown " + THREADS + ": " + mode + ", using platform");
+            mode = "platform";
+        }
+        this.threadMode = mode;
+
+        int max = intValue(properties, MAX_THREADS, DEFAULT_MAX_THREADS, 1);
+        int min = intValue(properties, MIN_THREADS, DEFAULT_MIN_THREADS, 1);
+        if (min > max) {
+            System.err.println("Invalid " + MIN_THREADS + "/" + MAX_THREADS + ": " + min + "/" + max
+                    + ", using " + DEFAULT_MIN_THREADS + "/" + DEFAULT_MAX_THREADS);
+            min = DEFAULT_MIN_THREADS;
+            max = DEFAULT_MAX_THREADS;
+        }
+        this.maxThreads = max;
+        this.minThreads = min;
+        this.maxQueuedRequests = intValue(properties, MAX_QUEUED_REQUESTS, 0, 0);
+        this.threadIdleTimeoutMs = intValue(properties, THREAD_IDLE_TIMEOUT_MS, DEFAULT_THREAD_IDLE_TIMEOUT_MS, 1);
+
+        this.acceptors = intValue(properties, ACCEPTORS, -1, -1);
+        this.selectors = intValue(properties, SELECTORS, -1, -1);
+        this.idleTimeoutMs = intValue(properties, IDLE_TIMEOUT_MS, DEFAULT_IDLE_TIMEOUT_MS, 1);
+        this.acceptQueueSize = intValue(properties, ACCEPT_QUEUE_SIZE, 0, 0);
+        this.outputBufferSize = intValue(properties, OUTPUT_BUFFER_SIZE, DEFAULT_OUTPUT_BUFFER_SIZE, 1024);
+        this.h2c = Boolean.parseBoolean(properties.getProperty(H2C, "false").trim());
+
+        this.compressionEncodings = encodingsValue(properties);
+        this.compressionThreshold = intValue(properties, COMPRESSION_THRESHOLD, DEFAULT_COMPRESSION_THRESHOLD, 0);
+        int level = intValue(properties, COMPRESSION_LEVEL, DEFAULT_COMPRESSION_LEVEL, 1);
+        if (level > 9) {
+            System.err.println("Invalid " + COMPRESSION_LEVEL + ": " + level + ", using " + DEFAULT_COMPRESSION_LEVEL);
+            level = DEFAULT_COMPRESSION_LEVEL;
+        }
+        this.compressionLevel = level;
+    }
+
+    // Comma-separated, in order of preference; empty or "none" turns compression off.
+    private static List<String> encodingsValue(Properties properties) {
+        String value = properties.getProperty(COMPRESSION_ENCODINGS, DEFAULT_COMPRESSION_ENCODINGS);
+        List<String> encodings = new ArrayList<>();
+        for (String part : value.split(",")) {
+            String encoding = part.trim().toLowerCase(Locale.ROOT);
+            if (encoding.isEmpty() || encoding.equals("none") || encodings.contains(encoding)) {
+                continue;
+            }
+            if (encoding.equals("gzip") || encoding.equals("deflate")) {
+                encodings.add(encoding);
+            } else {
+                System.err.println("Unknown encoding in " + COMPRESSION_ENCODINGS + ": " + encoding + ", ignored");
+            }
+        }
+        return encodings;
+    }
+
+    public static ServerTuning load() {
+        Properties properties = new Properties();
+        String file = System.getProperty(CONFIG_FILE_PROPERTY);
+        if (file != null) {
+            properties.putAll(readFile(Paths.get(file)));
+        }
+        properties.putAll(System.getProperties());
+        return new ServerTuning(properties, file);
+    }
+
+    static Properties readFile(Path file) {
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read server config " + file, e);
+        }
+        return properties;
+    }
+
+    private static int intValue(Properties properties, String name, int defaultValue, int minValue) {
+        String value = properties.getProperty(name);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            int parsed = Integer.parseInt(value.trim());
+            if (parsed >= minValue) {
+                return parsed;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below like an out-of-range value.
+        }
+        System.err.println("Invalid " + name + ": " + value + ", using " + defaultValue);
+        return defaultValue;
+    }
+
+    // The properties file, or null when only system properties and defaults apply.
+    public String getSource() {
+        return source;
+    }
+
+    public String getThreadMode() {
+        return threadMode;
+    }
+
+    public int getMaxThreads() {
+        return maxThreads;
+    }
+
+    public int getMinThreads() {
+        return minThreads;
+    }
+
+    // 0 means Jetty's growable, unbounded job queue.
+    public int getMaxQueuedRequests() {
+        return maxQueuedRequests;
+    }
+
+    public int getThreadIdleTimeoutMs() {
+        return threadIdleTimeoutMs;
+    }
+
+    public int getAcceptors() {
+        return acceptors;
+    }
+
+    public int getSelectors() {
+        return selectors;
+    }
+
+    public int getIdleTimeoutMs() {
+        return idleTimeoutMs;
+    }
+
+    public int getAcceptQueueSize() {
+        return acceptQueueSize;
+    }
+
+    public int getOutputBufferSize() {
+        return outputBufferSize;
+    }
+
+    public boolean isH2c() {
+        return h2c;
+    }
+
+    // Empty when compression is off.
+    public List<String> getCompressionEncodings() {
+        return compressionEncodings;
+    }
+
+    public int getCompressionThreshold() {
+        return compressionThreshold;
+    }
+
+    public int getCompressionLevel() {
+        return compressionLevel;
+    }
+}
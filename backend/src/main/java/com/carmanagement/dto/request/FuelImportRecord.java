@@ -0,0 +1,44 @@
+package com.carmanagement.dto.request;
+
+// One record of a bulk fuel import. Records that could not be read carry a parse error instead of values.
+public class FuelImportRecord {
+
+    private final long line;
+    private final Long carId;
+    private final AddFuelRequest fuel;
+    private final String parseError;
+
+    public FuelImportRecord(long line, Long carId, AddFuelRequest fuel, String parseError) {
+        this.line = line;
+        this.carId = carId;
+        this.fuel = fuel;
+        this.parseError = parseError;
+    }
+
+    // 1-based position of the record in the body: its NDJSON line or its array element.
+    public long getLine() {
+        return line;
+    }
+
+    public Long getCarId() {
+        return carId;
+    }
+
+    public AddFuelRequest getFuel() {
+        return fuel;
+    }
+
+    public String getParseError() {
+        return parseError;
+    }
+
+    @Override
+    public String toString() {
+        return "FuelImportRecord{" +
+                "line=" + line +
+                ", carId=" + carId +
+                ", fuel=" + fuel +
+                ", parseError='" + parseError + '\'' +
+                '}';
+    }
+}
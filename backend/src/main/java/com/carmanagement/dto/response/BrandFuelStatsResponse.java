@@ -0,0 +1,60 @@
+package com.carmanagement.dto.response;
+
+public class BrandFuelStatsResponse {
+
+    private String brand;
+    private Integer carCount;
+    private Double totalFuel;
+    private Double totalCost;
+    private Double averageConsumption;
+    private Long entryCount;
+
+    public BrandFuelStatsResponse() {
+    }
+
+    public BrandFuelStatsResponse(String brand, Integer carCount, Double totalFuel, Double totalCost,
+                                  Double averageConsumption, Long entryCount) {
+        this.brand = brand;
+        this.carCount = carCount;
+        this.totalFuel = totalFuel;
+        this.totalCost = totalCost;
+        this.averageConsumption = averageConsumption;
+        this.entryCount = entryCount;
+    }
+
+    public String getBrand() {
+        return brand;
+    }
+
+    public Integer getCarCount() {
+        return carCount;
+    }
+
+    public Double getTotalFuel() {
+        return totalFuel;
+    }
+
+    public Double getTotalCost() {
+        return totalCost;
+    }
+
+    public Double getAverageConsumption() {
+        return averageConsumption;
+    }
+
+    public Long getEntryCount() {
+        return entryCount;
+    }
+
+    @Override
+    public String toString() {
+        return "BrandFuelStatsResponse{" +
+                "brand='" + brand + '\'' +
+                ", carCount=" + carCount +
+                ", totalFuel=" + totalFuel +
+                ", totalCost=" + totalCost +
+                ", averageConsumption=" + averageConsumption +
+                ", entryCount=" + entryCount +
+                '}';
+    }
+}
@@ -0,0 +1,43 @@
+package com.carmanagement.dto.response;
+
+import java.util.Map;
+
+public class CarBatchItemResponse {
+
+    private Integer index;
+    private CarResponse car;
+    private Map<String, String> errors;
+
+    public CarBatchItemResponse() {
+    }
+
+    public CarBatchItemResponse(Integer index, CarResponse car, Map<String, String> errors) {
+        this.index = index;
+        this.car = car;
+        this.errors = errors;
+    }
+
+    // Position of the item in the request array.
+    public Integer getIndex() {
+        return index;
+    }
+
+    // The created car; null when the item was rejected.
+    public CarResponse getCar() {
+        return car;
+    }
+
+    // Field errors of a rejected item; null when the car was created.
+    public Map<String, String> getErrors() {
+        return errors;
+    }
+
+    @Override
+    public String toString() {
+        return "CarBatchItemResponse{" +
+                "index=" + index +
+                ", car=" + car +
+                ", errors=" + errors +
+                '}';
+    }
+}
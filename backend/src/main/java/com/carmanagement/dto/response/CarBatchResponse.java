@@ -0,0 +1,41 @@
+package com.carmanagement.dto.response;
+
+import java.util.List;
+
+public class CarBatchResponse {
+
+    private Integer created;
+    private Integer rejected;
+    private List<CarBatchItemResponse> results;
+
+    public CarBatchResponse() {
+    }
+
+    public CarBatchResponse(Integer created, Integer rejected, List<CarBatchItemResponse> results) {
+        this.created = created;
+        this.rejected = rejected;
+        this.results = results;
+    }
+
+    public Integer getCreated() {
+        return created;
+    }
+
+    public Integer getRejected() {
+        return rejected;
+    }
+
+    // One result per request item, in request order.
+    public List<CarBatchItemResponse> getResults() {
+        return results;
+    }
+
+    @Override
+    public String toString() {
+        return "CarBatchResponse{" +
+                "created=" + created +
+                ", rejected=" + rejected +
+                ", results=" + results +
+                '}';
+    }
+}
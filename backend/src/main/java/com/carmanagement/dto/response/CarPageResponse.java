@@ -0,0 +1,34 @@
+package com.carmanagement.dto.response;
+
+import java.util.List;
+
+public class CarPageResponse {
+
+    private List<CarResponse> cars;
+    private String nextCursor;
+
+    public CarPageResponse() {
+    }
+
+    public CarPageResponse(List<CarResponse> cars, String nextCursor) {
+        this.cars = cars;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<CarResponse> getCars() {
+        return cars;
+    }
+
+    // Null on the last page.
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    @Override
+    public String toString() {
+        return "CarPageResponse{" +
+                "cars=" + cars +
+                ", nextCursor='" + nextCursor + '\'' +
+                '}';
+    }
+}
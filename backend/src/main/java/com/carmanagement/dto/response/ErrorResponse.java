@@ -30,6 +30,15 @@ public class ErrorResponse {
         this.fieldErrors = fieldErrors;
     }
 
+    public ErrorResponse(int status, String error, String message, LocalDateTime timestamp,
+                         Map<String, String> fieldErrors) {
+        this.status = status;
+        this.error = error;
+        this.message = message;
+        this.timestamp = timestamp;
+        this.fieldErrors = fieldErrors;
+    }
+
     public int getStatus() {
         return status;
     }
@@ -0,0 +1,84 @@
+package com.carmanagement.dto.response;
+
+import java.util.List;
+
+public class FleetFuelStatsResponse {
+
+    private String from;
+    private String to;
+    private Integer carCount;
+    private Integer carsWithEntries;
+    private Double totalFuel;
+    private Double totalCost;
+    private Double averageConsumption;
+    private Long entryCount;
+    private List<BrandFuelStatsResponse> brands;
+
+    public FleetFuelStatsResponse() {
+    }
+
+    public FleetFuelStatsResponse(String from, String to, Integer carCount, Integer carsWithEntries,
+                                  Double totalFuel, Double totalCost, Double averageConsumption,
+                                  Long entryCount, List<BrandFuelStatsResponse> brands) {
+        this.from = from;
+        this.to = to;
+        this.carCount = carCount;
+        this.carsWithEntries = carsWithEntries;
+        this.totalFuel = totalFuel;
+        this.totalCost = totalCost;
+        this.averageConsumption = averageConsumption;
+        this.entryCount = entryCount;
+        this.brands = brands;
+    }
+
+    public String getFrom() {
+        return from;
+    }
+
+    public String getTo() {
+        return to;
+    }
+
+    public Integer getCarCount() {
+        return carCount;
+    }
+
+    public Integer getCarsWithEntries() {
+        return carsWithEntries;
+    }
+
+    public Double getTotalFuel() {
+        return totalFuel;
+    }
+
+    public Double getTotalCost() {
+        return totalCost;
+    }
+
+    public Double getAverageConsumption() {
+        return averageConsumption;
+    }
+
+    public Long getEntryCount() {
+        return entryCount;
+    }
+
+    public List<BrandFuelStatsResponse> getBrands() {
+        return brands;
+    }
+
+    @Override
+    public String toString() {
+        return "FleetFuelStatsResponse{" +
+                "from='" + from + '\'' +
+                ", to='" + to + '\'' +
+                ", carCount=" + carCount +
+                ", carsWithEntries=" + carsWithEntries +
+                ", totalFuel=" + totalFuel +
+                ", totalCost=" + totalCost +
+                ", averageConsumption=" + averageConsumption +
+                ", entryCount=" + entryCount +
+                ", brands=" + brands +
+                '}';
+    }
+}
@@ -0,0 +1,53 @@
+package com.carmanagement.dto.response;
+
+public class FuelBucketResponse {
+
+    private String periodStart;
+    private Double totalFuel;
+    private Double totalCost;
+    private Double averageConsumption;
+    private Integer entryCount;
+
+    public FuelBucketResponse() {
+    }
+
+    public FuelBucketResponse(String periodStart, Double totalFuel, Double totalCost,
+                              Double averageConsumption, Integer entryCount) {
+        this.periodStart = periodStart;
+        this.totalFuel = totalFuel;
+        this.totalCost = totalCost;
+        this.averageConsumption = averageConsumption;
+        this.entryCount = entryCount;
+    }
+
+    public String getPeriodStart() {
+        return periodStart;
+    }
+
+    public Double getTotalFuel() {
+        return totalFuel;
+    }
+
+    public Double getTotalCost() {
+        return totalCost;
+    }
+
+    public Double getAverageConsumption() {
+        return averageConsumption;
+    }
+
+    public Integer getEntryCount() {
+        return entryCount;
+    }
+
+    @Override
+    public String toString() {
+        return "FuelBucketResponse{" +
+                "periodStart='" + periodStart + '\'' +
+                ", totalFuel=" + totalFuel +
+                ", totalCost=" + totalCost +
+                ", averageConsumption=" + averageConsumption +
+                ", entryCount=" + entryCount +
+                '}';
+    }
+}
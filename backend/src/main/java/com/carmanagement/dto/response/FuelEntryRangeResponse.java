@@ -0,0 +1,49 @@
+package com.carmanagement.dto.response;
+
+import java.util.List;
+
+public class FuelEntryRangeResponse {
+
+    private Long fromOdometer;
+    private Long toOdometer;
+    private List<FuelEntryResponse> entries;
+    private Boolean hasMore;
+
+    public FuelEntryRangeResponse() {
+    }
+
+    public FuelEntryRangeResponse(Long fromOdometer, Long toOdometer, List<FuelEntryResponse> entries,
+                                  Boolean hasMore) {
+        this.fromOdometer = fromOdometer;
+        this.toOdometer = toOdometer;
+        this.entries = entries;
+        this.hasMore = hasMore;
+    }
+
+    public Long getFromOdometer() {
+        return fromOdometer;
+    }
+
+    public Long getToOdometer() {
+        return toOdometer;
+    }
+
+    public List<FuelEntryResponse> getEntries() {
+        return entries;
+    }
+
+    // True when more entries in the range follow the last one returned.
+    public Boolean getHasMore() {
+        return hasMore;
+    }
+
+    @Override
+    public String toString() {
+        return "FuelEntryRangeResponse{" +
+                "fromOdometer=" + fromOdometer +
+                ", toOdometer=" + toOdometer +
+                ", entries=" + entries +
+                ", hasMore=" + hasMore +
+                '}';
+    }
+}
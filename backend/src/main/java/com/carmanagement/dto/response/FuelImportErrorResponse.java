@@ -0,0 +1,38 @@
+package com.carmanagement.dto.response;
+
+public class FuelImportErrorResponse {
+
+    private Long line;
+    private Long carId;
+    private String message;
+
+    public FuelImportErrorResponse() {
+    }
+
+    public FuelImportErrorResponse(Long line, Long carId, String message) {
+        this.line = line;
+        this.carId = carId;
+        this.message = message;
+    }
+
+    public Long getLine() {
+        return line;
+    }
+
+    public Long getCarId() {
+        return carId;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        return "FuelImportErrorResponse{" +
+                "line=" + line +
+                ", carId=" + carId +
+                ", message='" + message + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,57 @@
+package com.carmanagement.dto.response;
+
+import java.util.List;
+
+public class FuelImportResponse {
+
+    private Long received;
+    private Long imported;
+    private Long rejected;
+    private List<FuelImportErrorResponse> errors;
+    private Boolean errorsTruncated;
+
+    public FuelImportResponse() {
+    }
+
+    public FuelImportResponse(Long received, Long imported, Long rejected,
+                              List<FuelImportErrorResponse> errors, Boolean errorsTruncated) {
+        this.received = received;
+        this.imported = imported;
+        this.rejected = rejected;
+        this.errors = errors;
+        this.errorsTruncated = errorsTruncated;
+    }
+
+    public Long getReceived() {
+        return received;
+    }
+
+    public Long getImported() {
+        return imported;
+    }
+
+    public Long getRejected() {
+        return rejected;
+    }
+
+    // One entry per rejected line, in line order, up to a fixed cap.
+    public List<FuelImportErrorResponse> getErrors() {
+        return errors;
+    }
+
+    // True when more lines were rejected than are listed in errors.
+    public Boolean getErrorsTruncated() {
+        return errorsTruncated;
+    }
+
+    @Override
+    public String toString() {
+        return "FuelImportResponse{" +
+                "received=" + received +
+                ", imported=" + imported +
+                ", rejected=" + rejected +
+                ", errors=" + errors +
+                ", errorsTruncated=" + errorsTruncated +
+                '}';
+    }
+}
@@ -0,0 +1,74 @@
+package com.carmanagement.dto.response;
+
+public class FuelRangeStatsResponse {
+
+    private Integer fromIndex;
+    private Integer toIndex;
+    private Long fromOdometer;
+    private Long toOdometer;
+    private Double totalFuel;
+    private Double totalCost;
+    private Double averageConsumption;
+    private Integer entryCount;
+
+    public FuelRangeStatsResponse() {
+    }
+
+    public FuelRangeStatsResponse(Integer fromIndex, Integer toIndex, Long fromOdometer, Long toOdometer,
+                                  FuelStatsResponse stats) {
+        this.fromIndex = fromIndex;
+        this.toIndex = toIndex;
+        this.fromOdometer = fromOdometer;
+        this.toOdometer = toOdometer;
+        this.totalFuel = stats.getTotalFuel();
+        this.totalCost = stats.getTotalCost();
+        this.averageConsumption = stats.getAverageConsumption();
+        this.entryCount = stats.getEntryCount();
+    }
+
+    public Integer getFromIndex() {
+        return fromIndex;
+    }
+
+    public Integer getToIndex() {
+        return toIndex;
+    }
+
+    public Long getFromOdometer() {
+        return fromOdometer;
+    }
+
+    public Long getToOdometer() {
+        return toOdometer;
+    }
+
+    public Double getTotalFuel() {
+        return totalFuel;
+    }
+
+    public Double getTotalCost() {
+        return totalCost;
+    }
+
+    public Double getAverageConsumption() {
+        return averageConsumption;
+    }
+
+    public Integer getEntryCount() {
+        return entryCount;
+    }
+
+    @Override
+    public String toString() {
+        return "FuelRangeStatsResponse{" +
+                "fromIndex=" + fromIndex +
+                ", toIndex=" + toIndex +
+                ", fromOdometer=" + fromOdometer +
+                ", toOdometer=" + toOdometer +
+                ", totalFuel=" + totalFuel +
+                ", totalCost=" + totalCost +
+                ", averageConsumption=" + averageConsumption +
+                ", entryCount=" + entryCount +
+                '}';
+    }
+}
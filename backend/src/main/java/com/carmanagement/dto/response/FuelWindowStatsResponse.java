@@ -0,0 +1,77 @@
+package com.carmanagement.dto.response;
+
+import java.util.List;
+
+public class FuelWindowStatsResponse {
+
+    private String from;
+    private String to;
+    private String granularity;
+    private Double totalFuel;
+    private Double totalCost;
+    private Double averageConsumption;
+    private Integer entryCount;
+    private List<FuelBucketResponse> buckets;
+
+    public FuelWindowStatsResponse() {
+    }
+
+    public FuelWindowStatsResponse(String from, String to, String granularity, FuelStatsResponse totals,
+                                   List<FuelBucketResponse> buckets) {
+        this.from = from;
+        this.to = to;
+        this.granularity = granularity;
+        this.totalFuel = totals.getTotalFuel();
+        this.totalCost = totals.getTotalCost();
+        this.averageConsumption = totals.getAverageConsumption();
+        this.entryCount = totals.getEntryCount();
+        this.buckets = buckets;
+    }
+
+    public String getFrom() {
+        return from;
+    }
+
+    public String getTo() {
+        return to;
+    }
+
+    public String getGranularity() {
+        return granularity;
+    }
+
+    public Double getTotalFuel() {
+        return totalFuel;
+    }
+
+    public Double getTotalCost() {
+        return totalCost;
+    }
+
+    public Double getAverageConsumption() {
+        return averageConsumption;
+    }
+
+    public Integer getEntryCount() {
+        return entryCount;
+    }
+
+    // Null unless a granularity was requested.
+    public List<FuelBucketResponse> getBuckets() {
+        return buckets;
+    }
+
+    @Override
+    public String toString() {
+        return "FuelWindowStatsResponse{" +
+                "from='" + from + '\'' +
+                ", to='" + to + '\'' +
+                ", granularity='" + granularity + '\'' +
+                ", totalFuel=" + totalFuel +
+                ", totalCost=" + totalCost +
+                ", averageConsumption=" + averageConsumption +
+                ", entryCount=" + entryCount +
+                ", buckets=" + buckets +
+                '}';
+    }
+}
@@ -0,0 +1,16 @@
+package com.carmanagement.exception;
+
+public class ServiceUnavailableException extends RuntimeException {
+
+    // Constructor with message.
+     
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+
+    // Constructor with message and cause.
+     
+    public ServiceUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,89 @@
+package com.carmanagement.persistence;
+
+import com.carmanagement.model.Car;
+import com.carmanagement.repository.CarQuery;
+import com.carmanagement.repository.CarRepositoryInterface;
+import com.carmanagement.repository.WriteHook;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Logs every car mutation to the write-ahead log before applying and acknowledging it. Records are
+// submitted and committed from the delegate's WriteHook, under the lock of the car id, so each car's
+// log order is its apply order and a failed commit leaves memory untouched.
+public class DurableCarRepository implements CarRepositoryInterface {
+
+    private final CarRepositoryInterface delegate;
+    private final WriteAheadLog wal;
+
+    public DurableCarRepository(CarRepositoryInterface delegate, WriteAheadLog wal) {
+        this.delegate = delegate;
+        this.wal = wal;
+    }
+
+    @Override
+    public Car save(Car car, WriteHook<Car> hook) {
+        return delegate.save(car, cars -> {
+            commit(cars);
+            hook.beforeApply(cars);
+        });
+    }
+
+    @Override
+    public List<Car> saveAll(List<Car> cars, WriteHook<Car> hook) {
+        return delegate.saveAll(cars, batch -> {
+            commit(batch);
+            hook.beforeApply(batch);
+        });
+    }
+
+    @Override
+    public List<Car> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<Car> findPage(long afterId, int limit) {
+        return delegate.findPage(afterId, limit);
+    }
+
+    @Override
+    public List<Car> findMatching(CarQuery query, long afterId, int limit) {
+        return delegate.findMatching(query, afterId, limit);
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return delegate.existsById(id);
+    }
+
+    @Override
+    public boolean deleteById(Long id, WriteHook<Long> hook) {
+        return delegate.deleteById(id, ids -> {
+            wal.append(JournalRecords.CAR_DELETED, JournalRecords.carDeleted(id));
+            hook.beforeApply(ids);
+        });
+    }
+
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+
+    @Override
+    public void clear() {
+        wal.append(JournalRecords.CARS_CLEARED, JournalRecords.cleared());
+        delegate.clear();
+    }
+
+    // Each record is awaited, since a failed group commit can be followed by a successful one.
+    private void commit(List<Car> cars) {
+        List<WriteAheadLog.Commit> commits = new ArrayList<>(cars.size());
+        for (Car car : cars) {
+            commits.add(wal.submit(JournalRecords.CAR_SAVED, JournalRecords.carSaved(car)));
+        }
+        for (WriteAheadLog.Commit commit : commits) {
+            commit.await();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.carmanagement.persistence;
+
+import com.carmanagement.model.FuelEntry;
+import com.carmanagement.repository.FuelAggregate;
+import com.carmanagement.repository.FuelRepositoryInterface;
+import com.carmanagement.repository.FuelRollup;
+import com.carmanagement.repository.RollupGranularity;
+import com.carmanagement.repository.WriteHook;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Logs every fuel entry write to the write-ahead log before applying and acknowledging it. Records
+// are submitted and committed from the delegate's WriteHook, under the car's lock, so each car's log
+// order is its apply order and a failed commit leaves memory untouched; writes to other cars do not wait.
+public class DurableFuelRepository implements FuelRepositoryInterface {
+
+    private final FuelRepositoryInterface delegate;
+    private final WriteAheadLog wal;
+
+    public DurableFuelRepository(FuelRepositoryInterface delegate, WriteAheadLog wal) {
+        this.delegate = delegate;
+        this.wal = wal;
+    }
+
+    @Override
+    public FuelEntry save(FuelEntry entry, WriteHook<FuelEntry> hook) {
+        return delegate.save(entry, logged(hook));
+    }
+
+    @Override
+    public FuelEntry appendIfOdometerNotDecreasing(FuelEntry entry, WriteHook<FuelEntry> hook) {
+        return delegate.appendIfOdometerNotDecreasing(entry, logged(hook));
+    }
+
+    @Override
+    public int appendAllIfOdometerNotDecreasing(Long carId, List<FuelEntry> entries, WriteHook<FuelEntry> hook) {
+        return delegate.appendAllIfOdometerNotDecreasing(carId, entries, logged(hook));
+    }
+
+    // Only used on startup, before the repository is shared.
+    @Override
+    public void restoreAll(List<FuelEntry> entries) {
+        commit(entries);
+        delegate.restoreAll(entries);
+    }
+
+    @Override
+    public List<FuelEntry> findByCarId(Long carId) {
+        return delegate.findByCarId(carId);
+    }
+
+    @Override
+    public List<FuelEntry> findByCarId(Long carId, int offset, int limit) {
+        return delegate.findByCarId(carId, offset, limit);
+    }
+
+    @Override
+    public List<FuelEntry> findByOdometerRange(Long carId, long fromOdometer, long toOdometer, int limit) {
+        return delegate.findByOdometerRange(carId, fromOdometer, toOdometer, limit);
+    }
+
+    @Override
+    public FuelAggregate getAggregateByOdometerRange(Long carId, long fromOdometer, long toOdometer) {
+        return delegate.getAggregateByOdometerRange(carId, fromOdometer, toOdometer);
+    }
+
+    @Override
+    public FuelAggregate getAggregateByIndexRange(Long carId, int fromIndex, int toIndex) {
+        return delegate.getAggregateByIndexRange(carId, fromIndex, toIndex);
+    }
+
+    @Override
+    public Long getMaxOdometerByCarId(Long carId) {
+        return delegate.getMaxOdometerByCarId(carId);
+    }
+
+    @Override
+    public FuelAggregate getAggregateByCarId(Long carId) {
+        return delegate.getAggregateByCarId(carId);
+    }
+
+    @Override
+    public FuelAggregate getAggregateBetween(Long carId, LocalDate from, LocalDate to) {
+        return delegate.getAggregateBetween(carId, from, to);
+    }
+
+    @Override
+    public List<FuelRollup> getRollups(Long carId, RollupGranularity granularity, LocalDate from, LocalDate to) {
+        return delegate.getRollups(carId, granularity, from, to);
+    }
+
+    @Override
+    public void forEachEntry(Consumer<FuelEntry> action) {
+        delegate.forEachEntry(action);
+    }
+
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+
+    @Override
+    public void clear() {
+        wal.append(JournalRecords.FUEL_CLEARED, JournalRecords.cleared());
+        delegate.clear();
+    }
+
+    private WriteHook<FuelEntry> logged(WriteHook<FuelEntry> hook) {
+        return entries -> {
+            commit(entries);
+            hook.beforeApply(entries);
+        };
+    }
+
+    // A batch is queued as one run of records; each is awaited, since a failed group commit can be
+    // followed by a successful one.
+    private void commit(List<FuelEntry> entries) {
+        List<WriteAheadLog.Commit> commits = new ArrayList<>(entries.size());
+        for (FuelEntry entry : entries) {
+            commits.add(wal.submit(JournalRecords.FUEL_SAVED, JournalRecords.fuelSaved(entry)));
+        }
+        for (WriteAheadLog.Commit commit : commits) {
+            commit.await();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.carmanagement.persistence;
+
+// When the write-ahead log forces written batches to stable storage.
+public enum FsyncPolicy {
+
+    // Every group commit is fsynced before its writers are released.
+    ALWAYS,
+
+    // Writers are released once their batch reaches the OS; the log is fsynced every interval.
+    INTERVAL,
+
+    // Writers are released once their batch reaches the OS; flushing is left to the kernel.
+    OS;
+
+    public static FsyncPolicy fromString(String value) {
+        try {
+            return FsyncPolicy.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown fsync policy: " + value + " (expected always, interval or os)");
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.carmanagement.persistence;
+
+import com.carmanagement.exception.InternalServerException;
+import com.carmanagement.model.Car;
+import com.carmanagement.model.FuelEntry;
+import com.carmanagement.repository.CarRepositoryInterface;
+import com.carmanagement.repository.FuelRepositoryInterface;
+import com.carmanagement.util.EpochNanos;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Binary encoding of repository mutations for the write-ahead log, and their replay.
+public final class JournalRecords {
+
+    public static final byte CAR_SAVED = 1;
+    public static final byte CAR_DELETED = 2;
+    public static final byte CARS_CLEARED = 3;
+    public static final byte FUEL_SAVED = 4;
+    public static final byte FUEL_CLEARED = 5;
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private JournalRecords() {
+    }
+
+    public static byte[] carSaved(Car car) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(buffer)) {
+            out.writeLong(car.getId());
+            writeNullableString(out, car.getBrand());
+            writeNullableString(out, car.getModel());
+            out.writeBoolean(car.getYear() != null);
+            out.writeInt(car.getYear() == null ? 0 : car.getYear());
+            out.writeLong(EpochNanos.of(car.getCreatedAt()));
+        } catch (IOException e) {
+            throw new InternalServerException("Failed to encode car record", e);
+        }
+        return buffer.toByteArray();
+    }
+
+    public static byte[] carDeleted(Long id) {
+        return ByteBuffer.allocate(Long.BYTES).putLong(id).array();
+    }
+
+    public static byte[] fuelSaved(FuelEntry entry) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(48);
+        try (DataOutputStream out = new DataOutputStream(buffer)) {
+            out.writeLong(entry.getId());
+            out.writeLong(entry.getCarId());
+            out.writeDouble(entry.getLiters());
+            out.writeDouble(entry.getPrice());
+            out.writeLong(entry.getOdometer());
+            out.writeLong(EpochNanos.of(entry.getCreatedAt()));
+        } catch (IOException e) {
+            throw new InternalServerException("Failed to encode fuel entry record", e);
+        }
+        return buffer.toByteArray();
+    }
+
+    public static byte[] cleared() {
+        return EMPTY;
+    }
+
+    // Applies a replayed record directly to the in-memory repositories, bypassing the log.
+    public static void apply(WalRecord record, CarRepositoryInterface carRepository,
+                             FuelRepositoryInterface fuelRepository) {
+        try {
+            DataInputStream in = record.payloadStream();
+            switch (record.getType()) {
+                case CAR_SAVED:
+                    carRepository.save(readCar(in));
+                    break;
+                case CAR_DELETED:
+                    carRepository.deleteById(in.readLong());
+                    break;
+                case CARS_CLEARED:
+                    carRepository.clear();
+                    break;
+                case FUEL_SAVED:
+                    fuelRepository.save(readFuelEntry(in));
+                    break;
+                case FUEL_CLEARED:
+                    fuelRepository.clear();
+                    break;
+                default:
+                    throw new InternalServerException("Unknown write-ahead log record type: " + record.getType());
+            }
+        } catch (IOException e) {
+            throw new InternalServerException("Corrupt write-ahead log record of type " + record.getType(), e);
+        }
+    }
+
+    // Replays records like apply(), except that consecutive fuel entries are collected and handed to
+    // FuelRepositoryInterface.restoreAll() together. Call finish() after the last record.
+    public static final class Replay implements Consumer<WalRecord> {
+
+        private static final int MAX_BUFFERED_ENTRIES = 64 * 1024;
+
+        private final CarRepositoryInterface carRepository;
+        private final FuelRepositoryInterface fuelRepository;
+        private List<FuelEntry> fuelEntries = new ArrayList<>();
+
+        public Replay(CarRepositoryInterface carRepository, FuelRepositoryInterface fuelRepository) {
+            this.carRepository = carRepository;
+            this.fuelRepository = fuelRepository;
+        }
+
+        @Override
+        public void accept(WalRecord record) {
+            if (record.getType() != FUEL_SAVED) {
+                finish();
+                apply(record, carRepository, fuelRepository);
+                return;
+            }
+            try {
+                fuelEntries.add(readFuelEntry(record.payloadStream()));
+            } catch (IOException e) {
+                throw new InternalServerException("Corrupt write-ahead log record of type " + record.getType(), e);
+            }
+            if (fuelEntries.size() == MAX_BUFFERED_ENTRIES) {
+                finish();
+            }
+        }
+
+        // Applies the fuel entries collected so far.
+        public void finish() {
+            if (!fuelEntries.isEmpty()) {
+                fuelRepository.restoreAll(fuelEntries);
+                fuelEntries = new ArrayList<>();
+            }
+        }
+    }
+
+    private static Car readCar(DataInputStream in) throws IOException {
+        long id = in.readLong();
+        String brand = readNullableString(in);
+        String model = readNullableString(in);
+        boolean hasYear = in.readBoolean();
+        int year = in.readInt();
+        long createdAt = in.readLong();
+
+        Car car = new Car(brand, model, hasYear ? year : null);
+        car.setId(id);
+        car.setCreatedAt(EpochNanos.toLocalDateTime(createdAt));
+        return car;
+    }
+
+    private static FuelEntry readFuelEntry(DataInputStream in) throws IOException {
+        long id = in.readLong();
+        long carId = in.readLong();
+        double liters = in.readDouble();
+        double price = in.readDouble();
+        long odometer = in.readLong();
+        long createdAt = in.readLong();
+
+        FuelEntry entry = new FuelEntry(carId, liters, price, odometer);
+        entry.setId(id);
+        entry.setCreatedAt(EpochNanos.toLocalDateTime(createdAt));
+        return entry;
+    }
+
+    private static void writeNullableString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullableString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -0,0 +1,129 @@
+package com.carmanagement.persistence;
+
+import com.carmanagement.repository.CarRepositoryInterface;
+import com.carmanagement.repository.FuelRepositoryInterface;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Owns the data directory: restores the latest snapshot, replays the log tail after it,
+// hands out durable repositories and takes periodic snapshots that let old log segments go.
+public class PersistenceManager implements AutoCloseable {
+
+    private final Path dataDir;
+    private final WriteAheadLog wal;
+    private final long snapshotIntervalSeconds;
+
+    private CarRepositoryInterface carRepository;
+    private FuelRepositoryInterface fuelRepository;
+    private CarRepositoryInterface durableCarRepository;
+    private FuelRepositoryInterface durableFuelRepository;
+    private ScheduledExecutorService snapshotScheduler;
+    private volatile SnapshotFile.Summary restoredSnapshot;
+    private volatile SnapshotFile.Summary lastSnapshot;
+    private volatile long replayedRecords;
+    private volatile long recoveryMillis;
+
+    public PersistenceManager(Path dataDir, FsyncPolicy fsyncPolicy, long fsyncIntervalMillis,
+                              long snapshotIntervalSeconds) {
+        this.dataDir = dataDir;
+        this.wal = new WriteAheadLog(dataDir, fsyncPolicy, fsyncIntervalMillis);
+        this.snapshotIntervalSeconds = snapshotIntervalSeconds;
+    }
+
+    // Loads the in-memory repositories from disk and starts logging changes made through
+    // getCarRepository() and getFuelRepository().
+    public void open(CarRepositoryInterface cars, FuelRepositoryInterface fuel) throws IOException {
+        long startNanos = System.nanoTime();
+        this.carRepository = cars;
+        this.fuelRepository = fuel;
+        this.durableCarRepository = new DurableCarRepository(cars, wal);
+        this.durableFuelRepository = new DurableFuelRepository(fuel, wal);
+
+        restoredSnapshot = SnapshotFile.restoreLatest(dataDir, cars, fuel);
+        long fromSegment = restoredSnapshot == null ? 0 : restoredSnapshot.getWalSegment();
+        JournalRecords.Replay replay = new JournalRecords.Replay(cars, fuel);
+        replayedRecords = wal.open(fromSegment, replay);
+        replay.finish();
+        recoveryMillis = (System.nanoTime() - startNanos) / 1_000_000;
+
+        if (snapshotIntervalSeconds > 0) {
+            snapshotScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "snapshot-writer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            snapshotScheduler.scheduleWithFixedDelay(this::snapshotQuietly,
+                    snapshotIntervalSeconds, snapshotIntervalSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    public CarRepositoryInterface getCarRepository() {
+        return durableCarRepository;
+    }
+
+    public FuelRepositoryInterface getFuelRepository() {
+        return durableFuelRepository;
+    }
+
+    // Rotates the log, then copies the live repositories. Every record in the sealed segments is
+    // already applied in memory, so after the snapshot is on disk those segments can be deleted.
+    // Records in the new segment may or may not be in the copy; replaying them is idempotent.
+    public synchronized SnapshotFile.Summary snapshot() throws IOException {
+        long segment = wal.rotate();
+        SnapshotFile.Summary summary = SnapshotFile.write(dataDir, segment, carRepository, fuelRepository);
+        wal.deleteSegmentsBefore(segment);
+        SnapshotFile.deleteOlderThan(dataDir, segment);
+        lastSnapshot = summary;
+        return summary;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("wal", wal.getStats());
+        stats.put("restoredSnapshot", restoredSnapshot);
+        stats.put("replayedRecords", replayedRecords);
+        stats.put("recoveryMillis", recoveryMillis);
+        stats.put("lastSnapshot", lastSnapshot);
+        return stats;
+    }
+
+    public long getReplayedRecords() {
+        return replayedRecords;
+    }
+
+    public long getRecoveryMillis() {
+        return recoveryMillis;
+    }
+
+    public SnapshotFile.Summary getRestoredSnapshot() {
+        return restoredSnapshot;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (snapshotScheduler != null) {
+            snapshotScheduler.shutdown();
+            try {
+                snapshotScheduler.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        wal.close();
+    }
+
+    private void snapshotQuietly() {
+        try {
+            SnapshotFile.Summary summary = snapshot();
+            System.out.println("Snapshot written: " + summary);
+        } catch (Exception e) {
+            System.err.println("ERROR: Snapshot failed: " + e.getMessage());
+        }
+    }
+}
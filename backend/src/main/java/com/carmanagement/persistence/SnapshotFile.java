@@ -0,0 +1,305 @@
+package com.carmanagement.persistence;
+
+import com.carmanagement.model.Car;
+import com.carmanagement.model.FuelEntry;
+import com.carmanagement.repository.CarRepositoryInterface;
+import com.carmanagement.repository.FuelRepositoryInterface;
+import com.carmanagement.util.EpochNanos;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+// Compact binary image of both repositories in a fixed-width record layout, restored through a memory map.
+// Each snapshot names the write-ahead log segment from which replay has to continue.
+//
+// Layout (big-endian):
+//   header   magic, version (int), walSegment, carCount, fuelCount, stringPoolBytes (long)
+//   cars     id, createdAt (long), year, hasYear, brandOffset, brandLength, modelOffset, modelLength (int)
+//   fuel     id, carId (long), liters, price (double), odometer, createdAt (long); grouped by car, each
+//            car's records in odometer order, so restoring them only ever appends to a car's history
+//   strings  UTF-8 brand and model bytes addressed by offset and length; a length of -1 means null
+public final class SnapshotFile {
+
+    private static final int MAGIC = 0x434D534E;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 40;
+    private static final int CAR_RECORD_BYTES = 40;
+    private static final int FUEL_RECORD_BYTES = 48;
+    private static final int MAX_WINDOW_RECORDS = 1 << 22;
+    private static final int RESTORE_BATCH_ENTRIES = 64 * 1024;
+    private static final String PREFIX = "snapshot-";
+    private static final String SUFFIX = ".snap";
+
+    private SnapshotFile() {
+    }
+
+    // Streams both repositories to a new snapshot. Writers are never blocked for the whole copy:
+    // cars are copied with findAll() and fuel entries one car at a time.
+    public static Summary write(Path directory, long walSegment, CarRepositoryInterface carRepository,
+                                FuelRepositoryInterface fuelRepository) throws IOException {
+        long startNanos = System.nanoTime();
+        Path target = snapshotPath(directory, walSegment);
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+
+        long carCount = 0;
+        long[] fuelCount = new long[1];
+        ByteArrayOutputStream strings = new ByteArrayOutputStream();
+
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(channel), 256 * 1024));
+            out.write(new byte[HEADER_BYTES]);
+
+            for (Car car : carRepository.findAll()) {
+                out.writeLong(car.getId());
+                out.writeLong(EpochNanos.of(car.getCreatedAt()));
+                out.writeInt(car.getYear() == null ? 0 : car.getYear());
+                out.writeInt(car.getYear() == null ? 0 : 1);
+                writeString(out, strings, car.getBrand());
+                writeString(out, strings, car.getModel());
+                carCount++;
+            }
+
+            try {
+                fuelRepository.forEachEntry(entry -> {
+                    try {
+                        out.writeLong(entry.getId());
+                        out.writeLong(entry.getCarId());
+                        out.writeDouble(entry.getLiters());
+                        out.writeDouble(entry.getPrice());
+                        out.writeLong(entry.getOdometer());
+                        out.writeLong(EpochNanos.of(entry.getCreatedAt()));
+                        fuelCount[0]++;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+
+            strings.writeTo(out);
+            out.flush();
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            header.putInt(MAGIC).putInt(VERSION).putLong(walSegment)
+                    .putLong(carCount).putLong(fuelCount[0]).putLong(strings.size());
+            header.flip();
+            channel.write(header, 0);
+            channel.force(true);
+        }
+
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return new Summary(walSegment, carCount, fuelCount[0], Files.size(target), startNanos);
+    }
+
+    // Loads the newest snapshot in the directory, or returns null if there is none.
+    public static Summary restoreLatest(Path directory, CarRepositoryInterface carRepository,
+                                        FuelRepositoryInterface fuelRepository) throws IOException {
+        long walSegment = latestSegment(directory);
+        if (walSegment < 0) {
+            return null;
+        }
+
+        long startNanos = System.nanoTime();
+        Path path = snapshotPath(directory, walSegment);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IOException("Unrecognized snapshot file: " + path);
+            }
+            header.getLong();
+            long carCount = header.getLong();
+            long fuelCount = header.getLong();
+            long stringPoolBytes = header.getLong();
+
+            long carsOffset = HEADER_BYTES;
+            long fuelOffset = carsOffset + carCount * CAR_RECORD_BYTES;
+            long stringsOffset = fuelOffset + fuelCount * FUEL_RECORD_BYTES;
+            if (stringsOffset + stringPoolBytes != channel.size()) {
+                throw new IOException("Snapshot file is truncated: " + path);
+            }
+            MappedByteBuffer strings = channel.map(FileChannel.MapMode.READ_ONLY, stringsOffset, stringPoolBytes);
+
+            forEachRecord(channel, carsOffset, carCount, CAR_RECORD_BYTES, record -> {
+                long id = record.getLong();
+                long createdAt = record.getLong();
+                int year = record.getInt();
+                boolean hasYear = record.getInt() != 0;
+                String brand = readString(strings, record.getInt(), record.getInt());
+                String model = readString(strings, record.getInt(), record.getInt());
+
+                Car car = new Car(brand, model, hasYear ? year : null);
+                car.setId(id);
+                car.setCreatedAt(EpochNanos.toLocalDateTime(createdAt));
+                carRepository.save(car);
+            });
+
+            List<FuelEntry> entries = new ArrayList<>();
+            forEachRecord(channel, fuelOffset, fuelCount, FUEL_RECORD_BYTES, record -> {
+                long id = record.getLong();
+                long carId = record.getLong();
+                double liters = record.getDouble();
+                double price = record.getDouble();
+                long odometer = record.getLong();
+                long createdAt = record.getLong();
+
+                FuelEntry entry = new FuelEntry(carId, liters, price, odometer);
+                entry.setId(id);
+                entry.setCreatedAt(EpochNanos.toLocalDateTime(createdAt));
+                entries.add(entry);
+                if (entries.size() == RESTORE_BATCH_ENTRIES) {
+                    fuelRepository.restoreAll(entries);
+                    entries.clear();
+                }
+            });
+            fuelRepository.restoreAll(entries);
+
+            return new Summary(walSegment, carCount, fuelCount, channel.size(), startNanos);
+        }
+    }
+
+    public static void deleteOlderThan(Path directory, long walSegment) throws IOException {
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+            for (Path path : stream) {
+                long segment = segmentOf(path);
+                if (segment >= 0 && segment < walSegment) {
+                    Files.deleteIfExists(path);
+                }
+            }
+        }
+    }
+
+    // Maps the section in windows so sections larger than 2 GB can still be read.
+    private static void forEachRecord(FileChannel channel, long offset, long count, int recordBytes,
+                                      RecordReader reader) throws IOException {
+        long read = 0;
+        while (read < count) {
+            long windowRecords = Math.min(count - read, MAX_WINDOW_RECORDS);
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY,
+                    offset + read * recordBytes, windowRecords * recordBytes);
+            for (long i = 0; i < windowRecords; i++) {
+                reader.read(window);
+            }
+            read += windowRecords;
+        }
+    }
+
+    private static void writeString(DataOutputStream out, ByteArrayOutputStream strings, String value)
+            throws IOException {
+        if (value == null) {
+            out.writeInt(0);
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(strings.size());
+        out.writeInt(bytes.length);
+        strings.write(bytes);
+    }
+
+    private static String readString(MappedByteBuffer strings, int offset, int length) {
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        strings.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static long latestSegment(Path directory) throws IOException {
+        long latest = -1;
+        if (!Files.isDirectory(directory)) {
+            return latest;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+            for (Path path : stream) {
+                latest = Math.max(latest, segmentOf(path));
+            }
+        }
+        return latest;
+    }
+
+    private static long segmentOf(Path path) {
+        String name = path.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static Path snapshotPath(Path directory, long walSegment) {
+        return directory.resolve(String.format("%s%016d%s", PREFIX, walSegment, SUFFIX));
+    }
+
+    @FunctionalInterface
+    private interface RecordReader {
+        void read(ByteBuffer record);
+    }
+
+    // What a snapshot write or restore covered, reported on /metrics.
+    public static final class Summary {
+
+        private final long walSegment;
+        private final long cars;
+        private final long fuelEntries;
+        private final long bytes;
+        private final long durationMillis;
+
+        Summary(long walSegment, long cars, long fuelEntries, long bytes, long startNanos) {
+            this.walSegment = walSegment;
+            this.cars = cars;
+            this.fuelEntries = fuelEntries;
+            this.bytes = bytes;
+            this.durationMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        }
+
+        public long getWalSegment() {
+            return walSegment;
+        }
+
+        public long getCars() {
+            return cars;
+        }
+
+        public long getFuelEntries() {
+            return fuelEntries;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+
+        public long getDurationMillis() {
+            return durationMillis;
+        }
+
+        @Override
+        public String toString() {
+            return "Summary{" +
+                    "walSegment=" + walSegment +
+                    ", cars=" + cars +
+                    ", fuelEntries=" + fuelEntries +
+                    ", bytes=" + bytes +
+                    ", durationMillis=" + durationMillis +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.carmanagement.persistence;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+
+// One replayed log record: a type tag and its encoded payload.
+public final class WalRecord {
+
+    private final byte type;
+    private final byte[] payload;
+
+    public WalRecord(byte type, byte[] payload) {
+        this.type = type;
+        this.payload = payload;
+    }
+
+    public byte getType() {
+        return type;
+    }
+
+    public byte[] getPayload() {
+        return payload;
+    }
+
+    public DataInputStream payloadStream() {
+        return new DataInputStream(new ByteArrayInputStream(payload));
+    }
+}
@@ -0,0 +1,83 @@
+package com.carmanagement.persistence;
+
+// Point-in-time group commit figures for the write-ahead log.
+public final class WalStats {
+
+    private final String fsyncPolicy;
+    private final long activeSegment;
+    private final long commits;
+    private final long records;
+    private final long bytes;
+    private final long fsyncs;
+    private final double averageBatchSize;
+    private final int maxBatchSize;
+    private final double averageCommitLatencyMicros;
+    private final double maxCommitLatencyMicros;
+
+    public WalStats(String fsyncPolicy, long activeSegment, long commits, long records, long bytes, long fsyncs,
+                    int maxBatchSize, long totalCommitLatencyNanos, long maxCommitLatencyNanos) {
+        this.fsyncPolicy = fsyncPolicy;
+        this.activeSegment = activeSegment;
+        this.commits = commits;
+        this.records = records;
+        this.bytes = bytes;
+        this.fsyncs = fsyncs;
+        this.averageBatchSize = commits == 0 ? 0.0 : (double) records / commits;
+        this.maxBatchSize = maxBatchSize;
+        this.averageCommitLatencyMicros = records == 0 ? 0.0 : totalCommitLatencyNanos / 1000.0 / records;
+        this.maxCommitLatencyMicros = maxCommitLatencyNanos / 1000.0;
+    }
+
+    public String getFsyncPolicy() {
+        return fsyncPolicy;
+    }
+
+    public long getActiveSegment() {
+        return activeSegment;
+    }
+
+    public long getCommits() {
+        return commits;
+    }
+
+    public long getRecords() {
+        return records;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    public long getFsyncs() {
+        return fsyncs;
+    }
+
+    public double getAverageBatchSize() {
+        return averageBatchSize;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public double getAverageCommitLatencyMicros() {
+        return averageCommitLatencyMicros;
+    }
+
+    public double getMaxCommitLatencyMicros() {
+        return maxCommitLatencyMicros;
+    }
+
+    @Override
+    public String toString() {
+        return "WalStats{" +
+                "fsyncPolicy=" + fsyncPolicy +
+                ", commits=" + commits +
+                ", records=" + records +
+                ", averageBatchSize=" + averageBatchSize +
+                ", maxBatchSize=" + maxBatchSize +
+                ", averageCommitLatencyMicros=" + averageCommitLatencyMicros +
+                ", maxCommitLatencyMicros=" + maxCommitLatencyMicros +
+                '}';
+    }
+}
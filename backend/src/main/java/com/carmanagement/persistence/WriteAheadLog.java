@@ -0,0 +1,463 @@
+package com.carmanagement.persistence;
+
+import com.carmanagement.exception.InternalServerException;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+// Append-only binary log with group commit. Writers enqueue a framed record and block until the
+// single flusher thread has written the batch containing it (and fsynced it, under FsyncPolicy.ALWAYS).
+//
+// The log is a sequence of numbered segment files; rotate() starts a new one so that a snapshot can
+// record where its replay tail begins and older segments can be deleted.
+// Frame layout: int payloadLength, int crc32(type + payload), byte type, payload.
+// A torn or corrupt frame at the tail is treated as the end of the log and truncated on open.
+// Replay stops at the first bad frame, so a batch that fails part-way is cut off the segment before
+// anything else is written after it; if even that fails, the log refuses every later append.
+public class WriteAheadLog implements AutoCloseable {
+
+    private static final int FRAME_HEADER_BYTES = 9;
+    private static final int MAX_PAYLOAD_BYTES = 16 * 1024 * 1024;
+    private static final int MAX_BATCH_RECORDS = 4096;
+    private static final long IDLE_POLL_MILLIS = 100;
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".wal";
+
+    private final Path directory;
+    private final FsyncPolicy fsyncPolicy;
+    private final long fsyncIntervalMillis;
+    private final BlockingQueue<Commit> queue = new LinkedBlockingQueue<>();
+    private final ReadWriteLock stateLock = new ReentrantReadWriteLock();
+
+    private final AtomicLong commits = new AtomicLong();
+    private final AtomicLong records = new AtomicLong();
+    private final AtomicLong bytes = new AtomicLong();
+    private final AtomicLong fsyncs = new AtomicLong();
+    private final AtomicLong totalCommitLatencyNanos = new AtomicLong();
+    private final AtomicLong maxCommitLatencyNanos = new AtomicLong();
+    private volatile int maxBatchSize;
+
+    private FileChannel channel;
+    // End of the last fully written batch in the active segment.
+    private long committedLength;
+    private volatile IOException failure;
+    private volatile long activeSegment;
+    private Thread flusher;
+    private volatile boolean running;
+    private boolean unsynced;
+    private long lastFsyncNanos;
+
+    public WriteAheadLog(Path directory, FsyncPolicy fsyncPolicy, long fsyncIntervalMillis) {
+        if (fsyncIntervalMillis <= 0) {
+            throw new IllegalArgumentException("Fsync interval must be positive, got: " + fsyncIntervalMillis);
+        }
+        this.directory = directory;
+        this.fsyncPolicy = fsyncPolicy;
+        this.fsyncIntervalMillis = fsyncIntervalMillis;
+    }
+
+    public long open(Consumer<WalRecord> replayHandler) throws IOException {
+        return open(0, replayHandler);
+    }
+
+    // Replays every intact record in segments numbered fromSegment and above, truncates any torn tail
+    // of the newest segment and starts accepting appends. Returns the number of records replayed.
+    public long open(long fromSegment, Consumer<WalRecord> replayHandler) throws IOException {
+        Files.createDirectories(directory);
+
+        List<Long> segments = new ArrayList<>();
+        for (long segment : listSegments()) {
+            if (segment >= fromSegment) {
+                segments.add(segment);
+            }
+        }
+        activeSegment = segments.isEmpty() ? Math.max(fromSegment, 1) : segments.get(segments.size() - 1);
+
+        long replayed = 0;
+        for (long segment : segments) {
+            replayed += replaySegment(segment, replayHandler, segment == activeSegment);
+        }
+
+        channel = openSegment(activeSegment);
+        committedLength = channel.position();
+        lastFsyncNanos = System.nanoTime();
+
+        running = true;
+        flusher = new Thread(this::runFlusher, "wal-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+        return replayed;
+    }
+
+    // Seals the current segment and directs every later append to a new one.
+    // Every record submitted before this call is in a segment below the returned number.
+    public long rotate() {
+        Commit marker = new Commit(null);
+        enqueue(marker);
+        marker.await();
+        return marker.segment;
+    }
+
+    public void deleteSegmentsBefore(long segment) throws IOException {
+        for (long existing : listSegments()) {
+            if (existing < segment) {
+                Files.deleteIfExists(segmentPath(existing));
+            }
+        }
+    }
+
+    public long getActiveSegment() {
+        return activeSegment;
+    }
+
+    // Blocks until the record has been committed according to the fsync policy.
+    public void append(byte type, byte[] payload) {
+        submit(type, payload).await();
+    }
+
+    // Queues the record and returns immediately. Records are written in submission order, so callers
+    // that must order their log records submit them while holding their own lock.
+    public Commit submit(byte type, byte[] payload) {
+        if (payload.length > MAX_PAYLOAD_BYTES) {
+            throw new InternalServerException("Write-ahead log record too large: " + payload.length + " bytes");
+        }
+
+        Commit commit = new Commit(frame(type, payload));
+        enqueue(commit);
+        return commit;
+    }
+
+    private void enqueue(Commit commit) {
+        stateLock.readLock().lock();
+        try {
+            if (!running) {
+                throw new InternalServerException("Write-ahead log is not open");
+            }
+            if (failure != null) {
+                throw new InternalServerException("Write-ahead log is unusable after a failed write", failure);
+            }
+            queue.add(commit);
+        } finally {
+            stateLock.readLock().unlock();
+        }
+    }
+
+    public WalStats getStats() {
+        return new WalStats(
+            fsyncPolicy.name().toLowerCase(),
+            activeSegment,
+            commits.get(),
+            records.get(),
+            bytes.get(),
+            fsyncs.get(),
+            maxBatchSize,
+            totalCommitLatencyNanos.get(),
+            maxCommitLatencyNanos.get()
+        );
+    }
+
+    @Override
+    public void close() throws IOException {
+        stateLock.writeLock().lock();
+        try {
+            if (!running) {
+                return;
+            }
+            running = false;
+        } finally {
+            stateLock.writeLock().unlock();
+        }
+
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        IOException closed = new IOException("Write-ahead log closed");
+        Commit leftover;
+        while ((leftover = queue.poll()) != null) {
+            leftover.done.completeExceptionally(closed);
+        }
+
+        channel.force(false);
+        channel.close();
+    }
+
+    private void runFlusher() {
+        long pollMillis = fsyncPolicy == FsyncPolicy.INTERVAL
+                ? Math.min(fsyncIntervalMillis, IDLE_POLL_MILLIS)
+                : IDLE_POLL_MILLIS;
+        List<Commit> batch = new ArrayList<>();
+
+        while (running || !queue.isEmpty()) {
+            Commit first;
+            try {
+                first = queue.poll(pollMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                continue;
+            }
+
+            try {
+                if (first == null) {
+                    forceIfDue();
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH_RECORDS - 1);
+                if (failure != null) {
+                    throw failure;
+                }
+                processBatch(batch);
+            } catch (IOException e) {
+                for (Commit write : batch) {
+                    write.done.completeExceptionally(e);
+                }
+                System.err.println("ERROR: Write-ahead log commit failed: " + e.getMessage());
+                discardTornTail(e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void processBatch(List<Commit> batch) throws IOException {
+        int start = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            if (batch.get(i).frame == null) {
+                if (i > start) {
+                    writeBatch(batch.subList(start, i));
+                }
+                rotateSegment(batch.get(i));
+                start = i + 1;
+            }
+        }
+        if (start < batch.size()) {
+            writeBatch(batch.subList(start, batch.size()));
+        }
+    }
+
+    private void rotateSegment(Commit marker) throws IOException {
+        force();
+        channel.close();
+        channel = openSegment(activeSegment + 1);
+        committedLength = channel.position();
+        activeSegment++;
+        marker.segment = activeSegment;
+        marker.done.complete(null);
+    }
+
+    private void writeBatch(List<Commit> batch) throws IOException {
+        ByteBuffer[] frames = new ByteBuffer[batch.size()];
+        long batchBytes = 0;
+        for (int i = 0; i < frames.length; i++) {
+            frames[i] = ByteBuffer.wrap(batch.get(i).frame);
+            batchBytes += frames[i].remaining();
+        }
+
+        long written = 0;
+        while (written < batchBytes) {
+            written += channel.write(frames);
+        }
+        unsynced = true;
+
+        if (fsyncPolicy == FsyncPolicy.ALWAYS) {
+            force();
+        } else {
+            forceIfDue();
+        }
+        committedLength += batchBytes;
+
+        commits.incrementAndGet();
+        records.addAndGet(batch.size());
+        bytes.addAndGet(batchBytes);
+        if (batch.size() > maxBatchSize) {
+            maxBatchSize = batch.size();
+        }
+
+        long now = System.nanoTime();
+        for (Commit write : batch) {
+            long latency = now - write.enqueuedNanos;
+            totalCommitLatencyNanos.addAndGet(latency);
+            maxCommitLatencyNanos.accumulateAndGet(latency, Math::max);
+            write.done.complete(null);
+        }
+    }
+
+    // Cuts the active segment back to the end of the last full batch so later batches are not
+    // written after a partial frame that replay would stop at. Records of the failed batch that did
+    // reach the file are dropped with it; their writers have already been failed.
+    private void discardTornTail(IOException cause) {
+        if (failure != null) {
+            return;
+        }
+        try {
+            channel.truncate(committedLength);
+            channel.position(committedLength);
+        } catch (IOException e) {
+            e.addSuppressed(cause);
+            failure = e;
+            System.err.println("ERROR: Write-ahead log could not discard a partial write, rejecting further appends: "
+                    + e.getMessage());
+        }
+    }
+
+    private void forceIfDue() throws IOException {
+        if (fsyncPolicy == FsyncPolicy.INTERVAL && unsynced
+                && System.nanoTime() - lastFsyncNanos >= TimeUnit.MILLISECONDS.toNanos(fsyncIntervalMillis)) {
+            force();
+        }
+    }
+
+    private void force() throws IOException {
+        channel.force(false);
+        fsyncs.incrementAndGet();
+        unsynced = false;
+        lastFsyncNanos = System.nanoTime();
+    }
+
+    private long replaySegment(long segment, Consumer<WalRecord> replayHandler, boolean newest) throws IOException {
+        Path path = segmentPath(segment);
+        long replayed = 0;
+        long validLength = 0;
+        try (FileChannel segmentChannel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            DataInputStream in = new DataInputStream(
+                    new BufferedInputStream(Channels.newInputStream(segmentChannel), 64 * 1024));
+            WalRecord record;
+            while ((record = readFrame(in)) != null) {
+                replayHandler.accept(record);
+                validLength += FRAME_HEADER_BYTES + record.getPayload().length;
+                replayed++;
+            }
+
+            long size = segmentChannel.size();
+            if (validLength < size && newest) {
+                System.err.println("WARN: Truncating " + (size - validLength)
+                        + " trailing bytes of incomplete write-ahead log records in " + path);
+                segmentChannel.truncate(validLength);
+            } else if (validLength < size) {
+                System.err.println("WARN: Ignoring " + (size - validLength)
+                        + " unreadable bytes at the end of sealed segment " + path);
+            }
+        }
+        return replayed;
+    }
+
+    private FileChannel openSegment(long segment) throws IOException {
+        FileChannel opened = openChannel(segmentPath(segment));
+        opened.position(opened.size());
+        return opened;
+    }
+
+    // Overridden in tests to inject write failures.
+    FileChannel openChannel(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    private Path segmentPath(long segment) {
+        return directory.resolve(String.format("%s%016d%s", SEGMENT_PREFIX, segment, SEGMENT_SUFFIX));
+    }
+
+    private List<Long> listSegments() throws IOException {
+        List<Long> segments = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return segments;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path path : stream) {
+                String name = path.getFileName().toString();
+                try {
+                    segments.add(Long.parseLong(name.substring(SEGMENT_PREFIX.length(),
+                            name.length() - SEGMENT_SUFFIX.length())));
+                } catch (NumberFormatException e) {
+                    System.err.println("WARN: Ignoring unexpected file in write-ahead log directory: " + path);
+                }
+            }
+        }
+        Collections.sort(segments);
+        return segments;
+    }
+
+    private static byte[] frame(byte type, byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(type);
+        crc.update(payload);
+
+        ByteBuffer frame = ByteBuffer.allocate(FRAME_HEADER_BYTES + payload.length);
+        frame.putInt(payload.length);
+        frame.putInt((int) crc.getValue());
+        frame.put(type);
+        frame.put(payload);
+        return frame.array();
+    }
+
+    private static WalRecord readFrame(DataInputStream in) throws IOException {
+        try {
+            int length = in.readInt();
+            int expectedCrc = in.readInt();
+            byte type = in.readByte();
+            if (length < 0 || length > MAX_PAYLOAD_BYTES) {
+                return null;
+            }
+            byte[] payload = new byte[length];
+            in.readFully(payload);
+
+            CRC32 crc = new CRC32();
+            crc.update(type);
+            crc.update(payload);
+            if ((int) crc.getValue() != expectedCrc) {
+                return null;
+            }
+            return new WalRecord(type, payload);
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+
+    // A queued record; await() returns once it has been committed according to the fsync policy.
+    // A commit without a frame is a rotation marker.
+    public static final class Commit {
+
+        private final byte[] frame;
+        private long segment;
+        private final long enqueuedNanos = System.nanoTime();
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        private Commit(byte[] frame) {
+            this.frame = frame;
+        }
+
+        public void await() {
+            try {
+                done.get();
+            } catch (ExecutionException e) {
+                throw new InternalServerException("Failed to write to the write-ahead log", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InternalServerException("Interrupted while waiting for the write-ahead log", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.carmanagement.repository;
+
+import com.carmanagement.model.Car;
+
+import java.util.Locale;
+
+// Filter for car lookups through the secondary indexes. Null fields match everything;
+// brand and model compare case-insensitively after trimming.
+public final class CarQuery {
+
+    public static final CarQuery ALL = new CarQuery(null, null, null, null, null);
+
+    private final String brand;
+    private final String model;
+    private final Integer year;
+    private final Integer yearFrom;
+    private final Integer yearTo;
+
+    public CarQuery(String brand, String model, Integer year, Integer yearFrom, Integer yearTo) {
+        this.brand = normalize(brand);
+        this.model = normalize(model);
+        this.year = year;
+        this.yearFrom = yearFrom;
+        this.yearTo = yearTo;
+    }
+
+    public static String normalize(String value) {
+        return value == null ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public boolean isEmpty() {
+        return brand == null && model == null && !hasYearFilter();
+    }
+
+    public boolean hasYearFilter() {
+        return year != null || yearFrom != null || yearTo != null;
+    }
+
+    // Lowest and highest year accepted by the year, yearFrom and yearTo filters together.
+    public int getMinYear() {
+        int min = yearFrom == null ? Integer.MIN_VALUE : yearFrom;
+        return year == null ? min : Math.max(min, year);
+    }
+
+    public int getMaxYear() {
+        int max = yearTo == null ? Integer.MAX_VALUE : yearTo;
+        return year == null ? max : Math.min(max, year);
+    }
+
+    public boolean matches(Car car) {
+        if (brand != null && !brand.equals(normalize(car.getBrand()))) {
+            return false;
+        }
+        if (model != null && !model.equals(normalize(car.getModel()))) {
+            return false;
+        }
+        if (hasYearFilter()) {
+            return car.getYear() != null && car.getYear() >= getMinYear() && car.getYear() <= getMaxYear();
+        }
+        return true;
+    }
+
+    public String getBrand() {
+        return brand;
+    }
+
+    public String getModel() {
+        return model;
+    }
+
+    public Integer getYear() {
+        return year;
+    }
+
+    public Integer getYearFrom() {
+        return yearFrom;
+    }
+
+    public Integer getYearTo() {
+        return yearTo;
+    }
+
+    @Override
+    public String toString() {
+        return "CarQuery{" +
+                "brand='" + brand + '\'' +
+                ", model='" + model + '\'' +
+                ", year=" + year +
+                ", yearFrom=" + yearFrom +
+                ", yearTo=" + yearTo +
+                '}';
+    }
+}
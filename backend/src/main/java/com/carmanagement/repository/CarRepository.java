@@ -1,30 +1,138 @@
 package com.carmanagement.repository;
 
 import com.carmanagement.model.Car;
+import com.carmanagement.util.ConcurrentLongMap;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
 public class CarRepository implements CarRepositoryInterface {
-    
-    private final Map<Long, Car> storage = new ConcurrentHashMap<>();
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final ConcurrentLongMap<Car> storage = new ConcurrentLongMap<>();
+    // Ids in ascending order, so pages are read without touching the rest of the fleet.
+    private final NavigableSet<Long> orderedIds = new ConcurrentSkipListSet<>();
     private final AtomicLong idGenerator = new AtomicLong(0);
 
+    // Secondary indexes on normalized brand and model (equality) and year (equality and ranges).
+    // indexedKeys remembers what each car was indexed under, so a re-save can unindex it even if
+    // the caller changed the same Car instance in place.
+    private final Map<String, IdBucket> brandIndex = new ConcurrentHashMap<>();
+    private final Map<String, IdBucket> modelIndex = new ConcurrentHashMap<>();
+    private final NavigableMap<Integer, IdBucket> yearIndex = new ConcurrentSkipListMap<>();
+    private final ConcurrentLongMap<IndexKeys> indexedKeys = new ConcurrentLongMap<>();
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    public CarRepository() {
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
     @Override
-    public Car save(Car car) {
+    public Car save(Car car, WriteHook<Car> hook) {
         if (car.getId() == null) {
             car.setId(idGenerator.incrementAndGet());
+        } else {
+            // Keep generated ids ahead of explicitly supplied ones, e.g. cars restored from disk.
+            idGenerator.accumulateAndGet(car.getId(), Math::max);
+        }
+        synchronized (lockFor(car.getId())) {
+            hook.beforeApply(List.of(car));
+            store(car.getId(), car);
         }
-        storage.put(car.getId(), car);
         return car;
     }
 
+    @Override
+    public List<Car> saveAll(List<Car> cars, WriteHook<Car> hook) {
+        long firstId = idGenerator.getAndAdd(cars.size()) + 1;
+        for (int i = 0; i < cars.size(); i++) {
+            cars.get(i).setId(firstId + i);
+        }
+        hook.beforeApply(cars);
+        for (Car car : cars) {
+            store(car.getId(), car);
+        }
+        return cars;
+    }
+
+    // In ascending id order, like the pages; the map itself iterates in hash order.
     @Override
     public List<Car> findAll() {
-        return new ArrayList<>(storage.values());
+        List<Car> cars = new ArrayList<>((int) storage.size());
+        for (Long id : orderedIds) {
+            Car car = storage.get(id);
+            if (car != null) {
+                cars.add(car);
+            }
+        }
+        return cars;
+    }
+
+    @Override
+    public List<Car> findPage(long afterId, int limit) {
+        return collect(orderedIds.tailSet(afterId, false).iterator(), CarQuery.ALL, limit);
+    }
+
+    // Walks the smallest index that covers the query, in id order, and checks the remaining
+    // filters on each candidate, so the cost follows the matching set rather than the fleet.
+    @Override
+    public List<Car> findMatching(CarQuery query, long afterId, int limit) {
+        if (query.isEmpty()) {
+            return findPage(afterId, limit);
+        }
+
+        Iterator<Long> best = null;
+        int bestSize = Integer.MAX_VALUE;
+        if (query.getBrand() != null) {
+            IdBucket bucket = brandIndex.get(query.getBrand());
+            if (bucket == null) {
+                return new ArrayList<>();
+            }
+            best = bucket.idsAfter(afterId);
+            bestSize = bucket.size();
+        }
+        if (query.getModel() != null) {
+            IdBucket bucket = modelIndex.get(query.getModel());
+            if (bucket == null) {
+                return new ArrayList<>();
+            }
+            if (bucket.size() < bestSize) {
+                best = bucket.idsAfter(afterId);
+                bestSize = bucket.size();
+            }
+        }
+        if (query.hasYearFilter()) {
+            if (query.getMinYear() > query.getMaxYear()) {
+                return new ArrayList<>();
+            }
+            Map<Integer, IdBucket> years = yearIndex.subMap(query.getMinYear(), true, query.getMaxYear(), true);
+            int yearSize = 0;
+            for (IdBucket bucket : years.values()) {
+                yearSize += bucket.size();
+            }
+            if (yearSize < bestSize) {
+                List<Iterator<Long>> sources = new ArrayList<>();
+                for (IdBucket bucket : years.values()) {
+                    sources.add(bucket.idsAfter(afterId));
+                }
+                best = sources.size() == 1 ? sources.get(0) : new MergedIds(sources);
+            }
+        }
+        return collect(best, query, limit);
     }
 
     @Override
@@ -33,8 +141,20 @@ public class CarRepository implements CarRepositoryInterface {
     }
 
     @Override
-    public boolean deleteById(Long id) {
-        return storage.remove(id) != null;
+    public boolean deleteById(Long id, WriteHook<Long> hook) {
+        synchronized (lockFor(id)) {
+            if (!storage.containsKey(id)) {
+                return false;
+            }
+            hook.beforeApply(List.of(id));
+            storage.remove(id);
+            orderedIds.remove(id);
+            IndexKeys keys = indexedKeys.remove(id);
+            if (keys != null) {
+                unindex(id, keys);
+            }
+            return true;
+        }
     }
 
     @Override
@@ -45,7 +165,167 @@ public class CarRepository implements CarRepositoryInterface {
     @Override
     public void clear() {
         storage.clear();
+        orderedIds.clear();
+        brandIndex.clear();
+        modelIndex.clear();
+        yearIndex.clear();
+        indexedKeys.clear();
         idGenerator.set(0);
     }
-}
 
+    private void store(long id, Car car) {
+        synchronized (lockFor(id)) {
+            storage.put(id, car);
+            orderedIds.add(id);
+            IndexKeys previous = indexedKeys.get(id);
+            if (previous != null) {
+                unindex(id, previous);
+            }
+            IndexKeys keys = new IndexKeys(car);
+            index(id, keys);
+            indexedKeys.put(id, keys);
+        }
+    }
+
+    private List<Car> collect(Iterator<Long> ids, CarQuery query, int limit) {
+        List<Car> page = new ArrayList<>(Math.min(limit, 1024));
+        while (page.size() < limit && ids.hasNext()) {
+            Car car = storage.get(ids.next());
+            if (car != null && query.matches(car)) {
+                page.add(car);
+            }
+        }
+        return page;
+    }
+
+    private void index(long id, IndexKeys keys) {
+        if (keys.brand != null) {
+            brandIndex.compute(keys.brand, (key, bucket) -> IdBucket.plus(bucket, id));
+        }
+        if (keys.model != null) {
+            modelIndex.compute(keys.model, (key, bucket) -> IdBucket.plus(bucket, id));
+        }
+        if (keys.year != null) {
+            yearIndex.computeIfAbsent(keys.year, key -> new IdBucket()).add(id);
+        }
+    }
+
+    // Empty brand and model buckets are dropped; year buckets stay, there are only a few hundred years.
+    private void unindex(long id, IndexKeys keys) {
+        if (keys.brand != null) {
+            brandIndex.computeIfPresent(keys.brand, (key, bucket) -> bucket.minus(id));
+        }
+        if (keys.model != null) {
+            modelIndex.computeIfPresent(keys.model, (key, bucket) -> bucket.minus(id));
+        }
+        if (keys.year != null) {
+            IdBucket bucket = yearIndex.get(keys.year);
+            if (bucket != null) {
+                bucket.remove(id);
+            }
+        }
+    }
+
+    private Object lockFor(long id) {
+        return locks[(int) (id & (LOCK_STRIPES - 1))];
+    }
+
+    private static final class IndexKeys {
+
+        private final String brand;
+        private final String model;
+        private final Integer year;
+
+        IndexKeys(Car car) {
+            this.brand = CarQuery.normalize(car.getBrand());
+            this.model = CarQuery.normalize(car.getModel());
+            this.year = car.getYear();
+        }
+    }
+
+    // Ids under one index key, sorted so results come back in id order, with a size counter
+    // because ConcurrentSkipListSet.size() walks the whole set.
+    private static final class IdBucket {
+
+        private final NavigableSet<Long> ids = new ConcurrentSkipListSet<>();
+        private final AtomicInteger size = new AtomicInteger();
+
+        static IdBucket plus(IdBucket bucket, long id) {
+            IdBucket target = bucket == null ? new IdBucket() : bucket;
+            target.add(id);
+            return target;
+        }
+
+        IdBucket minus(long id) {
+            remove(id);
+            return size.get() == 0 ? null : this;
+        }
+
+        void add(long id) {
+            if (ids.add(id)) {
+                size.incrementAndGet();
+            }
+        }
+
+        void remove(long id) {
+            if (ids.remove(id)) {
+                size.decrementAndGet();
+            }
+        }
+
+        int size() {
+            return size.get();
+        }
+
+        Iterator<Long> idsAfter(long afterId) {
+            return ids.tailSet(afterId, false).iterator();
+        }
+    }
+
+    // Lazily merges ascending id streams from several year buckets into one ascending stream.
+    private static final class MergedIds implements Iterator<Long> {
+
+        private final PriorityQueue<Head> heads = new PriorityQueue<>();
+
+        MergedIds(List<Iterator<Long>> sources) {
+            for (Iterator<Long> source : sources) {
+                if (source.hasNext()) {
+                    heads.add(new Head(source.next(), source));
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !heads.isEmpty();
+        }
+
+        @Override
+        public Long next() {
+            Head head = heads.poll();
+            if (head == null) {
+                throw new NoSuchElementException();
+            }
+            if (head.rest.hasNext()) {
+                heads.add(new Head(head.rest.next(), head.rest));
+            }
+            return head.id;
+        }
+
+        private static final class Head implements Comparable<Head> {
+
+            private final long id;
+            private final Iterator<Long> rest;
+
+            Head(long id, Iterator<Long> rest) {
+                this.id = id;
+                this.rest = rest;
+            }
+
+            @Override
+            public int compareTo(Head other) {
+                return Long.compare(id, other.id);
+            }
+        }
+    }
+}
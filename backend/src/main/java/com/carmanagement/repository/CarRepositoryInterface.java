@@ -8,13 +8,40 @@ import java.util.List;
 public interface CarRepositoryInterface {
     
 
-    Car save(Car car);
+    default Car save(Car car) {
+        return save(car, WriteHook.none());
+    }
+
+    // The write methods taking a WriteHook pass it what they are about to store or delete, under the
+    // lock of the car id; the others pass none.
+    Car save(Car car, WriteHook<Car> hook);
+
+    // Stores new cars (without ids) under one contiguous block of ids, reserved in a single atomic step
+    // and assigned in list order.
+    default List<Car> saveAll(List<Car> cars) {
+        return saveAll(cars, WriteHook.none());
+    }
+
+    // The hook is called once, with every car after the ids are assigned; no other writer can hold
+    // the freshly reserved ids, so it runs before any lock is taken.
+    List<Car> saveAll(List<Car> cars, WriteHook<Car> hook);
 
     List<Car> findAll();
 
+    // Up to limit cars with an id greater than afterId, in ascending id order.
+    List<Car> findPage(long afterId, int limit);
+
+    // Like findPage, restricted to cars matching the query; served from the secondary indexes.
+    List<Car> findMatching(CarQuery query, long afterId, int limit);
+
     boolean existsById(Long id);
 
-    boolean deleteById(Long id);
+    default boolean deleteById(Long id) {
+        return deleteById(id, WriteHook.none());
+    }
+
+    // The hook gets the id only if a car is stored under it.
+    boolean deleteById(Long id, WriteHook<Long> hook);
 
     long count();
 
@@ -0,0 +1,441 @@
+package com.carmanagement.repository;
+
+import com.carmanagement.model.FuelEntry;
+import com.carmanagement.util.ConcurrentLongMap;
+import com.carmanagement.util.EpochNanos;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+// Keeps each car's fuel history in primitive columns instead of one FuelEntry object per row:
+// heap arrays here, direct-memory slabs in OffHeapFuelRepository.
+// FuelEntry instances are only materialized when a caller reads them back.
+public class ColumnarFuelRepository implements FuelRepositoryInterface {
+
+    private final Supplier<FuelColumns> columnsFactory;
+    private final ConcurrentLongMap<CarColumns> columnsByCar = new ConcurrentLongMap<>();
+    private final EntryIdSet storedIds = new EntryIdSet();
+    private final AtomicLong idGenerator = new AtomicLong(0);
+    private final AtomicLong entryCount = new AtomicLong(0);
+
+    public ColumnarFuelRepository() {
+        this(HeapFuelColumns::new);
+    }
+
+    ColumnarFuelRepository(Supplier<FuelColumns> columnsFactory) {
+        this.columnsFactory = columnsFactory;
+    }
+
+    @Override
+    public FuelEntry save(FuelEntry entry, WriteHook<FuelEntry> hook) {
+        if (entry.getId() == null) {
+            entry.setId(idGenerator.incrementAndGet());
+            columnsFor(entry.getCarId()).append(entry, hook);
+            storedIds.add(entry.getId());
+            entryCount.incrementAndGet();
+            return entry;
+        }
+
+        long entryId = entry.getId();
+        idGenerator.accumulateAndGet(entryId, Math::max);
+        CarColumns target = columnsFor(entry.getCarId());
+        if (!storedIds.contains(entryId)) {
+            // A new id, e.g. a restored entry: nothing to find or remove first.
+            target.append(entry, hook);
+            storedIds.add(entryId);
+            entryCount.incrementAndGet();
+            return entry;
+        }
+        if (target.overwrite(entry, hook)) {
+            return entry;
+        }
+
+        // The id is stored under another car, which only happens when an entry is re-saved with a new
+        // car id, so a scan of the other cars is acceptable here. It is removed there only once the new
+        // row is stored, so a failed hook leaves the old car untouched.
+        target.append(entry, hook);
+        for (CarColumns columns : columnsByCar.values()) {
+            if (columns != target && columns.remove(entryId)) {
+                return entry;
+            }
+        }
+        entryCount.incrementAndGet();
+        return entry;
+    }
+
+    @Override
+    public FuelEntry appendIfOdometerNotDecreasing(FuelEntry entry, WriteHook<FuelEntry> hook) {
+        if (!columnsFor(entry.getCarId()).appendIfOdometerNotDecreasing(entry, idGenerator, hook)) {
+            return null;
+        }
+        storedIds.add(entry.getId());
+        entryCount.incrementAndGet();
+        return entry;
+    }
+
+    @Override
+    public int appendAllIfOdometerNotDecreasing(Long carId, List<FuelEntry> entries, WriteHook<FuelEntry> hook) {
+        int appended = columnsFor(carId).appendAllIfOdometerNotDecreasing(entries, idGenerator, hook);
+        for (FuelEntry entry : entries) {
+            if (entry.getId() != null) {
+                storedIds.add(entry.getId());
+            }
+        }
+        entryCount.addAndGet(appended);
+        return appended;
+    }
+
+    @Override
+    public void restoreAll(List<FuelEntry> entries) {
+        Map<Long, List<FuelEntry>> newRowsByCar = new LinkedHashMap<>();
+        Set<Long> newIds = new HashSet<>();
+        for (FuelEntry entry : entries) {
+            if (storedIds.contains(entry.getId()) || !newIds.add(entry.getId())) {
+                // A re-save has to see the rows listed before it, so those go in first.
+                addNewRows(newRowsByCar);
+                newIds.clear();
+                save(entry);
+            } else {
+                newRowsByCar.computeIfAbsent(entry.getCarId(), carId -> new ArrayList<>()).add(entry);
+            }
+        }
+        addNewRows(newRowsByCar);
+    }
+
+    private void addNewRows(Map<Long, List<FuelEntry>> newRowsByCar) {
+        for (Map.Entry<Long, List<FuelEntry>> car : newRowsByCar.entrySet()) {
+            List<FuelEntry> rows = car.getValue();
+            // Stable, so equal readings keep their list order.
+            rows.sort(Comparator.comparingLong(FuelEntry::getOdometer));
+            columnsFor(car.getKey()).appendAll(rows);
+            for (FuelEntry entry : rows) {
+                idGenerator.accumulateAndGet(entry.getId(), Math::max);
+                storedIds.add(entry.getId());
+            }
+            entryCount.addAndGet(rows.size());
+        }
+        newRowsByCar.clear();
+    }
+
+    @Override
+    public List<FuelEntry> findByCarId(Long carId) {
+        CarColumns columns = columnsByCar.get(carId);
+        if (columns == null) {
+            return new ArrayList<>();
+        }
+        return columns.toEntries();
+    }
+
+    @Override
+    public List<FuelEntry> findByCarId(Long carId, int offset, int limit) {
+        CarColumns columns = columnsByCar.get(carId);
+        if (columns == null) {
+            return new ArrayList<>();
+        }
+        return columns.toEntries(offset, limit);
+    }
+
+    @Override
+    public List<FuelEntry> findByOdometerRange(Long carId, long fromOdometer, long toOdometer, int limit) {
+        CarColumns columns = columnsByCar.get(carId);
+        if (columns == null) {
+            return new ArrayList<>();
+        }
+        return columns.toEntries(fromOdometer, toOdometer, limit);
+    }
+
+    @Override
+    public FuelAggregate getAggregateByOdometerRange(Long carId, long fromOdometer, long toOdometer) {
+        CarColumns columns = columnsByCar.get(carId);
+        return columns == null ? FuelAggregate.EMPTY : columns.aggregate(fromOdometer, toOdometer);
+    }
+
+    @Override
+    public FuelAggregate getAggregateByIndexRange(Long carId, int fromIndex, int toIndex) {
+        CarColumns columns = columnsByCar.get(carId);
+        return columns == null ? FuelAggregate.EMPTY : columns.aggregate(fromIndex, toIndex);
+    }
+
+    @Override
+    public Long getMaxOdometerByCarId(Long carId) {
+        FuelAggregate aggregate = getAggregateByCarId(carId);
+        return aggregate.isEmpty() ? null : aggregate.getMaxOdometer();
+    }
+
+    @Override
+    public FuelAggregate getAggregateByCarId(Long carId) {
+        CarColumns columns = columnsByCar.get(carId);
+        return columns == null ? FuelAggregate.EMPTY : columns.aggregate;
+    }
+
+    @Override
+    public FuelAggregate getAggregateBetween(Long carId, LocalDate from, LocalDate to) {
+        CarColumns columns = columnsByCar.get(carId);
+        return columns == null ? FuelAggregate.EMPTY : columns.between(from.toEpochDay(), to.toEpochDay());
+    }
+
+    @Override
+    public List<FuelRollup> getRollups(Long carId, RollupGranularity granularity, LocalDate from, LocalDate to) {
+        CarColumns columns = columnsByCar.get(carId);
+        if (columns == null) {
+            return new ArrayList<>();
+        }
+        return columns.periods(granularity, from.toEpochDay(), to.toEpochDay());
+    }
+
+    @Override
+    public void forEachEntry(Consumer<FuelEntry> action) {
+        columnsByCar.forEachValue(columns -> columns.toEntries().forEach(action));
+    }
+
+    @Override
+    public long count() {
+        return entryCount.get();
+    }
+
+    @Override
+    public void clear() {
+        columnsByCar.clear();
+        storedIds.clear();
+        entryCount.set(0);
+        idGenerator.set(0);
+    }
+
+    private CarColumns columnsFor(Long carId) {
+        return columnsByCar.computeIfAbsent(carId, id -> new CarColumns(id, columnsFactory.get()));
+    }
+
+    // One car's history, with rows kept in odometer order. All mutation and bulk reads hold the instance
+    // monitor; the aggregate is published through a volatile field so stats reads never lock.
+    private static final class CarColumns {
+
+        private final Long carId;
+        private final FuelColumns columns;
+        private final FuelRollups rollups = new FuelRollups();
+        private volatile FuelAggregate aggregate = FuelAggregate.EMPTY;
+
+        CarColumns(Long carId, FuelColumns columns) {
+            this.carId = carId;
+            this.columns = columns;
+        }
+
+        synchronized void append(FuelEntry entry, WriteHook<FuelEntry> hook) {
+            hook.beforeApply(List.of(entry));
+            append(entry);
+        }
+
+        synchronized void append(FuelEntry entry) {
+            long odometer = entry.getOdometer();
+            long createdAt = EpochNanos.of(entry.getCreatedAt());
+            int position = insertionPoint(odometer);
+            columns.insert(position, entry.getId(), odometer, createdAt, entry.getLiters(), entry.getPrice());
+            aggregate = aggregate.plus(entry.getLiters(), entry.getPrice(), odometer);
+            addToRollups(createdAt, entry.getLiters(), entry.getPrice(), odometer);
+        }
+
+        // Merges rows already sorted by odometer into the history from the back, so each row moves
+        // at most once; equal readings go after the ones already stored.
+        synchronized void appendAll(List<FuelEntry> rows) {
+            if (rows.isEmpty()) {
+                return;
+            }
+            int existing = columns.size() - 1;
+            FuelAggregate folded = aggregate;
+            for (FuelEntry entry : rows) {
+                long createdAt = EpochNanos.of(entry.getCreatedAt());
+                columns.append(entry.getId(), entry.getOdometer(), createdAt, entry.getLiters(), entry.getPrice());
+                folded = folded.plus(entry.getLiters(), entry.getPrice(), entry.getOdometer());
+                addToRollups(createdAt, entry.getLiters(), entry.getPrice(), entry.getOdometer());
+            }
+            aggregate = folded;
+            if (existing < 0 || rows.get(0).getOdometer() >= columns.odometer(existing)) {
+                return;
+            }
+
+            int next = rows.size() - 1;
+            for (int write = columns.size() - 1; next >= 0; write--) {
+                FuelEntry entry = rows.get(next);
+                if (existing >= 0 && columns.odometer(existing) > entry.getOdometer()) {
+                    columns.set(write, columns.id(existing), columns.odometer(existing), columns.createdAt(existing),
+                            columns.liters(existing), columns.price(existing));
+                    existing--;
+                } else {
+                    columns.set(write, entry.getId(), entry.getOdometer(), EpochNanos.of(entry.getCreatedAt()),
+                            entry.getLiters(), entry.getPrice());
+                    next--;
+                }
+            }
+        }
+
+        synchronized boolean appendIfOdometerNotDecreasing(FuelEntry entry, AtomicLong idGenerator,
+                                                           WriteHook<FuelEntry> hook) {
+            if (!aggregate.isEmpty() && entry.getOdometer() < aggregate.getMaxOdometer()) {
+                return false;
+            }
+            entry.setId(idGenerator.incrementAndGet());
+            append(entry, hook);
+            return true;
+        }
+
+        // Checked against a running maximum first, so the hook sees the whole accepted batch.
+        synchronized int appendAllIfOdometerNotDecreasing(List<FuelEntry> entries, AtomicLong idGenerator,
+                                                          WriteHook<FuelEntry> hook) {
+            List<FuelEntry> accepted = new ArrayList<>(entries.size());
+            long maxOdometer = aggregate.isEmpty() ? Long.MIN_VALUE : aggregate.getMaxOdometer();
+            for (FuelEntry entry : entries) {
+                if (entry.getOdometer() >= maxOdometer) {
+                    maxOdometer = entry.getOdometer();
+                    entry.setId(idGenerator.incrementAndGet());
+                    accepted.add(entry);
+                }
+            }
+            hook.beforeApply(accepted);
+            for (FuelEntry entry : accepted) {
+                append(entry);
+            }
+            return accepted.size();
+        }
+
+        synchronized boolean overwrite(FuelEntry entry, WriteHook<FuelEntry> hook) {
+            int index = indexOf(entry.getId());
+            if (index < 0) {
+                return false;
+            }
+            hook.beforeApply(List.of(entry));
+            // The odometer may have changed, so the row is moved to its place in the order.
+            columns.remove(index);
+            int position = insertionPoint(entry.getOdometer());
+            columns.insert(position, entry.getId(), entry.getOdometer(), EpochNanos.of(entry.getCreatedAt()),
+                    entry.getLiters(), entry.getPrice());
+            refold();
+            return true;
+        }
+
+        synchronized boolean remove(long entryId) {
+            int index = indexOf(entryId);
+            if (index < 0) {
+                return false;
+            }
+            columns.remove(index);
+            refold();
+            return true;
+        }
+
+        synchronized FuelAggregate between(long fromDay, long toDay) {
+            return rollups.between(fromDay, toDay);
+        }
+
+        synchronized List<FuelRollup> periods(RollupGranularity granularity, long fromDay, long toDay) {
+            return rollups.periods(granularity, fromDay, toDay);
+        }
+
+        synchronized List<FuelEntry> toEntries() {
+            int size = columns.size();
+            List<FuelEntry> entries = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                entries.add(toEntry(i));
+            }
+            return entries;
+        }
+
+        synchronized List<FuelEntry> toEntries(int offset, int limit) {
+            int end = (int) Math.min(columns.size(), (long) offset + limit);
+            List<FuelEntry> entries = new ArrayList<>(Math.max(0, end - offset));
+            for (int i = offset; i < end; i++) {
+                entries.add(toEntry(i));
+            }
+            return entries;
+        }
+
+        synchronized List<FuelEntry> toEntries(long fromOdometer, long toOdometer, int limit) {
+            int start = lowerBound(fromOdometer);
+            int end = (int) Math.min(upperBound(toOdometer), (long) start + limit);
+            return toEntries(start, Math.max(0, end - start));
+        }
+
+        synchronized FuelAggregate aggregate(long fromOdometer, long toOdometer) {
+            return aggregate(lowerBound(fromOdometer), upperBound(toOdometer));
+        }
+
+        synchronized FuelAggregate aggregate(int fromIndex, int toIndex) {
+            int start = Math.max(0, fromIndex);
+            int end = Math.min(columns.size(), toIndex);
+            return columns.aggregate(start, end);
+        }
+
+        private FuelEntry toEntry(int index) {
+            FuelEntry entry = new FuelEntry(carId, columns.liters(index), columns.price(index),
+                    columns.odometer(index));
+            entry.setId(columns.id(index));
+            entry.setCreatedAt(EpochNanos.toLocalDateTime(columns.createdAt(index)));
+            return entry;
+        }
+
+        // Appends in odometer order land at the end; an earlier reading goes after any equal
+        // readings, so ties stay in write order.
+        private int insertionPoint(long odometer) {
+            int size = columns.size();
+            if (size == 0 || odometer >= columns.odometer(size - 1)) {
+                return size;
+            }
+            return upperBound(odometer);
+        }
+
+        // First row whose odometer is >= the given reading.
+        private int lowerBound(long odometer) {
+            return odometer == Long.MIN_VALUE ? 0 : upperBound(odometer - 1);
+        }
+
+        // First row whose odometer is > the given reading.
+        private int upperBound(long odometer) {
+            int low = 0;
+            int high = columns.size();
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (columns.odometer(mid) <= odometer) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        // Rows are in odometer order, not id order, so this is a scan. Callers only look up ids the
+        // repository knows are stored, i.e. re-saves, and those refold the whole car anyway.
+        private int indexOf(long entryId) {
+            for (int i = 0; i < columns.size(); i++) {
+                if (columns.id(i) == entryId) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private void refold() {
+            FuelAggregate rebuilt = FuelAggregate.EMPTY;
+            rollups.clear();
+            for (int i = 0; i < columns.size(); i++) {
+                long odometer = columns.odometer(i);
+                rebuilt = rebuilt.plus(columns.liters(i), columns.price(i), odometer);
+                addToRollups(columns.createdAt(i), columns.liters(i), columns.price(i), odometer);
+            }
+            aggregate = rebuilt;
+        }
+
+        private void addToRollups(long createdAt, double liters, double price, long odometer) {
+            if (createdAt != EpochNanos.NONE) {
+                rollups.add(EpochNanos.toEpochDay(createdAt), liters, price, odometer);
+            }
+        }
+    }
+}
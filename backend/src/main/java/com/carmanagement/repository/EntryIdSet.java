@@ -0,0 +1,40 @@
+package com.carmanagement.repository;
+
+import com.carmanagement.util.ConcurrentLongMap;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// The entry ids a repository holds, as one bit per id. Ids come from a counter and are dense, so this
+// answers "is this id stored anywhere?" for an eighth of a byte per entry, where a map from entry to car
+// would cost more heap than the off-heap columns keep per row. Bits live in 64K-id pages created on
+// first use; setting and clearing a bit is a CAS on one word, so writers to different cars never lock.
+final class EntryIdSet {
+
+    private static final int PAGE_SHIFT = 16;
+    private static final int WORDS_PER_PAGE = 1 << (PAGE_SHIFT - 6);
+
+    private final ConcurrentLongMap<AtomicLongArray> pages = new ConcurrentLongMap<>();
+
+    boolean contains(long id) {
+        AtomicLongArray page = pages.get(id >>> PAGE_SHIFT);
+        return page != null && (page.get(word(id)) & bit(id)) != 0;
+    }
+
+    void add(long id) {
+        AtomicLongArray page = pages.computeIfAbsent(id >>> PAGE_SHIFT, key -> new AtomicLongArray(WORDS_PER_PAGE));
+        page.accumulateAndGet(word(id), bit(id), (bits, mask) -> bits | mask);
+    }
+
+    void clear() {
+        pages.clear();
+    }
+
+    private static int word(long id) {
+        return (int) (id >>> 6) & (WORDS_PER_PAGE - 1);
+    }
+
+    // The shift distance is taken mod 64, i.e. the id's low six bits.
+    private static long bit(long id) {
+        return 1L << id;
+    }
+}
@@ -0,0 +1,124 @@
+package com.carmanagement.repository;
+
+// Immutable running totals for one car's fuel history, replaced on every write.
+public final class FuelAggregate {
+
+    public static final FuelAggregate EMPTY = new FuelAggregate(0, 0.0, 0.0, 0L, 0L, 0.0, 0.0);
+
+    private final int entryCount;
+    private final double totalLiters;
+    private final double totalCost;
+    private final long minOdometer;
+    private final long maxOdometer;
+    private final double firstLiters;
+    private final double litersExcludingFirst;
+
+    private FuelAggregate(int entryCount, double totalLiters, double totalCost,
+                          long minOdometer, long maxOdometer,
+                          double firstLiters, double litersExcludingFirst) {
+        this.entryCount = entryCount;
+        this.totalLiters = totalLiters;
+        this.totalCost = totalCost;
+        this.minOdometer = minOdometer;
+        this.maxOdometer = maxOdometer;
+        this.firstLiters = firstLiters;
+        this.litersExcludingFirst = litersExcludingFirst;
+    }
+
+    // The first fill is the one with the lowest odometer; ties keep the earlier write.
+    public FuelAggregate plus(double liters, double price, long odometer) {
+        if (entryCount == 0) {
+            return new FuelAggregate(1, liters, price, odometer, odometer, liters, 0.0);
+        }
+
+        double newFirstLiters = firstLiters;
+        double newLitersExcludingFirst = litersExcludingFirst + liters;
+        if (odometer < minOdometer) {
+            newFirstLiters = liters;
+            newLitersExcludingFirst = litersExcludingFirst + firstLiters;
+        }
+
+        return new FuelAggregate(
+            entryCount + 1,
+            totalLiters + liters,
+            totalCost + price,
+            Math.min(minOdometer, odometer),
+            Math.max(maxOdometer, odometer),
+            newFirstLiters,
+            newLitersExcludingFirst
+        );
+    }
+
+    // Totals for a run of consecutive entries in odometer order, e.g. from FuelPrefixSums.
+    static FuelAggregate ofInterval(int entryCount, double totalLiters, double totalCost,
+                                    long minOdometer, long maxOdometer, double firstLiters) {
+        return new FuelAggregate(entryCount, totalLiters, totalCost, minOdometer, maxOdometer,
+                firstLiters, totalLiters - firstLiters);
+    }
+
+    // Combines the totals of two disjoint sets of entries, e.g. two rollup buckets.
+    public FuelAggregate merge(FuelAggregate other) {
+        if (other.entryCount == 0) {
+            return this;
+        }
+        if (entryCount == 0) {
+            return other;
+        }
+
+        double mergedLiters = totalLiters + other.totalLiters;
+        double mergedFirstLiters = other.minOdometer < minOdometer ? other.firstLiters : firstLiters;
+        return new FuelAggregate(
+            entryCount + other.entryCount,
+            mergedLiters,
+            totalCost + other.totalCost,
+            Math.min(minOdometer, other.minOdometer),
+            Math.max(maxOdometer, other.maxOdometer),
+            mergedFirstLiters,
+            mergedLiters - mergedFirstLiters
+        );
+    }
+
+    public boolean isEmpty() {
+        return entryCount == 0;
+    }
+
+    public int getEntryCount() {
+        return entryCount;
+    }
+
+    public double getTotalLiters() {
+        return totalLiters;
+    }
+
+    public double getTotalCost() {
+        return totalCost;
+    }
+
+    public long getMinOdometer() {
+        return minOdometer;
+    }
+
+    public long getMaxOdometer() {
+        return maxOdometer;
+    }
+
+    public double getLitersExcludingFirst() {
+        return litersExcludingFirst;
+    }
+
+    public long getDistance() {
+        return maxOdometer - minOdometer;
+    }
+
+    @Override
+    public String toString() {
+        return "FuelAggregate{" +
+                "entryCount=" + entryCount +
+                ", totalLiters=" + totalLiters +
+                ", totalCost=" + totalCost +
+                ", minOdometer=" + minOdometer +
+                ", maxOdometer=" + maxOdometer +
+                ", litersExcludingFirst=" + litersExcludingFirst +
+                '}';
+    }
+}
@@ -0,0 +1,83 @@
+package com.carmanagement.repository;
+
+// Row storage behind one car's history in ColumnarFuelRepository. Callers hold the car's monitor
+// for every call, so implementations do no locking of their own.
+//
+// Each row also has room for the running liters and cost through it, so the totals of any row
+// interval are two lookups and a subtraction. Writes only lower the count of rows whose running
+// totals are current; aggregate() brings them up to date when an interval is next asked for, so a
+// run of out-of-order writes costs one pass rather than one per write.
+abstract class FuelColumns {
+
+    private int summedRows;
+
+    abstract int size();
+
+    abstract long id(int index);
+
+    abstract long odometer(int index);
+
+    abstract long createdAt(int index);
+
+    abstract double liters(int index);
+
+    abstract double price(int index);
+
+    // Liters and cost of rows 0..index; only read for rows below summedRows.
+    abstract double litersThrough(int index);
+
+    abstract double costThrough(int index);
+
+    abstract void setRunningTotals(int index, double liters, double cost);
+
+    final void append(long id, long odometer, long createdAt, double liters, double price) {
+        insert(size(), id, odometer, createdAt, liters, price);
+    }
+
+    // Shifts the rows from index on up by one.
+    final void insert(int index, long id, long odometer, long createdAt, double liters, double price) {
+        insertRow(index, id, odometer, createdAt, liters, price);
+        summedRows = Math.min(summedRows, index);
+    }
+
+    final void set(int index, long id, long odometer, long createdAt, double liters, double price) {
+        setRow(index, id, odometer, createdAt, liters, price);
+        summedRows = Math.min(summedRows, index);
+    }
+
+    final void remove(int index) {
+        removeRow(index);
+        summedRows = Math.min(summedRows, index);
+    }
+
+    // Totals for rows fromIndex..toIndex-1, with the first row of the interval as the consumption
+    // baseline.
+    final FuelAggregate aggregate(int fromIndex, int toIndex) {
+        if (fromIndex >= toIndex) {
+            return FuelAggregate.EMPTY;
+        }
+        for (; summedRows < toIndex; summedRows++) {
+            int row = summedRows;
+            double liters = liters(row);
+            double cost = price(row);
+            if (row > 0) {
+                liters += litersThrough(row - 1);
+                cost += costThrough(row - 1);
+            }
+            setRunningTotals(row, liters, cost);
+        }
+        double litersBefore = fromIndex == 0 ? 0.0 : litersThrough(fromIndex - 1);
+        double costBefore = fromIndex == 0 ? 0.0 : costThrough(fromIndex - 1);
+        return FuelAggregate.ofInterval(toIndex - fromIndex,
+                litersThrough(toIndex - 1) - litersBefore,
+                costThrough(toIndex - 1) - costBefore,
+                odometer(fromIndex), odometer(toIndex - 1),
+                liters(fromIndex));
+    }
+
+    abstract void insertRow(int index, long id, long odometer, long createdAt, double liters, double price);
+
+    abstract void setRow(int index, long id, long odometer, long createdAt, double liters, double price);
+
+    abstract void removeRow(int index);
+}
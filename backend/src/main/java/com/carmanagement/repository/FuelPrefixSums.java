@@ -0,0 +1,47 @@
+package com.carmanagement.repository;
+
+import java.util.Arrays;
+
+// Cumulative liters and cost over one car's history in odometer order: slot i holds the totals of
+// rows 0..i-1, so the totals of any row interval are two lookups and a subtraction. A write in the
+// middle of the history truncates them; the owner re-appends the missing rows only when an interval
+// is next asked for, so a run of out-of-order writes costs one rebuild rather than one per write.
+// Not thread-safe: the owning repository calls it under the car's monitor.
+final class FuelPrefixSums {
+
+    private double[] liters = new double[5];
+    private double[] cost = new double[5];
+    private int size;
+
+    void append(double entryLiters, double entryCost) {
+        if (size + 1 == liters.length) {
+            liters = Arrays.copyOf(liters, liters.length * 2);
+            cost = Arrays.copyOf(cost, cost.length * 2);
+        }
+        liters[size + 1] = liters[size] + entryLiters;
+        cost[size + 1] = cost[size] + entryCost;
+        size++;
+    }
+
+    // Drops every row from the given position on.
+    void truncate(int position) {
+        size = Math.min(size, position);
+    }
+
+    int size() {
+        return size;
+    }
+
+    // Totals for rows fromIndex..toIndex-1, with the first row of the interval as the consumption
+    // baseline; the caller supplies the interval's lowest and highest odometer.
+    FuelAggregate aggregate(int fromIndex, int toIndex, long minOdometer, long maxOdometer) {
+        if (fromIndex >= toIndex) {
+            return FuelAggregate.EMPTY;
+        }
+        return FuelAggregate.ofInterval(toIndex - fromIndex,
+                liters[toIndex] - liters[fromIndex],
+                cost[toIndex] - cost[fromIndex],
+                minOdometer, maxOdometer,
+                liters[fromIndex + 1] - liters[fromIndex]);
+    }
+}
@@ -1,110 +1,256 @@
 package com.carmanagement.repository;
 
 import com.carmanagement.model.FuelEntry;
+import com.carmanagement.util.ConcurrentLongMap;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 public class FuelRepository implements FuelRepositoryInterface {
-    
-    private final Map<Long, FuelEntry> storage = new ConcurrentHashMap<>();
-    private final Map<Long, List<Long>> carIdIndex = new ConcurrentHashMap<>();
+
+    private final ConcurrentLongMap<FuelEntry> storage = new ConcurrentLongMap<>();
+    private final ConcurrentLongMap<CarIndex> carIdIndex = new ConcurrentLongMap<>();
     private final AtomicLong idGenerator = new AtomicLong(0);
 
     @Override
-    public FuelEntry save(FuelEntry entry) {
+    public FuelEntry save(FuelEntry entry, WriteHook<FuelEntry> hook) {
         if (entry.getId() == null) {
             entry.setId(idGenerator.incrementAndGet());
+        } else {
+            // Keep generated ids ahead of explicitly supplied ones, e.g. entries restored from disk.
+            idGenerator.accumulateAndGet(entry.getId(), Math::max);
         }
-        
-        Long entryId = entry.getId();
+
+        long entryId = entry.getId();
         Long carId = entry.getCarId();
-        
+
         FuelEntry existingEntry = storage.get(entryId);
-        boolean isUpdate = existingEntry != null;
-        
-        if (isUpdate) {
-            Long oldCarId = existingEntry.getCarId();
-            if (!oldCarId.equals(carId)) {
-                List<Long> oldIndex = carIdIndex.get(oldCarId);
-                if (oldIndex != null) {
+        boolean movedFromOtherCar = existingEntry != null && !existingEntry.getCarId().equals(carId);
+
+        CarIndex index = indexFor(carId);
+        synchronized (index) {
+            hook.beforeApply(List.of(entry));
+            storage.put(entryId, entry);
+            if (existingEntry != null && !movedFromOtherCar) {
+                // An in-place update can change any total or the entry's place in the order.
+                index.replace(entry);
+            } else {
+                index.add(entry);
+            }
+        }
+
+        // Unlinked only once the new row is stored, so a failed hook leaves the old car untouched.
+        if (movedFromOtherCar) {
+            CarIndex oldIndex = carIdIndex.get(existingEntry.getCarId());
+            if (oldIndex != null) {
+                synchronized (oldIndex) {
                     oldIndex.remove(entryId);
-                    if (oldIndex.isEmpty()) {
-                        carIdIndex.remove(oldCarId);
-                    }
                 }
+            }
+        }
+
+        return entry;
+    }
+
+    @Override
+    public FuelEntry appendIfOdometerNotDecreasing(FuelEntry entry, WriteHook<FuelEntry> hook) {
+        CarIndex index = indexFor(entry.getCarId());
+        synchronized (index) {
+            FuelAggregate aggregate = index.aggregate;
+            if (!aggregate.isEmpty() && entry.getOdometer() < aggregate.getMaxOdometer()) {
+                return null;
+            }
+            entry.setId(idGenerator.incrementAndGet());
+            hook.beforeApply(List.of(entry));
+            storage.put(entry.getId(), entry);
+            index.add(entry);
+        }
+        return entry;
+    }
+
+    @Override
+    public int appendAllIfOdometerNotDecreasing(Long carId, List<FuelEntry> entries, WriteHook<FuelEntry> hook) {
+        CarIndex index = indexFor(carId);
+        synchronized (index) {
+            // Checked against a running maximum first, so the hook sees the whole accepted batch.
+            List<FuelEntry> accepted = new ArrayList<>(entries.size());
+            FuelAggregate aggregate = index.aggregate;
+            long maxOdometer = aggregate.isEmpty() ? Long.MIN_VALUE : aggregate.getMaxOdometer();
+            for (FuelEntry entry : entries) {
+                if (entry.getOdometer() >= maxOdometer) {
+                    maxOdometer = entry.getOdometer();
+                    entry.setId(idGenerator.incrementAndGet());
+                    accepted.add(entry);
+                }
+            }
+            hook.beforeApply(accepted);
+            for (FuelEntry entry : accepted) {
+                storage.put(entry.getId(), entry);
+                index.add(entry);
+            }
+            return accepted.size();
+        }
+    }
+
+    @Override
+    public void restoreAll(List<FuelEntry> entries) {
+        Map<Long, List<FuelEntry>> newRowsByCar = new LinkedHashMap<>();
+        Set<Long> newIds = new HashSet<>();
+        for (FuelEntry entry : entries) {
+            if (storage.containsKey(entry.getId()) || !newIds.add(entry.getId())) {
+                // A re-save has to see the rows listed before it, so those go in first.
+                addNewRows(newRowsByCar);
+                newIds.clear();
+                save(entry);
             } else {
-                List<Long> currentIndex = carIdIndex.get(carId);
-                if (currentIndex != null) {
-                    currentIndex.remove(entryId);
+                newRowsByCar.computeIfAbsent(entry.getCarId(), carId -> new ArrayList<>()).add(entry);
+            }
+        }
+        addNewRows(newRowsByCar);
+    }
+
+    private void addNewRows(Map<Long, List<FuelEntry>> newRowsByCar) {
+        for (Map.Entry<Long, List<FuelEntry>> car : newRowsByCar.entrySet()) {
+            List<FuelEntry> rows = car.getValue();
+            // Stable, so equal readings keep their list order.
+            rows.sort(Comparator.comparingLong(FuelEntry::getOdometer));
+            CarIndex index = indexFor(car.getKey());
+            synchronized (index) {
+                for (FuelEntry entry : rows) {
+                    idGenerator.accumulateAndGet(entry.getId(), Math::max);
+                    storage.put(entry.getId(), entry);
                 }
+                index.addAll(rows);
             }
         }
-        
-        storage.put(entryId, entry);
-        carIdIndex.computeIfAbsent(carId, k -> new CopyOnWriteArrayList<>()).add(entryId);
-        
-        return entry;
+        newRowsByCar.clear();
     }
 
     @Override
     public List<FuelEntry> findByCarId(Long carId) {
-        List<Long> entryIds = carIdIndex.get(carId);
-        if (entryIds == null || entryIds.isEmpty()) {
-            return new java.util.ArrayList<>();
-        }
-        
-        List<FuelEntry> entries = entryIds.stream()
-                .map(storage::get)
-                .filter(entry -> entry != null && carId.equals(entry.getCarId()))
-                .sorted(Comparator.comparing(FuelEntry::getOdometer))
-                .collect(Collectors.toList());
-        
-        List<Long> staleIds = entryIds.stream()
-                .filter(id -> storage.get(id) == null || !carId.equals(storage.get(id).getCarId()))
-                .collect(Collectors.toList());
-        
-        if (!staleIds.isEmpty()) {
-            entryIds.removeAll(staleIds);
-            if (entryIds.isEmpty()) {
-                carIdIndex.remove(carId);
-            }
-        }
-        
-        return entries;
+        CarIndex index = carIdIndex.get(carId);
+        if (index == null) {
+            return new ArrayList<>();
+        }
+
+        long[] entryIds;
+        synchronized (index) {
+            entryIds = Arrays.copyOf(index.entryIds, index.size);
+        }
+        return lookup(entryIds);
+    }
+
+    @Override
+    public List<FuelEntry> findByCarId(Long carId, int offset, int limit) {
+        CarIndex index = carIdIndex.get(carId);
+        if (index == null) {
+            return new ArrayList<>();
+        }
+
+        long[] entryIds;
+        synchronized (index) {
+            int end = (int) Math.min(index.size, (long) offset + limit);
+            entryIds = offset < end ? Arrays.copyOfRange(index.entryIds, offset, end) : new long[0];
+        }
+        return lookup(entryIds);
+    }
+
+    @Override
+    public List<FuelEntry> findByOdometerRange(Long carId, long fromOdometer, long toOdometer, int limit) {
+        CarIndex index = carIdIndex.get(carId);
+        if (index == null) {
+            return new ArrayList<>();
+        }
+
+        long[] entryIds;
+        synchronized (index) {
+            int start = index.lowerBound(fromOdometer);
+            int end = (int) Math.min(index.upperBound(toOdometer), (long) start + limit);
+            entryIds = start < end ? Arrays.copyOfRange(index.entryIds, start, end) : new long[0];
+        }
+        return lookup(entryIds);
+    }
+
+    @Override
+    public FuelAggregate getAggregateByOdometerRange(Long carId, long fromOdometer, long toOdometer) {
+        CarIndex index = carIdIndex.get(carId);
+        if (index == null) {
+            return FuelAggregate.EMPTY;
+        }
+
+        synchronized (index) {
+            return index.aggregate(index.lowerBound(fromOdometer), index.upperBound(toOdometer));
+        }
+    }
+
+    @Override
+    public FuelAggregate getAggregateByIndexRange(Long carId, int fromIndex, int toIndex) {
+        CarIndex index = carIdIndex.get(carId);
+        if (index == null) {
+            return FuelAggregate.EMPTY;
+        }
+        synchronized (index) {
+            return index.aggregate(Math.max(0, fromIndex), Math.min(index.size, toIndex));
+        }
     }
 
     @Override
     public Long getMaxOdometerByCarId(Long carId) {
-        List<Long> entryIds = carIdIndex.get(carId);
-        if (entryIds == null || entryIds.isEmpty()) {
-            return null;
+        FuelAggregate aggregate = getAggregateByCarId(carId);
+        return aggregate.isEmpty() ? null : aggregate.getMaxOdometer();
+    }
+
+    @Override
+    public FuelAggregate getAggregateByCarId(Long carId) {
+        CarIndex index = carIdIndex.get(carId);
+        return index == null ? FuelAggregate.EMPTY : index.aggregate;
+    }
+
+    @Override
+    public FuelAggregate getAggregateBetween(Long carId, LocalDate from, LocalDate to) {
+        CarIndex index = carIdIndex.get(carId);
+        if (index == null) {
+            return FuelAggregate.EMPTY;
         }
-        
-        Long maxOdometer = entryIds.stream()
-                .map(storage::get)
-                .filter(entry -> entry != null && carId.equals(entry.getCarId()))
-                .map(FuelEntry::getOdometer)
-                .max(Long::compareTo)
-                .orElse(null);
-        
-        List<Long> staleIds = entryIds.stream()
-                .filter(id -> storage.get(id) == null || !carId.equals(storage.get(id).getCarId()))
-                .collect(Collectors.toList());
-        
-        if (!staleIds.isEmpty()) {
-            entryIds.removeAll(staleIds);
-            if (entryIds.isEmpty()) {
-                carIdIndex.remove(carId);
-            }
+        synchronized (index) {
+            return index.rollups.between(from.toEpochDay(), to.toEpochDay());
         }
-        
-        return maxOdometer;
+    }
+
+    @Override
+    public List<FuelRollup> getRollups(Long carId, RollupGranularity granularity, LocalDate from, LocalDate to) {
+        CarIndex index = carIdIndex.get(carId);
+        if (index == null) {
+            return new ArrayList<>();
+        }
+        synchronized (index) {
+            return index.rollups.periods(granularity, from.toEpochDay(), to.toEpochDay());
+        }
+    }
+
+    @Override
+    public void forEachEntry(Consumer<FuelEntry> action) {
+        carIdIndex.forEachValue(index -> {
+            long[] entryIds;
+            synchronized (index) {
+                entryIds = Arrays.copyOf(index.entryIds, index.size);
+            }
+            for (long entryId : entryIds) {
+                FuelEntry entry = storage.get(entryId);
+                if (entry != null) {
+                    action.accept(entry);
+                }
+            }
+        });
     }
 
     @Override
@@ -118,5 +264,175 @@ public class FuelRepository implements FuelRepositoryInterface {
         carIdIndex.clear();
         idGenerator.set(0);
     }
-}
 
+    private List<FuelEntry> lookup(long[] entryIds) {
+        List<FuelEntry> entries = new ArrayList<>(entryIds.length);
+        for (long entryId : entryIds) {
+            FuelEntry entry = storage.get(entryId);
+            if (entry != null) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    private CarIndex indexFor(Long carId) {
+        return carIdIndex.computeIfAbsent(carId, k -> new CarIndex());
+    }
+
+    // Entry ids in odometer order, with their odometers and prefix sums alongside, and running totals
+    // for one car. Writers hold the instance monitor, so writes to different cars never contend; the aggregate is
+    // volatile so stats reads never lock.
+    private final class CarIndex {
+
+        private long[] entryIds = new long[4];
+        private long[] odometers = new long[4];
+        private int size;
+        private volatile FuelAggregate aggregate = FuelAggregate.EMPTY;
+        private final FuelRollups rollups = new FuelRollups();
+        private final FuelPrefixSums prefixSums = new FuelPrefixSums();
+
+        void add(FuelEntry entry) {
+            insert(entry);
+            aggregate = aggregate.plus(entry.getLiters(), entry.getPrice(), entry.getOdometer());
+            addToRollups(entry);
+        }
+
+        // Merges rows already sorted by odometer into the history from the back, so each row moves
+        // at most once; equal readings go after the ones already stored.
+        void addAll(List<FuelEntry> rows) {
+            int count = rows.size();
+            if (count == 0) {
+                return;
+            }
+            if (size + count > entryIds.length) {
+                int capacity = Math.max(entryIds.length * 2, size + count);
+                entryIds = Arrays.copyOf(entryIds, capacity);
+                odometers = Arrays.copyOf(odometers, capacity);
+            }
+            prefixSums.truncate(upperBound(rows.get(0).getOdometer()));
+            int existing = size - 1;
+            int next = count - 1;
+            for (int write = size + count - 1; next >= 0; write--) {
+                FuelEntry entry = rows.get(next);
+                if (existing >= 0 && odometers[existing] > entry.getOdometer()) {
+                    entryIds[write] = entryIds[existing];
+                    odometers[write] = odometers[existing];
+                    existing--;
+                } else {
+                    entryIds[write] = entry.getId();
+                    odometers[write] = entry.getOdometer();
+                    next--;
+                }
+            }
+            size += count;
+
+            FuelAggregate folded = aggregate;
+            for (FuelEntry entry : rows) {
+                folded = folded.plus(entry.getLiters(), entry.getPrice(), entry.getOdometer());
+                addToRollups(entry);
+            }
+            aggregate = folded;
+        }
+
+        void remove(long entryId) {
+            unlink(entryId);
+            refold();
+        }
+
+        void replace(FuelEntry entry) {
+            unlink(entry.getId());
+            insert(entry);
+            refold();
+        }
+
+        // Appends in odometer order land at the end; an earlier reading goes after any equal
+        // readings, so ties stay in write order.
+        private void insert(FuelEntry entry) {
+            if (size == entryIds.length) {
+                entryIds = Arrays.copyOf(entryIds, size * 2);
+                odometers = Arrays.copyOf(odometers, size * 2);
+            }
+            long odometer = entry.getOdometer();
+            int position = size;
+            if (size > 0 && odometer < odometers[size - 1]) {
+                position = upperBound(odometer);
+                System.arraycopy(entryIds, position, entryIds, position + 1, size - position);
+                System.arraycopy(odometers, position, odometers, position + 1, size - position);
+            }
+            entryIds[position] = entry.getId();
+            odometers[position] = odometer;
+            size++;
+            prefixSums.truncate(position);
+        }
+
+        FuelAggregate aggregate(int fromIndex, int toIndex) {
+            if (fromIndex >= toIndex) {
+                return FuelAggregate.EMPTY;
+            }
+            extendPrefixSums();
+            return prefixSums.aggregate(fromIndex, toIndex, odometers[fromIndex], odometers[toIndex - 1]);
+        }
+
+        // First position whose odometer is >= the given reading.
+        int lowerBound(long odometer) {
+            return odometer == Long.MIN_VALUE ? 0 : upperBound(odometer - 1);
+        }
+
+        // First position whose odometer is > the given reading.
+        int upperBound(long odometer) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (odometers[mid] <= odometer) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private void unlink(long entryId) {
+            for (int i = 0; i < size; i++) {
+                if (entryIds[i] == entryId) {
+                    System.arraycopy(entryIds, i + 1, entryIds, i, size - i - 1);
+                    System.arraycopy(odometers, i + 1, odometers, i, size - i - 1);
+                    size--;
+                    prefixSums.truncate(i);
+                    return;
+                }
+            }
+        }
+
+        void refold() {
+            FuelAggregate rebuilt = FuelAggregate.EMPTY;
+            rollups.clear();
+            for (int i = 0; i < size; i++) {
+                FuelEntry entry = storage.get(entryIds[i]);
+                if (entry != null) {
+                    rebuilt = rebuilt.plus(entry.getLiters(), entry.getPrice(), entry.getOdometer());
+                    addToRollups(entry);
+                }
+            }
+            aggregate = rebuilt;
+        }
+
+        // Appends the prefix sums of the rows after the last one still covered; writes only truncate
+        // them, and the rows they dropped are summed here on the next interval query.
+        private void extendPrefixSums() {
+            for (int i = prefixSums.size(); i < size; i++) {
+                FuelEntry entry = storage.get(entryIds[i]);
+                prefixSums.append(entry == null ? 0.0 : entry.getLiters(), entry == null ? 0.0 : entry.getPrice());
+            }
+        }
+
+        private void addToRollups(FuelEntry entry) {
+            if (entry.getCreatedAt() != null) {
+                rollups.add(entry.getCreatedAt().toLocalDate().toEpochDay(),
+                        entry.getLiters(), entry.getPrice(), entry.getOdometer());
+            }
+        }
+    }
+}
@@ -2,16 +2,75 @@ package com.carmanagement.repository;
 
 import com.carmanagement.model.FuelEntry;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface FuelRepositoryInterface {
     
-    FuelEntry save(FuelEntry entry);
+    default FuelEntry save(FuelEntry entry) {
+        return save(entry, WriteHook.none());
+    }
 
+    // The write methods taking a WriteHook pass it the entries they are about to store, under the
+    // target car's lock; the others pass none.
+    FuelEntry save(FuelEntry entry, WriteHook<FuelEntry> hook);
+
+    // Assigns an id and stores the entry only if its odometer is not below the car's highest reading.
+    // The check and the write are atomic per car; returns null when the entry was rejected.
+    default FuelEntry appendIfOdometerNotDecreasing(FuelEntry entry) {
+        return appendIfOdometerNotDecreasing(entry, WriteHook.none());
+    }
+
+    FuelEntry appendIfOdometerNotDecreasing(FuelEntry entry, WriteHook<FuelEntry> hook);
+
+    // Appends one car's entries in order under a single hold of that car's lock. An entry whose odometer
+    // is below the highest reading so far (earlier entries of the batch included) is skipped and keeps a
+    // null id. Returns the number of entries appended.
+    default int appendAllIfOdometerNotDecreasing(Long carId, List<FuelEntry> entries) {
+        return appendAllIfOdometerNotDecreasing(carId, entries, WriteHook.none());
+    }
+
+    // The hook is called once, with the accepted entries in order.
+    int appendAllIfOdometerNotDecreasing(Long carId, List<FuelEntry> entries, WriteHook<FuelEntry> hook);
+
+    // The car's entries in odometer order; each car's history is kept in that order as it is written.
     List<FuelEntry> findByCarId(Long carId);
 
+    // Up to limit entries of findByCarId starting at position offset, so long histories can be read in
+    // bounded chunks. An out-of-order write between two calls shifts the later positions by one.
+    List<FuelEntry> findByCarId(Long carId, int offset, int limit);
+
+    // Up to limit entries with fromOdometer <= odometer <= toOdometer, in odometer order; the range is
+    // located by binary search over the ordered history.
+    List<FuelEntry> findByOdometerRange(Long carId, long fromOdometer, long toOdometer, int limit);
+
+    // Totals of the entries with fromOdometer <= odometer <= toOdometer.
+    FuelAggregate getAggregateByOdometerRange(Long carId, long fromOdometer, long toOdometer);
+
+    // Totals of the entries at positions fromIndex..toIndex-1 of the odometer-ordered history;
+    // positions past the end are ignored.
+    FuelAggregate getAggregateByIndexRange(Long carId, int fromIndex, int toIndex);
+
+    // Stores entries that already carry ids, such as a snapshot or log tail being restored, with the
+    // same result as calling save() on each in list order. Each car's new rows are sorted by odometer
+    // and merged into its history in one pass, instead of one ordered insert per row.
+    void restoreAll(List<FuelEntry> entries);
+
     Long getMaxOdometerByCarId(Long carId);
 
+    FuelAggregate getAggregateByCarId(Long carId);
+
+    // Totals of the car's entries created on days from..to inclusive, answered from daily rollups.
+    FuelAggregate getAggregateBetween(Long carId, LocalDate from, LocalDate to);
+
+    // The car's day, week or month rollups overlapping from..to, oldest first.
+    List<FuelRollup> getRollups(Long carId, RollupGranularity granularity, LocalDate from, LocalDate to);
+
+    // Weakly consistent walk over every stored entry, one car at a time and each car's history in
+    // odometer order; only briefly locks one car at a time.
+    void forEachEntry(Consumer<FuelEntry> action);
+
     long count();
 
     void clear();
@@ -0,0 +1,31 @@
+package com.carmanagement.repository;
+
+import java.time.LocalDate;
+
+// Totals of the fuel entries created within one day, week or month.
+public final class FuelRollup {
+
+    private final LocalDate periodStart;
+    private final FuelAggregate aggregate;
+
+    public FuelRollup(LocalDate periodStart, FuelAggregate aggregate) {
+        this.periodStart = periodStart;
+        this.aggregate = aggregate;
+    }
+
+    public LocalDate getPeriodStart() {
+        return periodStart;
+    }
+
+    public FuelAggregate getAggregate() {
+        return aggregate;
+    }
+
+    @Override
+    public String toString() {
+        return "FuelRollup{" +
+                "periodStart=" + periodStart +
+                ", aggregate=" + aggregate +
+                '}';
+    }
+}
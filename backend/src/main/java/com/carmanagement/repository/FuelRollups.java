@@ -0,0 +1,168 @@
+package com.carmanagement.repository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// One car's fuel totals per day, week and month of BaseModel.createdAt, updated on every write.
+// Windowed queries read O(buckets) instead of O(entries). Buckets are kept in sorted primitive
+// arrays, one row per period, so they add no objects for the GC to trace; FuelAggregate instances
+// are only created for query results. Not thread-safe: the owning repository calls it under the
+// car's monitor.
+final class FuelRollups {
+
+    private final Buckets[] buckets = new Buckets[RollupGranularity.values().length];
+
+    FuelRollups() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new Buckets();
+        }
+    }
+
+    void add(long epochDay, double liters, double price, long odometer) {
+        for (RollupGranularity granularity : RollupGranularity.values()) {
+            buckets[granularity.ordinal()].add(granularity.periodStart(epochDay), liters, price, odometer);
+        }
+    }
+
+    void clear() {
+        for (Buckets periods : buckets) {
+            periods.clear();
+        }
+    }
+
+    // Exact totals for entries created on days fromDay..toDay inclusive, folded from the daily buckets.
+    FuelAggregate between(long fromDay, long toDay) {
+        if (fromDay > toDay) {
+            return FuelAggregate.EMPTY;
+        }
+        Buckets days = buckets[RollupGranularity.DAY.ordinal()];
+        int count = 0;
+        double liters = 0.0;
+        double cost = 0.0;
+        long minOdometer = Long.MAX_VALUE;
+        long maxOdometer = Long.MIN_VALUE;
+        double firstLiters = 0.0;
+        for (int i = days.lowerBound(fromDay); i < days.size && days.periodStarts[i] <= toDay; i++) {
+            count += days.counts[i];
+            liters += days.liters[i];
+            cost += days.cost[i];
+            // As in FuelAggregate.merge, a tie keeps the earlier bucket's first fill.
+            if (days.minOdometers[i] < minOdometer) {
+                minOdometer = days.minOdometers[i];
+                firstLiters = days.firstLiters[i];
+            }
+            maxOdometer = Math.max(maxOdometer, days.maxOdometers[i]);
+        }
+        if (count == 0) {
+            return FuelAggregate.EMPTY;
+        }
+        return FuelAggregate.ofInterval(count, liters, cost, minOdometer, maxOdometer, firstLiters);
+    }
+
+    // Whole periods overlapping fromDay..toDay, oldest first; periods without entries are skipped.
+    List<FuelRollup> periods(RollupGranularity granularity, long fromDay, long toDay) {
+        List<FuelRollup> result = new ArrayList<>();
+        if (fromDay > toDay) {
+            return result;
+        }
+        Buckets periods = buckets[granularity.ordinal()];
+        for (int i = periods.lowerBound(granularity.periodStart(fromDay));
+             i < periods.size && periods.periodStarts[i] <= toDay; i++) {
+            result.add(new FuelRollup(LocalDate.ofEpochDay(periods.periodStarts[i]), periods.aggregate(i)));
+        }
+        return result;
+    }
+
+    // Parallel columns ordered by period start. Entries mostly arrive in creation order, so a new
+    // period usually lands at the end.
+    private static final class Buckets {
+
+        private static final int INITIAL_CAPACITY = 4;
+
+        private long[] periodStarts = new long[INITIAL_CAPACITY];
+        private int[] counts = new int[INITIAL_CAPACITY];
+        private double[] liters = new double[INITIAL_CAPACITY];
+        private double[] cost = new double[INITIAL_CAPACITY];
+        private long[] minOdometers = new long[INITIAL_CAPACITY];
+        private long[] maxOdometers = new long[INITIAL_CAPACITY];
+        private double[] firstLiters = new double[INITIAL_CAPACITY];
+        private int size;
+
+        // Same fold as FuelAggregate.plus: the first fill is the one with the lowest odometer.
+        void add(long periodStart, double entryLiters, double price, long odometer) {
+            int i = size > 0 && periodStarts[size - 1] == periodStart ? size - 1 : lowerBound(periodStart);
+            if (i == size || periodStarts[i] != periodStart) {
+                insert(i, periodStart, odometer, entryLiters);
+            } else if (odometer < minOdometers[i]) {
+                minOdometers[i] = odometer;
+                firstLiters[i] = entryLiters;
+            }
+            counts[i]++;
+            liters[i] += entryLiters;
+            cost[i] += price;
+            maxOdometers[i] = Math.max(maxOdometers[i], odometer);
+        }
+
+        FuelAggregate aggregate(int i) {
+            return FuelAggregate.ofInterval(counts[i], liters[i], cost[i], minOdometers[i], maxOdometers[i],
+                    firstLiters[i]);
+        }
+
+        // First bucket whose period starts at or after the given day.
+        int lowerBound(long day) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (periodStarts[mid] < day) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        // An empty bucket at position i, with the entry's odometer as its first fill.
+        private void insert(int i, long periodStart, long odometer, double entryLiters) {
+            if (size == periodStarts.length) {
+                grow();
+            }
+            int tail = size - i;
+            if (tail > 0) {
+                System.arraycopy(periodStarts, i, periodStarts, i + 1, tail);
+                System.arraycopy(counts, i, counts, i + 1, tail);
+                System.arraycopy(liters, i, liters, i + 1, tail);
+                System.arraycopy(cost, i, cost, i + 1, tail);
+                System.arraycopy(minOdometers, i, minOdometers, i + 1, tail);
+                System.arraycopy(maxOdometers, i, maxOdometers, i + 1, tail);
+                System.arraycopy(firstLiters, i, firstLiters, i + 1, tail);
+            }
+            periodStarts[i] = periodStart;
+            counts[i] = 0;
+            liters[i] = 0.0;
+            cost[i] = 0.0;
+            minOdometers[i] = odometer;
+            maxOdometers[i] = odometer;
+            firstLiters[i] = entryLiters;
+            size++;
+        }
+
+        private void grow() {
+            int capacity = periodStarts.length * 2;
+            periodStarts = Arrays.copyOf(periodStarts, capacity);
+            counts = Arrays.copyOf(counts, capacity);
+            liters = Arrays.copyOf(liters, capacity);
+            cost = Arrays.copyOf(cost, capacity);
+            minOdometers = Arrays.copyOf(minOdometers, capacity);
+            maxOdometers = Arrays.copyOf(maxOdometers, capacity);
+            firstLiters = Arrays.copyOf(firstLiters, capacity);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.carmanagement.repository;
+
+import com.carmanagement.exception.InternalServerException;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Fixed-size fuel entry records packed into direct ByteBuffer slabs outside the Java heap.
+// A record is addressed by an int: the high bits pick the slab, the low bits the slot in it.
+// Appends from different cars only meet on one atomic increment; slabs are allocated on demand.
+//
+// Record layout (native byte order): id, odometer, createdAt (long), liters, price, and the running
+// liters and cost through the record in its car's history (double)
+public final class FuelSlabAllocator {
+
+    static final int RECORD_BYTES = 56;
+    private static final int ID = 0;
+    private static final int ODOMETER = 8;
+    private static final int CREATED_AT = 16;
+    private static final int LITERS = 24;
+    private static final int PRICE = 32;
+    private static final int LITERS_THROUGH = 40;
+    private static final int COST_THROUGH = 48;
+    private static final int DEFAULT_SLAB_SHIFT = 18;
+
+    private final int slabShift;
+    private final int slotMask;
+    private final AtomicInteger nextRecord = new AtomicInteger(0);
+    private volatile ByteBuffer[] slabs = new ByteBuffer[0];
+    private int[] freeRecords = new int[0];
+    private volatile int freeCount;
+
+    public FuelSlabAllocator() {
+        this(DEFAULT_SLAB_SHIFT);
+    }
+
+    // Each slab holds 2^slabShift records; the default is 256K records, 14 MiB per slab.
+    public FuelSlabAllocator(int slabShift) {
+        this.slabShift = slabShift;
+        this.slotMask = (1 << slabShift) - 1;
+    }
+
+    int allocate() {
+        if (freeCount > 0) {
+            synchronized (this) {
+                if (freeCount > 0) {
+                    int record = freeRecords[freeCount - 1];
+                    freeCount--;
+                    return record;
+                }
+            }
+        }
+        int record = nextRecord.getAndIncrement();
+        if (record < 0) {
+            throw new InternalServerException("Off-heap fuel storage is full");
+        }
+        int slab = record >>> slabShift;
+        if (slab >= slabs.length) {
+            addSlabs(slab);
+        }
+        return record;
+    }
+
+    // Freed records are reused by later appends; slabs themselves are only released by clear().
+    synchronized void free(int record) {
+        if (freeCount == freeRecords.length) {
+            freeRecords = Arrays.copyOf(freeRecords, Math.max(16, freeRecords.length * 2));
+        }
+        freeRecords[freeCount] = record;
+        freeCount++;
+    }
+
+    void write(int record, long id, long odometer, long createdAt, double liters, double price) {
+        ByteBuffer slab = slabs[record >>> slabShift];
+        int offset = (record & slotMask) * RECORD_BYTES;
+        slab.putLong(offset + ID, id);
+        slab.putLong(offset + ODOMETER, odometer);
+        slab.putLong(offset + CREATED_AT, createdAt);
+        slab.putDouble(offset + LITERS, liters);
+        slab.putDouble(offset + PRICE, price);
+    }
+
+    void writeRunningTotals(int record, double liters, double cost) {
+        ByteBuffer slab = slabs[record >>> slabShift];
+        int offset = (record & slotMask) * RECORD_BYTES;
+        slab.putDouble(offset + LITERS_THROUGH, liters);
+        slab.putDouble(offset + COST_THROUGH, cost);
+    }
+
+    long id(int record) {
+        return slabs[record >>> slabShift].getLong((record & slotMask) * RECORD_BYTES + ID);
+    }
+
+    long odometer(int record) {
+        return slabs[record >>> slabShift].getLong((record & slotMask) * RECORD_BYTES + ODOMETER);
+    }
+
+    long createdAt(int record) {
+        return slabs[record >>> slabShift].getLong((record & slotMask) * RECORD_BYTES + CREATED_AT);
+    }
+
+    double liters(int record) {
+        return slabs[record >>> slabShift].getDouble((record & slotMask) * RECORD_BYTES + LITERS);
+    }
+
+    double price(int record) {
+        return slabs[record >>> slabShift].getDouble((record & slotMask) * RECORD_BYTES + PRICE);
+    }
+
+    double litersThrough(int record) {
+        return slabs[record >>> slabShift].getDouble((record & slotMask) * RECORD_BYTES + LITERS_THROUGH);
+    }
+
+    double costThrough(int record) {
+        return slabs[record >>> slabShift].getDouble((record & slotMask) * RECORD_BYTES + COST_THROUGH);
+    }
+
+    // Drops every slab; the direct memory is returned once the buffers are collected.
+    // Callers must make sure no record handed out before is used afterwards.
+    synchronized void clear() {
+        slabs = new ByteBuffer[0];
+        nextRecord.set(0);
+        freeRecords = new int[0];
+        freeCount = 0;
+    }
+
+    public synchronized Map<String, Object> getStats() {
+        long slabBytes = (long) RECORD_BYTES << slabShift;
+        long allocated = Math.min(nextRecord.get(), (long) slabs.length << slabShift);
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("slabs", slabs.length);
+        stats.put("slabBytes", slabBytes);
+        stats.put("reservedBytes", slabs.length * slabBytes);
+        stats.put("liveRecords", allocated - freeCount);
+        stats.put("freeRecords", freeCount);
+        return stats;
+    }
+
+    // Publishes a new slab array so readers holding a record number always find its slab;
+    // the writer that allocated the record is the one that waits here before touching it.
+    private synchronized void addSlabs(int slab) {
+        ByteBuffer[] current = slabs;
+        if (slab < current.length) {
+            return;
+        }
+        ByteBuffer[] grown = Arrays.copyOf(current, slab + 1);
+        for (int i = current.length; i <= slab; i++) {
+            grown[i] = ByteBuffer.allocateDirect(RECORD_BYTES << slabShift).order(ByteOrder.nativeOrder());
+        }
+        slabs = grown;
+    }
+}
@@ -0,0 +1,113 @@
+package com.carmanagement.repository;
+
+import java.util.Arrays;
+
+// Parallel primitive arrays on the Java heap.
+final class HeapFuelColumns extends FuelColumns {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private long[] odometers = new long[INITIAL_CAPACITY];
+    private long[] createdAt = new long[INITIAL_CAPACITY];
+    private double[] liters = new double[INITIAL_CAPACITY];
+    private double[] prices = new double[INITIAL_CAPACITY];
+    private double[] litersThrough = new double[INITIAL_CAPACITY];
+    private double[] costThrough = new double[INITIAL_CAPACITY];
+    private int size;
+
+    @Override
+    int size() {
+        return size;
+    }
+
+    @Override
+    long id(int index) {
+        return ids[index];
+    }
+
+    @Override
+    long odometer(int index) {
+        return odometers[index];
+    }
+
+    @Override
+    long createdAt(int index) {
+        return createdAt[index];
+    }
+
+    @Override
+    double liters(int index) {
+        return liters[index];
+    }
+
+    @Override
+    double price(int index) {
+        return prices[index];
+    }
+
+    @Override
+    double litersThrough(int index) {
+        return litersThrough[index];
+    }
+
+    @Override
+    double costThrough(int index) {
+        return costThrough[index];
+    }
+
+    @Override
+    void setRunningTotals(int index, double liters, double cost) {
+        litersThrough[index] = liters;
+        costThrough[index] = cost;
+    }
+
+    // The running totals are not shifted along: every row from index on is summed again anyway.
+    @Override
+    void insertRow(int index, long id, long odometer, long createdAt, double liters, double price) {
+        if (size == ids.length) {
+            grow();
+        }
+        int tail = size - index;
+        if (tail > 0) {
+            System.arraycopy(ids, index, ids, index + 1, tail);
+            System.arraycopy(odometers, index, odometers, index + 1, tail);
+            System.arraycopy(this.createdAt, index, this.createdAt, index + 1, tail);
+            System.arraycopy(this.liters, index, this.liters, index + 1, tail);
+            System.arraycopy(prices, index, prices, index + 1, tail);
+        }
+        setRow(index, id, odometer, createdAt, liters, price);
+        size++;
+    }
+
+    @Override
+    void setRow(int index, long id, long odometer, long createdAt, double liters, double price) {
+        this.ids[index] = id;
+        this.odometers[index] = odometer;
+        this.createdAt[index] = createdAt;
+        this.liters[index] = liters;
+        this.prices[index] = price;
+    }
+
+    @Override
+    void removeRow(int index) {
+        int tail = size - index - 1;
+        System.arraycopy(ids, index + 1, ids, index, tail);
+        System.arraycopy(odometers, index + 1, odometers, index, tail);
+        System.arraycopy(createdAt, index + 1, createdAt, index, tail);
+        System.arraycopy(liters, index + 1, liters, index, tail);
+        System.arraycopy(prices, index + 1, prices, index, tail);
+        size--;
+    }
+
+    private void grow() {
+        int capacity = ids.length + (ids.length >> 1);
+        ids = Arrays.copyOf(ids, capacity);
+        odometers = Arrays.copyOf(odometers, capacity);
+        createdAt = Arrays.copyOf(createdAt, capacity);
+        liters = Arrays.copyOf(liters, capacity);
+        prices = Arrays.copyOf(prices, capacity);
+        litersThrough = Arrays.copyOf(litersThrough, capacity);
+        costThrough = Arrays.copyOf(costThrough, capacity);
+    }
+}
@@ -0,0 +1,87 @@
+package com.carmanagement.repository;
+
+import java.util.Arrays;
+
+// Keeps only record numbers on the heap (4 bytes per entry, no object references for the GC to trace);
+// the entry fields and their running totals live in the shared FuelSlabAllocator.
+final class OffHeapFuelColumns extends FuelColumns {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private final FuelSlabAllocator slabs;
+    private int[] records = new int[INITIAL_CAPACITY];
+    private int size;
+
+    OffHeapFuelColumns(FuelSlabAllocator slabs) {
+        this.slabs = slabs;
+    }
+
+    @Override
+    int size() {
+        return size;
+    }
+
+    @Override
+    long id(int index) {
+        return slabs.id(records[index]);
+    }
+
+    @Override
+    long odometer(int index) {
+        return slabs.odometer(records[index]);
+    }
+
+    @Override
+    long createdAt(int index) {
+        return slabs.createdAt(records[index]);
+    }
+
+    @Override
+    double liters(int index) {
+        return slabs.liters(records[index]);
+    }
+
+    @Override
+    double price(int index) {
+        return slabs.price(records[index]);
+    }
+
+    @Override
+    double litersThrough(int index) {
+        return slabs.litersThrough(records[index]);
+    }
+
+    @Override
+    double costThrough(int index) {
+        return slabs.costThrough(records[index]);
+    }
+
+    @Override
+    void setRunningTotals(int index, double liters, double cost) {
+        slabs.writeRunningTotals(records[index], liters, cost);
+    }
+
+    @Override
+    void insertRow(int index, long id, long odometer, long createdAt, double liters, double price) {
+        if (size == records.length) {
+            records = Arrays.copyOf(records, records.length + (records.length >> 1));
+        }
+        int record = slabs.allocate();
+        slabs.write(record, id, odometer, createdAt, liters, price);
+        System.arraycopy(records, index, records, index + 1, size - index);
+        records[index] = record;
+        size++;
+    }
+
+    @Override
+    void setRow(int index, long id, long odometer, long createdAt, double liters, double price) {
+        slabs.write(records[index], id, odometer, createdAt, liters, price);
+    }
+
+    @Override
+    void removeRow(int index) {
+        slabs.free(records[index]);
+        System.arraycopy(records, index + 1, records, index, size - index - 1);
+        size--;
+    }
+}
@@ -0,0 +1,31 @@
+package com.carmanagement.repository;
+
+import java.util.Map;
+
+// Columnar storage whose entry fields live in direct-memory slabs, so the heap only holds
+// a per-car int[] of record numbers plus the running aggregates and the rollups, which are
+// primitive rows per day, week and month rather than per entry. Old-gen size and GC work
+// stay flat as the fuel table grows; size the JVM with -XX:MaxDirectMemorySize accordingly.
+public class OffHeapFuelRepository extends ColumnarFuelRepository {
+
+    private final FuelSlabAllocator slabs;
+
+    public OffHeapFuelRepository() {
+        this(new FuelSlabAllocator());
+    }
+
+    public OffHeapFuelRepository(FuelSlabAllocator slabs) {
+        super(() -> new OffHeapFuelColumns(slabs));
+        this.slabs = slabs;
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        slabs.clear();
+    }
+
+    public Map<String, Object> getStorageStats() {
+        return slabs.getStats();
+    }
+}
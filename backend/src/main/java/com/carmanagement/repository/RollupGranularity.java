@@ -0,0 +1,32 @@
+package com.carmanagement.repository;
+
+import java.time.LocalDate;
+
+// Period length of a fuel rollup bucket. Weeks start on Monday (ISO-8601).
+public enum RollupGranularity {
+
+    DAY,
+    WEEK,
+    MONTH;
+
+    // Epoch day of the first day of the period containing the given epoch day.
+    public long periodStart(long epochDay) {
+        switch (this) {
+            case DAY:
+                return epochDay;
+            case WEEK:
+                // 1970-01-01 was a Thursday, three days after a Monday.
+                return epochDay - Math.floorMod(epochDay + 3, 7);
+            default:
+                return LocalDate.ofEpochDay(epochDay).withDayOfMonth(1).toEpochDay();
+        }
+    }
+
+    public static RollupGranularity fromString(String value) {
+        try {
+            return RollupGranularity.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown granularity: " + value + " (expected day, week or month)");
+        }
+    }
+}
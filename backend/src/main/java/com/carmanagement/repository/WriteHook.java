@@ -0,0 +1,16 @@
+package com.carmanagement.repository;
+
+import java.util.List;
+
+// Called by a repository write once it has decided what to store, with ids assigned, and before any
+// of it is visible. It runs under the lock that orders writes to the same car (or car id), so a hook
+// sees those writes in the order they are applied; if it throws, nothing is stored.
+@FunctionalInterface
+public interface WriteHook<T> {
+
+    void beforeApply(List<T> records);
+
+    static <T> WriteHook<T> none() {
+        return records -> { };
+    }
+}
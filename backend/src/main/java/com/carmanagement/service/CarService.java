@@ -1,13 +1,20 @@
 package com.carmanagement.service;
 
 import com.carmanagement.dto.request.CreateCarRequest;
+import com.carmanagement.dto.response.CarBatchItemResponse;
+import com.carmanagement.dto.response.CarBatchResponse;
+import com.carmanagement.dto.response.CarPageResponse;
 import com.carmanagement.dto.response.CarResponse;
 import com.carmanagement.exception.ValidationException;
 import com.carmanagement.model.Car;
-import com.carmanagement.repository.CarRepository;
+import com.carmanagement.repository.CarQuery;
+import com.carmanagement.repository.CarRepositoryInterface;
+import com.carmanagement.util.PageCursor;
 
 import java.time.Year;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -15,9 +22,9 @@ import java.util.stream.Collectors;
 
 public class CarService implements CarServiceInterface {
     
-    private final CarRepository carRepository;
+    private final CarRepositoryInterface carRepository;
 
-    public CarService(CarRepository carRepository) {
+    public CarService(CarRepositoryInterface carRepository) {
         this.carRepository = carRepository;
     }
 
@@ -35,6 +42,34 @@ public class CarService implements CarServiceInterface {
         return CarResponse.fromModel(savedCar);
     }
 
+    @Override
+    public CarBatchResponse createCars(List<CreateCarRequest> requests) {
+        CarBatchItemResponse[] results = new CarBatchItemResponse[requests.size()];
+        List<Car> cars = new ArrayList<>(requests.size());
+        List<Integer> carIndexes = new ArrayList<>(requests.size());
+        
+        for (int i = 0; i < requests.size(); i++) {
+            CreateCarRequest request = requests.get(i);
+            Map<String, String> errors = fieldErrors(request);
+            if (errors.isEmpty()) {
+                cars.add(new Car(request.getBrand().trim(), request.getModel().trim(), request.getYear()));
+                carIndexes.add(i);
+            } else {
+                results[i] = new CarBatchItemResponse(i, null, errors);
+            }
+        }
+        
+        if (!cars.isEmpty()) {
+            carRepository.saveAll(cars);
+        }
+        for (int i = 0; i < cars.size(); i++) {
+            int index = carIndexes.get(i);
+            results[index] = new CarBatchItemResponse(index, CarResponse.fromModel(cars.get(i)), null);
+        }
+        
+        return new CarBatchResponse(cars.size(), requests.size() - cars.size(), Arrays.asList(results));
+    }
+
     @Override
     public List<CarResponse> getAllCars() {
         return carRepository.findAll().stream()
@@ -42,13 +77,44 @@ public class CarService implements CarServiceInterface {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public CarPageResponse getCarsPage(long afterId, int limit) {
+        return searchCars(CarQuery.ALL, afterId, limit);
+    }
+
+    @Override
+    public CarPageResponse searchCars(CarQuery query, long afterId, int limit) {
+        // One extra row tells whether another page follows without a separate count.
+        List<Car> cars = carRepository.findMatching(query, afterId, limit + 1);
+        String nextCursor = null;
+        if (cars.size() > limit) {
+            cars = cars.subList(0, limit);
+            nextCursor = PageCursor.encode(cars.get(limit - 1).getId());
+        }
+        List<CarResponse> page = cars.stream()
+                .map(CarResponse::fromModel)
+                .collect(Collectors.toList());
+        return new CarPageResponse(page, nextCursor);
+    }
+
     @Override
     public boolean existsById(Long id) {
         return carRepository.existsById(id);
     }
 
     private void validateCreateCarRequest(CreateCarRequest request) {
-        Map<String, String> errors = new HashMap<>();
+        Map<String, String> errors = fieldErrors(request);
+        if (!errors.isEmpty()) {
+            throw new ValidationException(errors);
+        }
+    }
+
+    private Map<String, String> fieldErrors(CreateCarRequest request) {
+        Map<String, String> errors = new LinkedHashMap<>();
+        if (request == null) {
+            errors.put("car", "Car details are required");
+            return errors;
+        }
         
         if (request.getBrand() == null || request.getBrand().trim().isEmpty()) {
             errors.put("brand", "Brand is required");
@@ -69,9 +135,7 @@ public class CarService implements CarServiceInterface {
             }
         }
         
-        if (!errors.isEmpty()) {
-            throw new ValidationException(errors);
-        }
+        return errors;
     }
 }
 
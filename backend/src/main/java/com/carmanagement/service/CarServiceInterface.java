@@ -1,16 +1,28 @@
 package com.carmanagement.service;
 
 import com.carmanagement.dto.request.CreateCarRequest;
+import com.carmanagement.dto.response.CarBatchResponse;
+import com.carmanagement.dto.response.CarPageResponse;
 import com.carmanagement.dto.response.CarResponse;
 
+import com.carmanagement.repository.CarQuery;
+
 import java.util.List;
 
 public interface CarServiceInterface {
     
     CarResponse createCar(CreateCarRequest request);
 
+    // Validates every item first, then creates all valid cars in one repository call; invalid items
+    // are reported with their field errors and do not stop the others.
+    CarBatchResponse createCars(List<CreateCarRequest> requests);
+
     List<CarResponse> getAllCars();
 
+    CarPageResponse getCarsPage(long afterId, int limit);
+
+    CarPageResponse searchCars(CarQuery query, long afterId, int limit);
+
     boolean existsById(Long id);
 }
 
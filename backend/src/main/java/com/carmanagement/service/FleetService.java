@@ -0,0 +1,224 @@
+package com.carmanagement.service;
+
+import com.carmanagement.dto.response.BrandFuelStatsResponse;
+import com.carmanagement.dto.response.FleetFuelStatsResponse;
+import com.carmanagement.exception.ValidationException;
+import com.carmanagement.model.Car;
+import com.carmanagement.repository.CarQuery;
+import com.carmanagement.repository.CarRepositoryInterface;
+import com.carmanagement.repository.FuelAggregate;
+import com.carmanagement.repository.FuelRepositoryInterface;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+
+// Fleet-wide fuel totals. The per-car aggregates are folded by RecursiveTasks on a dedicated
+// ForkJoinPool, so a large fleet neither ties up a request thread for long nor competes with
+// the common pool. Each car costs one aggregate lookup (or a walk over its daily rollups for a window).
+public class FleetService implements FleetServiceInterface, AutoCloseable {
+
+    private static final double CONSUMPTION_MULTIPLIER = 100.0;
+    private static final double ROUNDING_PRECISION = 100.0;
+    private static final int MIN_LEAF_SIZE = 256;
+    private static final int TASKS_PER_THREAD = 8;
+
+    private final CarRepositoryInterface carRepository;
+    private final FuelRepositoryInterface fuelRepository;
+    private final ForkJoinPool pool;
+
+    public FleetService(CarRepositoryInterface carRepository, FuelRepositoryInterface fuelRepository) {
+        this(carRepository, fuelRepository, Runtime.getRuntime().availableProcessors());
+    }
+
+    public FleetService(CarRepositoryInterface carRepository, FuelRepositoryInterface fuelRepository,
+                        int parallelism) {
+        this.carRepository = carRepository;
+        this.fuelRepository = fuelRepository;
+        this.pool = new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("fleet-stats-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+    }
+
+    @Override
+    public FleetFuelStatsResponse getFleetFuelStats(LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            Map<String, String> errors = new HashMap<>();
+            errors.put("from", "From date (" + from + ") must not be after to date (" + to + ")");
+            throw new ValidationException(errors);
+        }
+
+        List<Car> cars = carRepository.findAll();
+        int leafSize = Math.max(MIN_LEAF_SIZE, cars.size() / (pool.getParallelism() * TASKS_PER_THREAD));
+        Window window = new Window(from, to);
+        Partial result = pool.invoke(new FleetTask(cars, 0, cars.size(), leafSize, window));
+
+        // Leaves group by the exact brand string; spellings are merged here, over a handful of brands.
+        Map<String, Totals> brandTotals = new TreeMap<>();
+        Map<String, String> brandNames = new HashMap<>();
+        for (Map.Entry<String, Totals> entry : result.byBrand.entrySet()) {
+            String key = CarQuery.normalize(entry.getKey());
+            brandTotals.computeIfAbsent(key, k -> new Totals()).merge(entry.getValue());
+            brandNames.merge(key, entry.getKey().trim(), (a, b) -> a.compareTo(b) <= 0 ? a : b);
+        }
+
+        List<BrandFuelStatsResponse> brands = new ArrayList<>();
+        for (Map.Entry<String, Totals> entry : brandTotals.entrySet()) {
+            Totals totals = entry.getValue();
+            brands.add(new BrandFuelStatsResponse(brandNames.get(entry.getKey()), totals.cars,
+                    round(totals.liters), round(totals.cost), round(totals.averageConsumption()),
+                    totals.entryCount));
+        }
+
+        Totals fleet = result.fleet;
+        return new FleetFuelStatsResponse(
+            from == null ? null : from.toString(),
+            to == null ? null : to.toString(),
+            fleet.cars,
+            fleet.carsWithEntries,
+            round(fleet.liters),
+            round(fleet.cost),
+            round(fleet.averageConsumption()),
+            fleet.entryCount,
+            brands
+        );
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    private static double round(double value) {
+        return Math.round(value * ROUNDING_PRECISION) / ROUNDING_PRECISION;
+    }
+
+    // The optional date window; without one the all-time aggregate is read directly.
+    private final class Window {
+
+        private final boolean bounded;
+        private final LocalDate from;
+        private final LocalDate to;
+
+        Window(LocalDate from, LocalDate to) {
+            this.bounded = from != null || to != null;
+            this.from = from == null ? LocalDate.MIN : from;
+            this.to = to == null ? LocalDate.MAX : to;
+        }
+
+        FuelAggregate aggregateFor(Long carId) {
+            return bounded
+                    ? fuelRepository.getAggregateBetween(carId, from, to)
+                    : fuelRepository.getAggregateByCarId(carId);
+        }
+    }
+
+    private static final class FleetTask extends RecursiveTask<Partial> {
+
+        private final List<Car> cars;
+        private final int start;
+        private final int end;
+        private final int leafSize;
+        private final Window window;
+
+        FleetTask(List<Car> cars, int start, int end, int leafSize, Window window) {
+            this.cars = cars;
+            this.start = start;
+            this.end = end;
+            this.leafSize = leafSize;
+            this.window = window;
+        }
+
+        @Override
+        protected Partial compute() {
+            if (end - start <= leafSize) {
+                Partial partial = new Partial();
+                for (int i = start; i < end; i++) {
+                    Car car = cars.get(i);
+                    partial.add(car.getBrand(), window.aggregateFor(car.getId()));
+                }
+                return partial;
+            }
+
+            int middle = (start + end) >>> 1;
+            FleetTask left = new FleetTask(cars, start, middle, leafSize, window);
+            FleetTask right = new FleetTask(cars, middle, end, leafSize, window);
+            left.fork();
+            Partial rightResult = right.compute();
+            return left.join().merge(rightResult);
+        }
+    }
+
+    private static final class Partial {
+
+        private final Totals fleet = new Totals();
+        private final Map<String, Totals> byBrand = new HashMap<>();
+
+        void add(String brand, FuelAggregate aggregate) {
+            fleet.add(aggregate);
+            byBrand.computeIfAbsent(brand == null ? "" : brand, k -> new Totals()).add(aggregate);
+        }
+
+        Partial merge(Partial other) {
+            fleet.merge(other.fleet);
+            for (Map.Entry<String, Totals> entry : other.byBrand.entrySet()) {
+                byBrand.computeIfAbsent(entry.getKey(), k -> new Totals()).merge(entry.getValue());
+            }
+            return this;
+        }
+    }
+
+    // Average consumption is distance-weighted: liters burned over distance driven, summed per car,
+    // so a car's first fill (which has no distance before it) is left out as in the per-car stats.
+    private static final class Totals {
+
+        private int cars;
+        private int carsWithEntries;
+        private long entryCount;
+        private double liters;
+        private double cost;
+        private double consumedLiters;
+        private long distance;
+
+        void add(FuelAggregate aggregate) {
+            cars++;
+            if (aggregate.isEmpty()) {
+                return;
+            }
+            carsWithEntries++;
+            entryCount += aggregate.getEntryCount();
+            liters += aggregate.getTotalLiters();
+            cost += aggregate.getTotalCost();
+            if (aggregate.getEntryCount() >= 2 && aggregate.getDistance() > 0) {
+                consumedLiters += aggregate.getLitersExcludingFirst();
+                distance += aggregate.getDistance();
+            }
+        }
+
+        void merge(Totals other) {
+            cars += other.cars;
+            carsWithEntries += other.carsWithEntries;
+            entryCount += other.entryCount;
+            liters += other.liters;
+            cost += other.cost;
+            consumedLiters += other.consumedLiters;
+            distance += other.distance;
+        }
+
+        double averageConsumption() {
+            return distance > 0 ? consumedLiters / distance * CONSUMPTION_MULTIPLIER : 0.0;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.carmanagement.service;
+
+import com.carmanagement.dto.response.FleetFuelStatsResponse;
+
+import java.time.LocalDate;
+
+public interface FleetServiceInterface {
+
+    // Fuel totals across every car, optionally restricted to entries created on days from..to.
+    FleetFuelStatsResponse getFleetFuelStats(LocalDate from, LocalDate to);
+}
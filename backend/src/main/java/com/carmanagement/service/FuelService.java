@@ -1,15 +1,33 @@
 package com.carmanagement.service;
 
 import com.carmanagement.dto.request.AddFuelRequest;
+import com.carmanagement.dto.request.FuelImportRecord;
+import com.carmanagement.dto.response.FuelEntryRangeResponse;
 import com.carmanagement.dto.response.FuelEntryResponse;
+import com.carmanagement.dto.response.FuelImportErrorResponse;
+import com.carmanagement.dto.response.FuelImportResponse;
+import com.carmanagement.dto.response.FuelRangeStatsResponse;
+import com.carmanagement.dto.response.FuelBucketResponse;
 import com.carmanagement.dto.response.FuelStatsResponse;
+import com.carmanagement.dto.response.FuelWindowStatsResponse;
 import com.carmanagement.exception.NotFoundException;
 import com.carmanagement.exception.ValidationException;
 import com.carmanagement.model.FuelEntry;
-import com.carmanagement.repository.CarRepository;
-import com.carmanagement.repository.FuelRepository;
+import com.carmanagement.repository.CarRepositoryInterface;
+import com.carmanagement.repository.FuelAggregate;
+import com.carmanagement.repository.FuelRepositoryInterface;
+import com.carmanagement.repository.FuelRollup;
+import com.carmanagement.repository.RollupGranularity;
+import com.carmanagement.util.FuelExportFormat;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -17,11 +35,14 @@ public class FuelService implements FuelServiceInterface {
     
     private static final double CONSUMPTION_MULTIPLIER = 100.0;
     private static final double ROUNDING_PRECISION = 100.0;
+    private static final int IMPORT_CHUNK_SIZE = 8192;
+    private static final int MAX_REPORTED_IMPORT_ERRORS = 1000;
+    private static final int EXPORT_CHUNK_SIZE = 1024;
     
-    private final FuelRepository fuelRepository;
-    private final CarRepository carRepository;
+    private final FuelRepositoryInterface fuelRepository;
+    private final CarRepositoryInterface carRepository;
 
-    public FuelService(FuelRepository fuelRepository, CarRepository carRepository) {
+    public FuelService(FuelRepositoryInterface fuelRepository, CarRepositoryInterface carRepository) {
         this.fuelRepository = fuelRepository;
         this.carRepository = carRepository;
     }
@@ -34,14 +55,6 @@ public class FuelService implements FuelServiceInterface {
         
         validateAddFuelRequest(request);
         
-        Long lastOdometer = fuelRepository.getMaxOdometerByCarId(carId);
-        if (lastOdometer != null && request.getOdometer() < lastOdometer) {
-            Map<String, String> errors = new HashMap<>();
-            errors.put("odometer", "Odometer reading (" + request.getOdometer() + 
-                    ") must be greater than or equal to the last reading (" + lastOdometer + ")");
-            throw new ValidationException(errors);
-        }
-        
         FuelEntry entry = new FuelEntry(
             carId,
             request.getLiters(),
@@ -49,57 +62,271 @@ public class FuelService implements FuelServiceInterface {
             request.getOdometer()
         );
         
-        FuelEntry savedEntry = fuelRepository.save(entry);
+        FuelEntry savedEntry = fuelRepository.appendIfOdometerNotDecreasing(entry);
+        if (savedEntry == null) {
+            Long lastOdometer = fuelRepository.getMaxOdometerByCarId(carId);
+            Map<String, String> errors = new HashMap<>();
+            errors.put("odometer", "Odometer reading (" + request.getOdometer() + 
+                    ") must be greater than or equal to the last reading (" + lastOdometer + ")");
+            throw new ValidationException(errors);
+        }
+        
         return FuelEntryResponse.fromModel(savedEntry);
     }
 
+    // Records are applied in chunks: each chunk is grouped by car, every car is checked once, and each
+    // car's entries go in with one repository call under one lock. Memory stays bounded by the chunk.
+    @Override
+    public FuelImportResponse importFuelEntries(Iterator<FuelImportRecord> records) {
+        ImportResult result = new ImportResult();
+        Map<Long, List<FuelImportRecord>> chunk = new LinkedHashMap<>();
+        List<FuelImportErrorResponse> chunkErrors = new ArrayList<>();
+        int chunkSize = 0;
+        
+        while (records.hasNext()) {
+            FuelImportRecord record = records.next();
+            result.received++;
+            String error = importRecordError(record);
+            if (error != null) {
+                chunkErrors.add(new FuelImportErrorResponse(record.getLine(), record.getCarId(), error));
+            } else {
+                chunk.computeIfAbsent(record.getCarId(), k -> new ArrayList<>()).add(record);
+            }
+            if (++chunkSize == IMPORT_CHUNK_SIZE) {
+                applyImportChunk(chunk, chunkErrors, result);
+                chunkSize = 0;
+            }
+        }
+        applyImportChunk(chunk, chunkErrors, result);
+        
+        return new FuelImportResponse(result.received, result.imported, result.rejected, result.errors,
+                result.rejected > result.errors.size());
+    }
+
+    private void applyImportChunk(Map<Long, List<FuelImportRecord>> chunk, List<FuelImportErrorResponse> chunkErrors,
+                                  ImportResult result) {
+        for (Map.Entry<Long, List<FuelImportRecord>> group : chunk.entrySet()) {
+            Long carId = group.getKey();
+            List<FuelImportRecord> carRecords = group.getValue();
+            if (!carRepository.existsById(carId)) {
+                String message = new NotFoundException("Car", carId).getMessage();
+                for (FuelImportRecord record : carRecords) {
+                    chunkErrors.add(new FuelImportErrorResponse(record.getLine(), carId, message));
+                }
+                continue;
+            }
+            
+            List<FuelEntry> entries = new ArrayList<>(carRecords.size());
+            for (FuelImportRecord record : carRecords) {
+                AddFuelRequest fuel = record.getFuel();
+                entries.add(new FuelEntry(carId, fuel.getLiters(), fuel.getPrice(), fuel.getOdometer()));
+            }
+            result.imported += fuelRepository.appendAllIfOdometerNotDecreasing(carId, entries);
+            for (int i = 0; i < entries.size(); i++) {
+                if (entries.get(i).getId() == null) {
+                    chunkErrors.add(new FuelImportErrorResponse(carRecords.get(i).getLine(), carId,
+                            "Odometer reading (" + entries.get(i).getOdometer()
+                                    + ") must be greater than or equal to the last reading"));
+                }
+            }
+        }
+        
+        result.rejected += chunkErrors.size();
+        chunkErrors.sort(Comparator.comparing(FuelImportErrorResponse::getLine));
+        for (FuelImportErrorResponse error : chunkErrors) {
+            if (result.errors.size() == MAX_REPORTED_IMPORT_ERRORS) {
+                break;
+            }
+            result.errors.add(error);
+        }
+        chunk.clear();
+        chunkErrors.clear();
+    }
+
+    private String importRecordError(FuelImportRecord record) {
+        if (record.getParseError() != null) {
+            return record.getParseError();
+        }
+        if (record.getCarId() == null) {
+            return "carId is required";
+        }
+        if (record.getCarId() <= 0) {
+            return "carId must be a positive number";
+        }
+        Map<String, String> errors = fieldErrors(record.getFuel());
+        return errors.isEmpty() ? null : String.join("; ", errors.values());
+    }
+
+    @Override
+    public void exportFuelEntries(Long carId, FuelExportFormat format, Writer out) throws IOException {
+        if (!carRepository.existsById(carId)) {
+            throw new NotFoundException("Car", carId);
+        }
+        
+        StringBuilder rows = new StringBuilder();
+        format.appendHeader(rows);
+        int offset = 0;
+        List<FuelEntry> chunk;
+        do {
+            chunk = fuelRepository.findByCarId(carId, offset, EXPORT_CHUNK_SIZE);
+            for (FuelEntry entry : chunk) {
+                format.appendRow(rows, entry);
+            }
+            out.append(rows);
+            rows.setLength(0);
+            offset += EXPORT_CHUNK_SIZE;
+        } while (chunk.size() == EXPORT_CHUNK_SIZE);
+        out.flush();
+    }
+
     @Override
     public FuelStatsResponse getFuelStats(Long carId) {
         if (!carRepository.existsById(carId)) {
             throw new NotFoundException("Car", carId);
         }
         
-        List<FuelEntry> entries = fuelRepository.findByCarId(carId);
+        return toStats(fuelRepository.getAggregateByCarId(carId));
+    }
+
+    @Override
+    public FuelEntryRangeResponse getFuelEntries(Long carId, Long fromOdometer, Long toOdometer, int limit) {
+        if (!carRepository.existsById(carId)) {
+            throw new NotFoundException("Car", carId);
+        }
+        validateOdometerRange(fromOdometer, toOdometer);
         
-        if (entries.isEmpty()) {
-            return new FuelStatsResponse(0.0, 0.0, 0.0, 0);
+        // One extra row tells whether more entries follow.
+        List<FuelEntry> entries = fuelRepository.findByOdometerRange(carId,
+                fromOdometer == null ? Long.MIN_VALUE : fromOdometer,
+                toOdometer == null ? Long.MAX_VALUE : toOdometer,
+                limit + 1);
+        boolean hasMore = entries.size() > limit;
+        List<FuelEntryResponse> page = new ArrayList<>(Math.min(entries.size(), limit));
+        for (int i = 0; i < entries.size() && i < limit; i++) {
+            page.add(FuelEntryResponse.fromModel(entries.get(i)));
         }
+        return new FuelEntryRangeResponse(fromOdometer, toOdometer, page, hasMore);
+    }
+
+    @Override
+    public FuelStatsResponse getFuelStatsBetweenOdometers(Long carId, Long fromOdometer, Long toOdometer) {
+        if (!carRepository.existsById(carId)) {
+            throw new NotFoundException("Car", carId);
+        }
+        validateOdometerRange(fromOdometer, toOdometer);
         
-        double totalFuel = entries.stream()
-                .mapToDouble(FuelEntry::getLiters)
-                .sum();
+        return toStats(fuelRepository.getAggregateByOdometerRange(carId,
+                fromOdometer == null ? Long.MIN_VALUE : fromOdometer,
+                toOdometer == null ? Long.MAX_VALUE : toOdometer));
+    }
+
+    @Override
+    public FuelRangeStatsResponse getFuelRangeStats(Long carId, Integer fromIndex, Integer toIndex) {
+        if (!carRepository.existsById(carId)) {
+            throw new NotFoundException("Car", carId);
+        }
         
-        double totalCost = entries.stream()
-                .mapToDouble(FuelEntry::getPrice)
-                .sum();
+        int entryCount = fuelRepository.getAggregateByCarId(carId).getEntryCount();
+        int start = fromIndex == null ? 0 : fromIndex;
+        int end = toIndex == null ? entryCount - 1 : toIndex;
+        Map<String, String> errors = new LinkedHashMap<>();
+        if (fromIndex != null && fromIndex >= entryCount) {
+            errors.put("fromIndex", "Fill-up index " + fromIndex + " is out of range; the car has "
+                    + entryCount + " fill-ups");
+        }
+        if (toIndex != null && toIndex >= entryCount) {
+            errors.put("toIndex", "Fill-up index " + toIndex + " is out of range; the car has "
+                    + entryCount + " fill-ups");
+        }
+        if (errors.isEmpty() && start > end && entryCount > 0) {
+            errors.put("fromIndex", "From index (" + start + ") must not be above to index (" + end + ")");
+        }
+        if (!errors.isEmpty()) {
+            throw new ValidationException(errors);
+        }
+        if (entryCount == 0) {
+            return new FuelRangeStatsResponse(null, null, null, null, toStats(FuelAggregate.EMPTY));
+        }
+        
+        FuelAggregate aggregate = fuelRepository.getAggregateByIndexRange(carId, start, end + 1);
+        return new FuelRangeStatsResponse(start, end, aggregate.getMinOdometer(), aggregate.getMaxOdometer(),
+                toStats(aggregate));
+    }
+
+    @Override
+    public FuelWindowStatsResponse getFuelStats(Long carId, LocalDate from, LocalDate to,
+                                                RollupGranularity granularity) {
+        if (!carRepository.existsById(carId)) {
+            throw new NotFoundException("Car", carId);
+        }
+        if (from != null && to != null && from.isAfter(to)) {
+            Map<String, String> errors = new HashMap<>();
+            errors.put("from", "From date (" + from + ") must not be after to date (" + to + ")");
+            throw new ValidationException(errors);
+        }
+        
+        LocalDate start = from == null ? LocalDate.MIN : from;
+        LocalDate end = to == null ? LocalDate.MAX : to;
+        FuelStatsResponse totals = toStats(fuelRepository.getAggregateBetween(carId, start, end));
+        
+        List<FuelBucketResponse> buckets = null;
+        if (granularity != null) {
+            buckets = new ArrayList<>();
+            for (FuelRollup rollup : fuelRepository.getRollups(carId, granularity, start, end)) {
+                FuelStatsResponse stats = toStats(rollup.getAggregate());
+                buckets.add(new FuelBucketResponse(rollup.getPeriodStart().toString(), stats.getTotalFuel(),
+                        stats.getTotalCost(), stats.getAverageConsumption(), stats.getEntryCount()));
+            }
+        }
+        
+        return new FuelWindowStatsResponse(
+            from == null ? null : from.toString(),
+            to == null ? null : to.toString(),
+            granularity == null ? null : granularity.name().toLowerCase(),
+            totals,
+            buckets
+        );
+    }
+
+    private FuelStatsResponse toStats(FuelAggregate aggregate) {
+        if (aggregate.isEmpty()) {
+            return new FuelStatsResponse(0.0, 0.0, 0.0, 0);
+        }
         
         double averageConsumption = 0.0;
         
-        if (entries.size() >= 2) {
-            long minOdometer = entries.get(0).getOdometer();
-            long maxOdometer = entries.get(entries.size() - 1).getOdometer();
-            long distance = maxOdometer - minOdometer;
+        if (aggregate.getEntryCount() >= 2) {
+            long distance = aggregate.getDistance();
             
             if (distance > 0) {
-                double fuelUsed = entries.stream()
-                        .skip(1)
-                        .mapToDouble(FuelEntry::getLiters)
-                        .sum();
-                
-                averageConsumption = (fuelUsed / distance) * CONSUMPTION_MULTIPLIER;
+                averageConsumption = (aggregate.getLitersExcludingFirst() / distance) * CONSUMPTION_MULTIPLIER;
             }
         }
         
         return new FuelStatsResponse(
-            Math.round(totalFuel * ROUNDING_PRECISION) / ROUNDING_PRECISION,
-            Math.round(totalCost * ROUNDING_PRECISION) / ROUNDING_PRECISION,
+            Math.round(aggregate.getTotalLiters() * ROUNDING_PRECISION) / ROUNDING_PRECISION,
+            Math.round(aggregate.getTotalCost() * ROUNDING_PRECISION) / ROUNDING_PRECISION,
             Math.round(averageConsumption * ROUNDING_PRECISION) / ROUNDING_PRECISION,
-            entries.size()
+            aggregate.getEntryCount()
         );
     }
 
+    private void validateOdometerRange(Long fromOdometer, Long toOdometer) {
+        if (fromOdometer != null && toOdometer != null && fromOdometer > toOdometer) {
+            throw new ValidationException("fromOdometer", "From odometer (" + fromOdometer
+                    + ") must not be above to odometer (" + toOdometer + ")");
+        }
+    }
+
     private void validateAddFuelRequest(AddFuelRequest request) {
-        Map<String, String> errors = new HashMap<>();
+        Map<String, String> errors = fieldErrors(request);
+        if (!errors.isEmpty()) {
+            throw new ValidationException(errors);
+        }
+    }
+
+    private Map<String, String> fieldErrors(AddFuelRequest request) {
+        Map<String, String> errors = new LinkedHashMap<>();
         
         if (request.getLiters() == null) {
             errors.put("liters", "Liters is required");
@@ -119,9 +346,15 @@ public class FuelService implements FuelServiceInterface {
             errors.put("odometer", "Odometer must be greater than 0");
         }
         
-        if (!errors.isEmpty()) {
-            throw new ValidationException(errors);
-        }
+        return errors;
+    }
+
+    private static final class ImportResult {
+
+        private long received;
+        private long imported;
+        private long rejected;
+        private final List<FuelImportErrorResponse> errors = new ArrayList<>();
     }
 }
 
@@ -1,13 +1,48 @@
 package com.carmanagement.service;
 
 import com.carmanagement.dto.request.AddFuelRequest;
+import com.carmanagement.dto.request.FuelImportRecord;
+import com.carmanagement.dto.response.FuelEntryRangeResponse;
 import com.carmanagement.dto.response.FuelEntryResponse;
+import com.carmanagement.dto.response.FuelImportResponse;
+import com.carmanagement.dto.response.FuelRangeStatsResponse;
 import com.carmanagement.dto.response.FuelStatsResponse;
+import com.carmanagement.dto.response.FuelWindowStatsResponse;
+import com.carmanagement.repository.RollupGranularity;
+import com.carmanagement.util.FuelExportFormat;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.util.Iterator;
 
 public interface FuelServiceInterface {
     
     FuelEntryResponse addFuelEntry(Long carId, AddFuelRequest request);
 
+    // Imports records as they are pulled from the iterator. Invalid records are reported by line and
+    // skipped; the rest are grouped by car and appended with the same odometer rule as addFuelEntry.
+    FuelImportResponse importFuelEntries(Iterator<FuelImportRecord> records);
+
+    // Writes the car's entries in odometer order, a bounded chunk at a time, so the export runs in
+    // constant memory however long the history is. Throws NotFoundException before writing anything.
+    void exportFuelEntries(Long carId, FuelExportFormat format, Writer out) throws IOException;
+
     FuelStatsResponse getFuelStats(Long carId);
+
+    // Up to limit entries with fromOdometer <= odometer <= toOdometer in odometer order; either bound
+    // may be null for an open end.
+    FuelEntryRangeResponse getFuelEntries(Long carId, Long fromOdometer, Long toOdometer, int limit);
+
+    // Stats over the entries in the same odometer interval.
+    FuelStatsResponse getFuelStatsBetweenOdometers(Long carId, Long fromOdometer, Long toOdometer);
+
+    // Stats between two fill-ups, given by their 0-based positions in odometer order, both inclusive;
+    // either may be null for the first or last fill-up.
+    FuelRangeStatsResponse getFuelRangeStats(Long carId, Integer fromIndex, Integer toIndex);
+
+    // Stats for entries created on days from..to (either may be null for an open end), answered
+    // from the rollups; with a granularity the per-period buckets are included.
+    FuelWindowStatsResponse getFuelStats(Long carId, LocalDate from, LocalDate to, RollupGranularity granularity);
 }
 
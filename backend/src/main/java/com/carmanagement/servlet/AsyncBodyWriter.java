@@ -0,0 +1,41 @@
+package com.carmanagement.servlet;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+
+import java.io.IOException;
+
+// Writes an already rendered body through non-blocking output and completes the async request once
+// the container has taken all of it. A client that reads slowly costs no thread in the meantime.
+final class AsyncBodyWriter implements WriteListener {
+
+    private final AsyncContext async;
+    private final ServletOutputStream out;
+    private final byte[] body;
+    private boolean written;
+
+    AsyncBodyWriter(AsyncContext async, ServletOutputStream out, byte[] body) {
+        this.async = async;
+        this.out = out;
+        this.body = body;
+    }
+
+    @Override
+    public void onWritePossible() throws IOException {
+        while (out.isReady()) {
+            if (written) {
+                async.complete();
+                return;
+            }
+            out.write(body);
+            written = true;
+        }
+    }
+
+    // The client went away or the write failed; there is nobody left to send an error to.
+    @Override
+    public void onError(Throwable t) {
+        async.complete();
+    }
+}
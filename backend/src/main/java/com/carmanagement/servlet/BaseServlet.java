@@ -3,16 +3,34 @@ package com.carmanagement.servlet;
 import com.carmanagement.dto.response.ErrorResponse;
 import com.carmanagement.exception.BadRequestException;
 import com.carmanagement.exception.NotFoundException;
+import com.carmanagement.exception.ServiceUnavailableException;
 import com.carmanagement.exception.ValidationException;
+import com.carmanagement.repository.RollupGranularity;
+import com.carmanagement.util.BoundedInputStream;
 import com.carmanagement.util.JsonUtil;
 import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.MalformedJsonException;
+import jakarta.servlet.AsyncContext;
 import jakarta.servlet.http.HttpServlet;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
-import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
 
 public abstract class BaseServlet extends HttpServlet {
     
@@ -20,104 +38,287 @@ public abstract class BaseServlet extends HttpServlet {
     protected static final String CHARSET_UTF8 = "UTF-8";
     private static final int MAX_REQUEST_BODY_SIZE = 1024 * 1024;
 
+    // The body is decoded and parsed as it streams in, with no copy of it as a String. Content-Length
+    // rejects an oversized body up front; the bounded stream catches one sent without it or with a
+    // false length.
     protected <T> T parseRequestBody(HttpServletRequest req, Class<T> clazz) {
+        String tooLarge = "Request body exceeds maximum size of " + (MAX_REQUEST_BODY_SIZE / 1024) + " KB";
+        if (req.getContentLengthLong() > MAX_REQUEST_BODY_SIZE) {
+            throw new BadRequestException(tooLarge);
+        }
+
         try {
-            String contentLengthHeader = req.getHeader("Content-Length");
-            if (contentLengthHeader != null) {
-                try {
-                    long contentLength = Long.parseLong(contentLengthHeader);
-                    if (contentLength > MAX_REQUEST_BODY_SIZE) {
-                        throw new BadRequestException("Request body exceeds maximum size of " + 
-                                (MAX_REQUEST_BODY_SIZE / 1024) + " KB");
-                    }
-                } catch (NumberFormatException e) {
-                }
-            }
-            
-            StringBuilder sb = new StringBuilder();
-            BufferedReader reader = req.getReader();
-            String line;
-            int totalSizeBytes = 0;
-            boolean firstLine = true;
-            
-            while ((line = reader.readLine()) != null) {
-                int lineBytes = line.getBytes(java.nio.charset.StandardCharsets.UTF_8).length;
-                totalSizeBytes += lineBytes;
-                
-                if (!firstLine || reader.ready()) {
-                    totalSizeBytes += 1;
-                }
-                
-                if (totalSizeBytes > MAX_REQUEST_BODY_SIZE) {
-                    throw new BadRequestException("Request body exceeds maximum size of " + 
-                            (MAX_REQUEST_BODY_SIZE / 1024) + " KB");
-                }
-                
-                if (!firstLine) {
-                    sb.append("\n");
-                }
-                sb.append(line);
-                firstLine = false;
-            }
-            
-            String json = sb.toString();
-            if (json.trim().isEmpty()) {
+            String charset = req.getCharacterEncoding();
+            InputStream body = new BoundedInputStream(req.getInputStream(), MAX_REQUEST_BODY_SIZE, tooLarge);
+            JsonReader reader = new JsonReader(new InputStreamReader(body,
+                    charset == null ? StandardCharsets.UTF_8 : Charset.forName(charset)));
+            reader.setLenient(true);
+            try {
+                reader.peek();
+            } catch (EOFException e) {
                 throw new BadRequestException("Request body is empty");
             }
             
-            T result = JsonUtil.fromJson(json, clazz);
+            T result = JsonUtil.fromJson(reader, clazz);
             if (result == null) {
                 throw new BadRequestException("Failed to parse request body");
             }
             return result;
         } catch (JsonSyntaxException e) {
+            // Gson wraps read failures too; only a dropped connection is not the client's JSON.
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException && !(cause instanceof EOFException)
+                    && !(cause instanceof MalformedJsonException)) {
+                throw new BadRequestException("Error reading request body");
+            }
             throw new BadRequestException("Invalid JSON format");
-        } catch (IOException e) {
+        } catch (MalformedJsonException e) {
+            throw new BadRequestException("Invalid JSON format");
+        } catch (IOException | IllegalCharsetNameException | UnsupportedCharsetException e) {
             throw new BadRequestException("Error reading request body");
         }
     }
 
-    protected void sendJson(HttpServletResponse resp, int status, Object body) throws IOException {
+    // Compact JSON unless the request asks for ?pretty. The body is serialized straight into the
+    // container's response writer (or a compressing stream over the response, see writeBody), which
+    // buffers and encodes into the response and is reused across requests on a connection. It is not
+    // flushed here, so small bodies still get a Content-Length.
+    protected void sendJson(HttpServletRequest req, HttpServletResponse resp, int status, Object body)
+            throws IOException {
         resp.setStatus(status);
         resp.setContentType(CONTENT_TYPE_JSON);
         resp.setCharacterEncoding(CHARSET_UTF8);
         
-        PrintWriter writer = resp.getWriter();
-        writer.print(JsonUtil.toJson(body));
-        writer.flush();
+        boolean pretty = isPrettyRequest(req);
+        writeBody(req, resp, out -> JsonUtil.writeJson(body, out, pretty));
+    }
+
+    @FunctionalInterface
+    protected interface BodyWriter {
+        void writeTo(Writer out) throws IOException;
+    }
+
+    // Compression for this servlet's responses, or null to always send them as they are.
+    protected ResponseCompression responseCompression() {
+        return null;
+    }
+
+    // Writes a text body in the response's character encoding, compressed when the servlet has
+    // compression, the client accepts one of its encodings and the body reaches the threshold.
+    // Content type and encoding must be set before calling.
+    protected void writeBody(HttpServletRequest req, HttpServletResponse resp, BodyWriter body) throws IOException {
+        String encoding = negotiateEncoding(req, resp);
+        if (encoding == null) {
+            body.writeTo(resp.getWriter());
+            return;
+        }
+        CompressingOutputStream stream = new CompressingOutputStream(resp, responseCompression(), encoding);
+        Writer out = new OutputStreamWriter(stream, resp.getCharacterEncoding());
+        boolean finished = false;
+        try {
+            body.writeTo(out);
+            // Only a complete body is finished; after a failure the error response replaces it.
+            out.close();
+            finished = true;
+        } finally {
+            if (!finished) {
+                stream.abort();
+            }
+        }
+    }
+
+    private String negotiateEncoding(HttpServletRequest req, HttpServletResponse resp) {
+        ResponseCompression compression = responseCompression();
+        if (compression == null) {
+            return null;
+        }
+        resp.setHeader("Vary", "Accept-Encoding");
+        return compression.negotiate(req.getHeader("Accept-Encoding"));
+    }
+
+    // Runs work on the executor and sends its result as JSON, freeing the request thread in between.
+    // Parameters should be parsed before calling, so bad input is still rejected on the request thread.
+    // Errors thrown by the work get the same responses as sendError.
+    protected void sendJsonAsync(HttpServletRequest req, HttpServletResponse resp, Executor executor,
+                                 Callable<?> work) throws IOException {
+        boolean pretty = isPrettyRequest(req);
+        String encoding = negotiateEncoding(req, resp);
+        AsyncContext async = req.startAsync();
+        // No container timeout: the executor's bounded queue already limits how long work can wait.
+        async.setTimeout(0);
+        try {
+            executor.execute(() -> {
+                int status = HttpServletResponse.SC_OK;
+                Object body;
+                try {
+                    body = work.call();
+                } catch (Exception e) {
+                    ErrorResponse error = toErrorResponse(e);
+                    status = error.getStatus();
+                    body = error;
+                }
+                writeAsync(async, resp, status, body, pretty, encoding);
+            });
+        } catch (RuntimeException e) {
+            sendError(req, resp, e);
+            async.complete();
+        }
+    }
+
+    // A non-blocking write cannot stall on a full buffer halfway through serialization, so the body is
+    // rendered to bytes first. That suits the small stats responses this is used for.
+    private void writeAsync(AsyncContext async, HttpServletResponse resp, int status, Object body, boolean pretty,
+                            String encoding) {
+        try {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            Writer writer = new OutputStreamWriter(buffer, StandardCharsets.UTF_8);
+            JsonUtil.writeJson(body, writer, pretty);
+            writer.flush();
+            byte[] bytes = buffer.toByteArray();
+            if (encoding != null) {
+                ResponseCompression compression = responseCompression();
+                if (bytes.length >= compression.getThreshold()) {
+                    bytes = compression.compress(bytes, encoding);
+                    resp.setHeader("Content-Encoding", encoding);
+                } else {
+                    compression.recordBelowThreshold();
+                }
+            }
+
+            resp.setStatus(status);
+            resp.setContentType(CONTENT_TYPE_JSON);
+            resp.setCharacterEncoding(CHARSET_UTF8);
+            resp.setContentLength(bytes.length);
+            resp.getOutputStream().setWriteListener(new AsyncBodyWriter(async, resp.getOutputStream(), bytes));
+        } catch (Exception e) {
+            logError("Failed to send async response", e);
+            resp.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            async.complete();
+        }
+    }
+
+    // ?pretty and ?pretty=true turn indentation on; ?pretty=false leaves it off.
+    protected boolean isPrettyRequest(HttpServletRequest req) {
+        String value = req.getParameter("pretty");
+        return value != null && !"false".equalsIgnoreCase(value.trim());
+    }
+
+    // True when the request asks for windowed stats through from, to or granularity.
+    protected boolean isStatsWindowRequest(HttpServletRequest req) {
+        return req.getParameter("from") != null || req.getParameter("to") != null
+                || req.getParameter("granularity") != null;
+    }
+
+    // True when the request restricts fuel entries or stats to an odometer interval.
+    protected boolean isOdometerRangeRequest(HttpServletRequest req) {
+        return req.getParameter("fromOdometer") != null || req.getParameter("toOdometer") != null;
+    }
+
+    // True when the request restricts stats to the fill-ups between two positions in the history.
+    protected boolean isIndexRangeRequest(HttpServletRequest req) {
+        return req.getParameter("fromIndex") != null || req.getParameter("toIndex") != null;
+    }
+
+    protected Integer parseIndexParameter(HttpServletRequest req, String name) {
+        String value = req.getParameter(name);
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        int index;
+        try {
+            index = Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Invalid " + name + " format: " + value);
+        }
+        if (index < 0) {
+            throw new BadRequestException(name + " must not be negative");
+        }
+        return index;
+    }
+
+    protected Long parseOdometerParameter(HttpServletRequest req, String name) {
+        String value = req.getParameter(name);
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        long odometer;
+        try {
+            odometer = Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Invalid " + name + " format: " + value);
+        }
+        if (odometer < 0) {
+            throw new BadRequestException(name + " must not be negative");
+        }
+        return odometer;
+    }
+
+    protected LocalDate parseDateParameter(HttpServletRequest req, String name) {
+        String value = req.getParameter(name);
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("Invalid " + name + " date: expected YYYY-MM-DD, got: " + value);
+        }
+    }
+
+    protected RollupGranularity parseGranularityParameter(HttpServletRequest req) {
+        String value = req.getParameter("granularity");
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return RollupGranularity.fromString(value);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        }
     }
 
     // Send an error response based on the exception type.
-    protected void sendError(HttpServletResponse resp, Exception e) throws IOException {
-        ErrorResponse errorResponse;
+    protected void sendError(HttpServletRequest req, HttpServletResponse resp, Exception e) throws IOException {
+        // Once part of a streamed body is out the status can no longer change; failing the request
+        // makes the container abort the response instead of appending an error to it.
+        if (resp.isCommitted()) {
+            throw new IOException("Response already committed", e);
+        }
+        resp.resetBuffer();
+        
+        ErrorResponse errorResponse = toErrorResponse(e);
+        sendJson(req, resp, errorResponse.getStatus(), errorResponse);
+    }
+
+    private ErrorResponse toErrorResponse(Exception e) {
         int status;
         
         if (e instanceof NotFoundException) {
             status = HttpServletResponse.SC_NOT_FOUND;
-            errorResponse = new ErrorResponse(status, "Not Found", e.getMessage());
+            return new ErrorResponse(status, "Not Found", e.getMessage());
         } else if (e instanceof ValidationException) {
             status = HttpServletResponse.SC_BAD_REQUEST;
             ValidationException ve = (ValidationException) e;
             if (ve.hasFieldErrors()) {
-                errorResponse = new ErrorResponse(status, "Validation Error", e.getMessage(), ve.getFieldErrors());
-            } else {
-                errorResponse = new ErrorResponse(status, "Validation Error", e.getMessage());
+                return new ErrorResponse(status, "Validation Error", e.getMessage(), ve.getFieldErrors());
             }
+            return new ErrorResponse(status, "Validation Error", e.getMessage());
         } else if (e instanceof BadRequestException) {
             status = HttpServletResponse.SC_BAD_REQUEST;
             // Sanitize error message to prevent information disclosure
             String message = sanitizeErrorMessage(e.getMessage());
-            errorResponse = new ErrorResponse(status, "Bad Request", message);
+            return new ErrorResponse(status, "Bad Request", message);
+        } else if (e instanceof ServiceUnavailableException) {
+            status = HttpServletResponse.SC_SERVICE_UNAVAILABLE;
+            return new ErrorResponse(status, "Service Unavailable", e.getMessage());
         } else {
             status = HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
             // Never expose internal error details to clients
             // Log the actual error server-side for debugging
             logError("Internal server error", e);
-            errorResponse = new ErrorResponse(status, "Internal Server Error", 
+            return new ErrorResponse(status, "Internal Server Error", 
                     "An unexpected error occurred. Please try again later.");
         }
-        
-        sendJson(resp, status, errorResponse);
     }
 
     private String sanitizeErrorMessage(String message) {
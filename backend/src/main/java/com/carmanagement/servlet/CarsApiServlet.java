@@ -2,45 +2,72 @@ package com.carmanagement.servlet;
 
 import com.carmanagement.dto.request.AddFuelRequest;
 import com.carmanagement.dto.request.CreateCarRequest;
+import com.carmanagement.dto.response.CarBatchResponse;
+import com.carmanagement.dto.response.CarPageResponse;
 import com.carmanagement.dto.response.CarResponse;
+import com.carmanagement.dto.response.FuelEntryRangeResponse;
 import com.carmanagement.dto.response.FuelEntryResponse;
-import com.carmanagement.dto.response.FuelStatsResponse;
+import com.carmanagement.dto.response.FuelImportResponse;
 import com.carmanagement.exception.BadRequestException;
+import com.carmanagement.repository.CarQuery;
+import com.carmanagement.repository.RollupGranularity;
 import com.carmanagement.service.CarService;
 import com.carmanagement.service.FuelService;
+import com.carmanagement.util.FuelExportFormat;
+import com.carmanagement.util.FuelImportReader;
+import com.carmanagement.util.PageCursor;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
 import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
 
 public class CarsApiServlet extends BaseServlet {
     
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int MAX_BATCH_SIZE = 10000;
+    private static final String[] PAGE_PARAMETERS = {"limit", "after", "brand", "model", "year", "yearFrom", "yearTo"};
+
     private final CarService carService;
     private final FuelService fuelService;
+    private final Executor analyticsExecutor;
+    private final ResponseCompression compression;
+    private final PathRouter getRoutes;
+    private final PathRouter postRoutes;
 
-    public CarsApiServlet(CarService carService, FuelService fuelService) {
+    // compression may be null to send every response uncompressed.
+    public CarsApiServlet(CarService carService, FuelService fuelService, Executor analyticsExecutor,
+                          ResponseCompression compression) {
         this.carService = carService;
         this.fuelService = fuelService;
+        this.analyticsExecutor = analyticsExecutor;
+        this.compression = compression;
+        this.getRoutes = new PathRouter()
+                .add("/", this::listCars)
+                .add("/{id}/fuel/stats", this::getFuelStats)
+                .add("/{id}/fuel/entries", this::getFuelEntries)
+                .add("/{id}/fuel", this::exportFuelEntries);
+        this.postRoutes = new PathRouter()
+                .add("/", this::createCar)
+                .add("/batch", this::createCars)
+                .add("/{id}/fuel", this::addFuelEntry)
+                .add("/fuel/import", this::importFuelEntries);
     }
 
     @Override
     protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
         try {
             String pathInfo = req.getPathInfo();
-            
-            if (pathInfo == null || pathInfo.equals("/")) {
-                List<CarResponse> cars = carService.getAllCars();
-                sendJson(resp, HttpServletResponse.SC_OK, cars);
-            } else if (pathInfo.matches("/\\d+/fuel/stats")) {
-                Long carId = extractCarIdFromPath(pathInfo);
-                FuelStatsResponse stats = fuelService.getFuelStats(carId);
-                sendJson(resp, HttpServletResponse.SC_OK, stats);
-            } else {
+            if (!getRoutes.dispatch(pathInfo, req, resp)) {
                 throw new BadRequestException("Unknown endpoint: GET /api/cars" + pathInfo);
             }
         } catch (Exception e) {
-            sendError(resp, e);
+            sendError(req, resp, e);
         }
     }
 
@@ -48,43 +75,163 @@ public class CarsApiServlet extends BaseServlet {
     protected void doPost(HttpServletRequest req, HttpServletResponse resp) throws IOException {
         try {
             String pathInfo = req.getPathInfo();
-            
-            if (pathInfo == null || pathInfo.equals("/")) {
-                CreateCarRequest request = parseRequestBody(req, CreateCarRequest.class);
-                CarResponse car = carService.createCar(request);
-                sendJson(resp, HttpServletResponse.SC_CREATED, car);
-            } else if (pathInfo.matches("/\\d+/fuel")) {
-                Long carId = extractCarIdFromPath(pathInfo);
-                AddFuelRequest request = parseRequestBody(req, AddFuelRequest.class);
-                FuelEntryResponse entry = fuelService.addFuelEntry(carId, request);
-                sendJson(resp, HttpServletResponse.SC_CREATED, entry);
-            } else {
+            if (!postRoutes.dispatch(pathInfo, req, resp)) {
                 throw new BadRequestException("Unknown endpoint: POST /api/cars" + pathInfo);
             }
         } catch (Exception e) {
-            sendError(resp, e);
+            sendError(req, resp, e);
         }
     }
 
-    private Long extractCarIdFromPath(String pathInfo) {
-        if (pathInfo == null || pathInfo.length() < 2) {
-            throw new BadRequestException("Car ID is required in the path");
+    private void listCars(HttpServletRequest req, HttpServletResponse resp, long ignored) throws IOException {
+        if (isPageRequest(req)) {
+            int limit = parseLimit(req.getParameter("limit"));
+            long afterId = PageCursor.decode(req.getParameter("after"));
+            CarPageResponse page = carService.searchCars(parseQuery(req), afterId, limit);
+            sendJson(req, resp, HttpServletResponse.SC_OK, page);
+        } else {
+            List<CarResponse> cars = carService.getAllCars();
+            sendJson(req, resp, HttpServletResponse.SC_OK, cars);
         }
-        
-        String[] parts = pathInfo.substring(1).split("/");
-        if (parts.length < 1) {
-            throw new BadRequestException("Car ID is required in the path");
+    }
+
+    // Stats run on the analytics executor; parameters are checked here, on the request thread.
+    private void getFuelStats(HttpServletRequest req, HttpServletResponse resp, long carId) throws IOException {
+        Callable<?> stats;
+        if (isIndexRangeRequest(req)) {
+            if (isOdometerRangeRequest(req) || isStatsWindowRequest(req)) {
+                throw new BadRequestException("Index, odometer and date ranges cannot be combined");
+            }
+            Integer fromIndex = parseIndexParameter(req, "fromIndex");
+            Integer toIndex = parseIndexParameter(req, "toIndex");
+            stats = () -> fuelService.getFuelRangeStats(carId, fromIndex, toIndex);
+        } else if (isOdometerRangeRequest(req)) {
+            if (isStatsWindowRequest(req)) {
+                throw new BadRequestException("Odometer and date ranges cannot be combined");
+            }
+            Long fromOdometer = parseOdometerParameter(req, "fromOdometer");
+            Long toOdometer = parseOdometerParameter(req, "toOdometer");
+            stats = () -> fuelService.getFuelStatsBetweenOdometers(carId, fromOdometer, toOdometer);
+        } else if (isStatsWindowRequest(req)) {
+            LocalDate from = parseDateParameter(req, "from");
+            LocalDate to = parseDateParameter(req, "to");
+            RollupGranularity granularity = parseGranularityParameter(req);
+            stats = () -> fuelService.getFuelStats(carId, from, to, granularity);
+        } else {
+            stats = () -> fuelService.getFuelStats(carId);
+        }
+        sendJsonAsync(req, resp, analyticsExecutor, stats);
+    }
+
+    private void getFuelEntries(HttpServletRequest req, HttpServletResponse resp, long carId) throws IOException {
+        FuelEntryRangeResponse entries = fuelService.getFuelEntries(carId,
+                parseOdometerParameter(req, "fromOdometer"), parseOdometerParameter(req, "toOdometer"),
+                parseLimit(req.getParameter("limit")));
+        sendJson(req, resp, HttpServletResponse.SC_OK, entries);
+    }
+
+    private void exportFuelEntries(HttpServletRequest req, HttpServletResponse resp, long carId) throws IOException {
+        FuelExportFormat format = parseExportFormat(req.getParameter("format"));
+        // No Content-Length is set, so Jetty sends the rows chunked as its output buffer fills.
+        resp.setStatus(HttpServletResponse.SC_OK);
+        resp.setContentType(format.getContentType());
+        resp.setCharacterEncoding(CHARSET_UTF8);
+        writeBody(req, resp, out -> fuelService.exportFuelEntries(carId, format, out));
+    }
+
+    private void createCar(HttpServletRequest req, HttpServletResponse resp, long ignored) throws IOException {
+        CreateCarRequest request = parseRequestBody(req, CreateCarRequest.class);
+        CarResponse car = carService.createCar(request);
+        sendJson(req, resp, HttpServletResponse.SC_CREATED, car);
+    }
+
+    private void createCars(HttpServletRequest req, HttpServletResponse resp, long ignored) throws IOException {
+        CreateCarRequest[] requests = parseRequestBody(req, CreateCarRequest[].class);
+        if (requests.length == 0 || requests.length > MAX_BATCH_SIZE) {
+            throw new BadRequestException("Batch must contain between 1 and " + MAX_BATCH_SIZE
+                    + " cars, got: " + requests.length);
+        }
+        CarBatchResponse result = carService.createCars(Arrays.asList(requests));
+        sendJson(req, resp, HttpServletResponse.SC_OK, result);
+    }
+
+    private void addFuelEntry(HttpServletRequest req, HttpServletResponse resp, long carId) throws IOException {
+        AddFuelRequest request = parseRequestBody(req, AddFuelRequest.class);
+        FuelEntryResponse entry = fuelService.addFuelEntry(carId, request);
+        sendJson(req, resp, HttpServletResponse.SC_CREATED, entry);
+    }
+
+    private void importFuelEntries(HttpServletRequest req, HttpServletResponse resp, long ignored) throws IOException {
+        // NDJSON or a JSON array, read record by record; the body size is not capped.
+        FuelImportReader records = new FuelImportReader(req.getInputStream());
+        FuelImportResponse result = fuelService.importFuelEntries(records);
+        sendJson(req, resp, HttpServletResponse.SC_OK, result);
+    }
+
+    @Override
+    protected ResponseCompression responseCompression() {
+        return compression;
+    }
+
+    // Without paging or filter parameters the full list is returned as a plain array, as before.
+    private boolean isPageRequest(HttpServletRequest req) {
+        for (String name : PAGE_PARAMETERS) {
+            if (req.getParameter(name) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private CarQuery parseQuery(HttpServletRequest req) {
+        Integer yearFrom = parseYear(req, "yearFrom");
+        Integer yearTo = parseYear(req, "yearTo");
+        if (yearFrom != null && yearTo != null && yearFrom > yearTo) {
+            throw new BadRequestException("yearFrom must not be after yearTo");
+        }
+        return new CarQuery(blankToNull(req.getParameter("brand")), blankToNull(req.getParameter("model")),
+                parseYear(req, "year"), yearFrom, yearTo);
+    }
+
+    private Integer parseYear(HttpServletRequest req, String name) {
+        String value = blankToNull(req.getParameter(name));
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Invalid " + name + " format: " + value);
+        }
+    }
+
+    private String blankToNull(String value) {
+        return value == null || value.trim().isEmpty() ? null : value;
+    }
+
+    private FuelExportFormat parseExportFormat(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return FuelExportFormat.NDJSON;
         }
-        
         try {
-            Long carId = Long.parseLong(parts[0]);
-            if (carId <= 0) {
-                throw new BadRequestException("Car ID must be a positive number, got: " + carId);
+            return FuelExportFormat.fromString(value);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+    }
+
+    private int parseLimit(String value) {
+        if (value == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        try {
+            int limit = Integer.parseInt(value);
+            if (limit < 1 || limit > MAX_PAGE_SIZE) {
+                throw new BadRequestException("limit must be between 1 and " + MAX_PAGE_SIZE + ", got: " + limit);
             }
-            return carId;
+            return limit;
         } catch (NumberFormatException e) {
-            throw new BadRequestException("Invalid car ID format: " + parts[0]);
+            throw new BadRequestException("Invalid limit format: " + value);
         }
     }
 }
-
@@ -0,0 +1,127 @@
+package com.carmanagement.servlet;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+// Response body stream that holds back the first bytes until it knows whether the body reaches the
+// compression threshold. A shorter body is sent as it is once closed; a longer one switches to the
+// negotiated encoding and is compressed as it is written, so a large list or export streams out
+// rather than being gathered in memory first. close() finishes the body but leaves the container's
+// stream open, so a body that fits the response buffer still gets a Content-Length; abort() gives up
+// on a body whose writing failed.
+final class CompressingOutputStream extends OutputStream {
+
+    private final HttpServletResponse resp;
+    private final ResponseCompression compression;
+    private final String encoding;
+    private byte[] pending;
+    private int pendingCount;
+    private CountingOutputStream target;
+    private ResponseCompression.Encoder compressed;
+    private long bytesIn;
+    private long cpuNanos;
+    private boolean closed;
+
+    CompressingOutputStream(HttpServletResponse resp, ResponseCompression compression, String encoding) {
+        this.resp = resp;
+        this.compression = compression;
+        this.encoding = encoding;
+        this.pending = new byte[compression.getThreshold()];
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (compressed == null) {
+            if (pendingCount + len < pending.length) {
+                System.arraycopy(b, off, pending, pendingCount, len);
+                pendingCount += len;
+                return;
+            }
+            startCompressing();
+        }
+        long start = ResponseCompression.threadCpuNanos();
+        compressed.write(b, off, len);
+        cpuNanos += ResponseCompression.threadCpuNanos() - start;
+        bytesIn += len;
+    }
+
+    private void startCompressing() throws IOException {
+        resp.setHeader("Content-Encoding", encoding);
+        target = new CountingOutputStream(resp.getOutputStream());
+        long start = ResponseCompression.threadCpuNanos();
+        compressed = compression.wrap(encoding, target);
+        compressed.write(pending, 0, pendingCount);
+        cpuNanos += ResponseCompression.threadCpuNanos() - start;
+        bytesIn += pendingCount;
+        pending = null;
+    }
+
+    // Deliberately nothing: the container sends its buffer as it fills, and a flush from the writer
+    // closing over this stream would commit the response before close() could size it.
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (compressed == null) {
+            // An earlier attempt at this response may have switched encodings before failing.
+            resp.setHeader("Content-Encoding", null);
+            resp.setContentLength(pendingCount);
+            resp.getOutputStream().write(pending, 0, pendingCount);
+            compression.recordBelowThreshold();
+            return;
+        }
+        long start = ResponseCompression.threadCpuNanos();
+        compressed.close();
+        cpuNanos += ResponseCompression.threadCpuNanos() - start;
+        compression.recordCompressed(bytesIn, target.count, cpuNanos);
+    }
+
+    // Releases the encoder without finishing the body, which the error response replaces. Also safe
+    // after a close() that failed part-way.
+    void abort() {
+        closed = true;
+        if (compressed != null) {
+            compressed.abort();
+        }
+    }
+
+    // Counts compressed bytes and shields the container's stream from the encoder's close().
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.carmanagement.servlet;
+
+import com.carmanagement.exception.BadRequestException;
+import com.carmanagement.service.FleetService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.concurrent.Executor;
+
+public class FleetApiServlet extends BaseServlet {
+
+    private final FleetService fleetService;
+    private final Executor analyticsExecutor;
+
+    public FleetApiServlet(FleetService fleetService, Executor analyticsExecutor) {
+        this.fleetService = fleetService;
+        this.analyticsExecutor = analyticsExecutor;
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        try {
+            String pathInfo = req.getPathInfo();
+
+            if ("/fuel/stats".equals(pathInfo)) {
+                LocalDate from = parseDateParameter(req, "from");
+                LocalDate to = parseDateParameter(req, "to");
+                sendJsonAsync(req, resp, analyticsExecutor, () -> fleetService.getFleetFuelStats(from, to));
+            } else {
+                throw new BadRequestException("Unknown endpoint: GET /api/fleet" + (pathInfo == null ? "" : pathInfo));
+            }
+        } catch (Exception e) {
+            sendError(req, resp, e);
+        }
+    }
+}
@@ -1,19 +1,24 @@
 package com.carmanagement.servlet;
 
-import com.carmanagement.dto.response.FuelStatsResponse;
 import com.carmanagement.exception.BadRequestException;
+import com.carmanagement.repository.RollupGranularity;
 import com.carmanagement.service.FuelService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
 import java.io.IOException;
+import java.time.LocalDate;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
 
 public class FuelStatsServlet extends BaseServlet {
     
     private final FuelService fuelService;
+    private final Executor analyticsExecutor;
 
-    public FuelStatsServlet(FuelService fuelService) {
+    public FuelStatsServlet(FuelService fuelService, Executor analyticsExecutor) {
         this.fuelService = fuelService;
+        this.analyticsExecutor = analyticsExecutor;
     }
 
     @Override
@@ -36,11 +41,33 @@ public class FuelStatsServlet extends BaseServlet {
                 throw new BadRequestException("carId must be a positive number");
             }
             
-            FuelStatsResponse stats = fuelService.getFuelStats(carId);
-            sendJson(resp, HttpServletResponse.SC_OK, stats);
+            Callable<?> stats;
+            if (isIndexRangeRequest(req)) {
+                if (isOdometerRangeRequest(req) || isStatsWindowRequest(req)) {
+                    throw new BadRequestException("Index, odometer and date ranges cannot be combined");
+                }
+                Integer fromIndex = parseIndexParameter(req, "fromIndex");
+                Integer toIndex = parseIndexParameter(req, "toIndex");
+                stats = () -> fuelService.getFuelRangeStats(carId, fromIndex, toIndex);
+            } else if (isOdometerRangeRequest(req)) {
+                if (isStatsWindowRequest(req)) {
+                    throw new BadRequestException("Odometer and date ranges cannot be combined");
+                }
+                Long fromOdometer = parseOdometerParameter(req, "fromOdometer");
+                Long toOdometer = parseOdometerParameter(req, "toOdometer");
+                stats = () -> fuelService.getFuelStatsBetweenOdometers(carId, fromOdometer, toOdometer);
+            } else if (isStatsWindowRequest(req)) {
+                LocalDate from = parseDateParameter(req, "from");
+                LocalDate to = parseDateParameter(req, "to");
+                RollupGranularity granularity = parseGranularityParameter(req);
+                stats = () -> fuelService.getFuelStats(carId, from, to, granularity);
+            } else {
+                stats = () -> fuelService.getFuelStats(carId);
+            }
+            sendJsonAsync(req, resp, analyticsExecutor, stats);
             
         } catch (Exception e) {
-            sendError(resp, e);
+            sendError(req, resp, e);
         }
     }
 }
@@ -0,0 +1,32 @@
+package com.carmanagement.servlet;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+// Reports the current value of every registered metrics source as one JSON object.
+public class MetricsServlet extends BaseServlet {
+
+    private final Map<String, Supplier<?>> sources = new LinkedHashMap<>();
+
+    public void register(String name, Supplier<?> source) {
+        sources.put(name, source);
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        try {
+            Map<String, Object> metrics = new LinkedHashMap<>();
+            for (Map.Entry<String, Supplier<?>> source : sources.entrySet()) {
+                metrics.put(source.getKey(), source.getValue().get());
+            }
+            sendJson(req, resp, HttpServletResponse.SC_OK, metrics);
+        } catch (Exception e) {
+            sendError(req, resp, e);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.carmanagement.servlet;
+
+import com.carmanagement.exception.BadRequestException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+// Routing table for a servlet's path info. Templates are split into a tree of segments once, at
+// construction; a request walks the tree in one pass over its path, comparing segments in place, so
+// matching neither compiles patterns nor allocates. A "{id}" segment matches one or more ASCII digits
+// and is handed to the handler as a car id. Built once and then only read, so it can be shared freely.
+public final class PathRouter {
+
+    private static final String ID_SEGMENT = "{id}";
+
+    @FunctionalInterface
+    public interface Handler {
+        // id is the car id from an {id} segment, or 0 when the route has none.
+        void handle(HttpServletRequest req, HttpServletResponse resp, long id) throws IOException;
+    }
+
+    private final Node root = new Node();
+
+    // Templates look like "/", "/batch" or "/{id}/fuel/stats"; at most one segment may be {id}.
+    public PathRouter add(String template, Handler handler) {
+        if (template == null || !template.startsWith("/")) {
+            throw new IllegalArgumentException("Route must start with '/': " + template);
+        }
+        Node node = root;
+        boolean hasId = false;
+        if (template.length() > 1) {
+            for (String segment : template.substring(1).split("/", -1)) {
+                if (ID_SEGMENT.equals(segment)) {
+                    if (hasId) {
+                        throw new IllegalArgumentException("Route has more than one {id}: " + template);
+                    }
+                    hasId = true;
+                    if (node.idChild == null) {
+                        node.idChild = new Node();
+                    }
+                    node = node.idChild;
+                } else {
+                    node = node.literalChild(segment);
+                }
+            }
+        }
+        if (node.handler != null) {
+            throw new IllegalArgumentException("Route registered twice: " + template);
+        }
+        node.handler = handler;
+        return this;
+    }
+
+    // Runs the handler for the path and returns true, or returns false when no route matches. A null
+    // path is the root, as getPathInfo() reports it for the bare servlet path.
+    public boolean dispatch(String path, HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        Node node = root;
+        int idStart = -1;
+        int idEnd = -1;
+        int length = path == null ? 0 : path.length();
+        if (length > 1) {
+            if (path.charAt(0) != '/') {
+                return false;
+            }
+            int start = 1;
+            while (true) {
+                int end = path.indexOf('/', start);
+                if (end < 0) {
+                    end = length;
+                }
+                Node next = node.find(path, start, end);
+                if (next == null && node.idChild != null && isDigits(path, start, end)) {
+                    next = node.idChild;
+                    idStart = start;
+                    idEnd = end;
+                }
+                if (next == null) {
+                    return false;
+                }
+                node = next;
+                if (end == length) {
+                    break;
+                }
+                start = end + 1;
+            }
+        } else if (length == 1 && path.charAt(0) != '/') {
+            return false;
+        }
+        if (node.handler == null) {
+            return false;
+        }
+        node.handler.handle(req, resp, idStart < 0 ? 0 : parseCarId(path, idStart, idEnd));
+        return true;
+    }
+
+    private static boolean isDigits(String path, int start, int end) {
+        if (start == end) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            char c = path.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // The segment is known to be all digits; only overflow and zero are left to reject.
+    private static long parseCarId(String path, int start, int end) {
+        long carId = 0;
+        for (int i = start; i < end; i++) {
+            int digit = path.charAt(i) - '0';
+            if (carId > (Long.MAX_VALUE - digit) / 10) {
+                throw new BadRequestException("Invalid car ID format: " + path.substring(start, end));
+            }
+            carId = carId * 10 + digit;
+        }
+        if (carId <= 0) {
+            throw new BadRequestException("Car ID must be a positive number, got: " + carId);
+        }
+        return carId;
+    }
+
+    private static final class Node {
+
+        // A servlet has a handful of routes, so a linear scan of short arrays beats hashing a substring.
+        private String[] names = new String[0];
+        private Node[] children = new Node[0];
+        private Node idChild;
+        private Handler handler;
+
+        Node literalChild(String name) {
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].equals(name)) {
+                    return children[i];
+                }
+            }
+            names = Arrays.copyOf(names, names.length + 1);
+            children = Arrays.copyOf(children, children.length + 1);
+            names[names.length - 1] = name;
+            children[children.length - 1] = new Node();
+            return children[children.length - 1];
+        }
+
+        Node find(String path, int start, int end) {
+            int length = end - start;
+            for (int i = 0; i < names.length; i++) {
+                String name = names[i];
+                if (name.length() == length && path.regionMatches(start, name, 0, length)) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+    }
+}
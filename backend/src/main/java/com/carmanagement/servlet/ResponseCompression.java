@@ -0,0 +1,189 @@
+package com.carmanagement.servlet;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+// Negotiated gzip or deflate for response bodies. Bodies under the threshold go out as they are:
+// below about a packet, compressing saves nothing on the wire and still costs CPU. Counts the bytes
+// before and after compression and the CPU time spent compressing, for /metrics.
+public final class ResponseCompression {
+
+    public static final String GZIP = "gzip";
+    public static final String DEFLATE = "deflate";
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final int threshold;
+    private final int level;
+    private final List<String> encodings;
+    private final LongAdder compressedResponses = new LongAdder();
+    private final LongAdder belowThreshold = new LongAdder();
+    private final LongAdder bytesIn = new LongAdder();
+    private final LongAdder bytesOut = new LongAdder();
+    private final LongAdder cpuNanos = new LongAdder();
+
+    // encodings in order of preference, each GZIP or DEFLATE; level is a Deflater level from 1 to 9.
+    public ResponseCompression(int threshold, int level, List<String> encodings) {
+        this.threshold = threshold;
+        this.level = level;
+        this.encodings = new ArrayList<>(encodings);
+    }
+
+    // The configured encoding the client accepts with the highest q-value, earlier ones winning ties,
+    // or null when it accepts none of them.
+    public String negotiate(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isEmpty()) {
+            return null;
+        }
+        String best = null;
+        double bestQuality = 0;
+        for (String encoding : encodings) {
+            double quality = quality(acceptEncoding, encoding);
+            if (quality > bestQuality) {
+                best = encoding;
+                bestQuality = quality;
+            }
+        }
+        return best;
+    }
+
+    // q-value for the encoding in an Accept-Encoding header; "*" covers encodings not named.
+    private static double quality(String acceptEncoding, String encoding) {
+        double wildcard = 0;
+        for (String part : acceptEncoding.split(",")) {
+            String[] params = part.split(";");
+            String name = params[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1;
+            for (int i = 1; i < params.length; i++) {
+                String param = params[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(param.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (name.equals(encoding)) {
+                return quality;
+            }
+            if (name.equals("*")) {
+                wildcard = quality;
+            }
+        }
+        return wildcard;
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    Encoder wrap(String encoding, OutputStream target) throws IOException {
+        if (GZIP.equals(encoding)) {
+            return new GzipEncoder(target, level);
+        }
+        return new DeflateEncoder(target, level);
+    }
+
+    // For bodies already rendered in full, such as the async stats responses.
+    byte[] compress(byte[] body, String encoding) throws IOException {
+        long start = threadCpuNanos();
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(body.length / 2 + 64);
+        try (Encoder out = wrap(encoding, buffer)) {
+            out.write(body, 0, body.length);
+        }
+        byte[] compressed = buffer.toByteArray();
+        recordCompressed(body.length, compressed.length, threadCpuNanos() - start);
+        return compressed;
+    }
+
+    void recordCompressed(long in, long out, long nanos) {
+        compressedResponses.increment();
+        bytesIn.add(in);
+        bytesOut.add(out);
+        cpuNanos.add(nanos);
+    }
+
+    void recordBelowThreshold() {
+        belowThreshold.increment();
+    }
+
+    // CPU time of the current thread where the JVM reports it, wall time otherwise (virtual threads).
+    static long threadCpuNanos() {
+        long cpu = THREADS.isCurrentThreadCpuTimeSupported() ? THREADS.getCurrentThreadCpuTime() : -1;
+        return cpu >= 0 ? cpu : System.nanoTime();
+    }
+
+    public Map<String, Object> getStats() {
+        long in = bytesIn.sum();
+        long out = bytesOut.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("encodings", encodings);
+        stats.put("threshold", threshold);
+        stats.put("compressedResponses", compressedResponses.sum());
+        stats.put("belowThreshold", belowThreshold.sum());
+        stats.put("bytesIn", in);
+        stats.put("bytesOut", out);
+        stats.put("ratio", out == 0 ? 0.0 : Math.round(in * 100.0 / out) / 100.0);
+        stats.put("cpuMillis", Math.round(cpuNanos.sum() / 100_000.0) / 10.0);
+        return stats;
+    }
+
+    // A compressing stream over one body. close() finishes the body; abort() only releases the
+    // encoder's native memory, for a body whose writing failed and will not be finished.
+    interface Encoder extends Closeable {
+
+        void write(byte[] b, int off, int len) throws IOException;
+
+        void abort();
+    }
+
+    private static final class GzipEncoder extends GZIPOutputStream implements Encoder {
+
+        GzipEncoder(OutputStream target, int level) throws IOException {
+            super(target, BUFFER_SIZE);
+            def.setLevel(level);
+        }
+
+        @Override
+        public void abort() {
+            def.end();
+        }
+    }
+
+    private static final class DeflateEncoder extends DeflaterOutputStream implements Encoder {
+
+        DeflateEncoder(OutputStream target, int level) {
+            super(target, new Deflater(level), BUFFER_SIZE);
+        }
+
+        // A Deflater passed in is not released by close(), so its native memory would wait for GC.
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                def.end();
+            }
+        }
+
+        @Override
+        public void abort() {
+            def.end();
+        }
+    }
+}
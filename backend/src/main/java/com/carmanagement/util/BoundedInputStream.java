@@ -0,0 +1,65 @@
+package com.carmanagement.util;
+
+import com.carmanagement.exception.BadRequestException;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+// Counts the bytes read through it and fails with a BadRequestException once more than maxBytes have
+// come through, so a body can be parsed straight off the socket without buffering it to measure it.
+// The exception is unchecked so it passes through JSON readers unchanged.
+public final class BoundedInputStream extends FilterInputStream {
+
+    private final long maxBytes;
+    private final String overflowMessage;
+    private long count;
+
+    public BoundedInputStream(InputStream in, long maxBytes, String overflowMessage) {
+        super(in);
+        this.maxBytes = maxBytes;
+        this.overflowMessage = overflowMessage;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b >= 0) {
+            advance(1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int read = super.read(buffer, offset, length);
+        if (read > 0) {
+            advance(read);
+        }
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        advance(skipped);
+        return skipped;
+    }
+
+    // Mark and reset would let bytes be counted twice.
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    private void advance(long bytes) {
+        count += bytes;
+        if (count > maxBytes) {
+            throw new BadRequestException(overflowMessage);
+        }
+    }
+}
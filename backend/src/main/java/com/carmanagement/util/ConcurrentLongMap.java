@@ -0,0 +1,329 @@
+package com.carmanagement.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+
+// Concurrent map from primitive long keys to non-null values. Entries live in striped open-addressing
+// tables (linear probing, backward-shift deletion) as a long[] of keys next to an Object[] of values,
+// so an entry costs two array slots instead of a map node plus a boxed Long.
+// Reads use an optimistic StampedLock stamp and only take the read lock when a writer interfered;
+// writers lock a single segment. Iteration is weakly consistent, one segment at a time.
+public final class ConcurrentLongMap<V> {
+
+    private static final int SEGMENT_BITS = 4;
+    private static final int SEGMENT_COUNT = 1 << SEGMENT_BITS;
+    private static final int INITIAL_SEGMENT_CAPACITY = 16;
+    private static final int MAX_SEGMENT_CAPACITY = 1 << 30;
+
+    private final Segment[] segments = new Segment[SEGMENT_COUNT];
+
+    public ConcurrentLongMap() {
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        long hash = hash(key);
+        return (V) segmentFor(hash).get(key, (int) hash);
+    }
+
+    public boolean containsKey(long key) {
+        return get(key) != null;
+    }
+
+    // Returns the previous value, or null if the key was absent.
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        if (value == null) {
+            throw new NullPointerException("value");
+        }
+        long hash = hash(key);
+        return (V) segmentFor(hash).put(key, (int) hash, value, false);
+    }
+
+    @SuppressWarnings("unchecked")
+    public V putIfAbsent(long key, V value) {
+        if (value == null) {
+            throw new NullPointerException("value");
+        }
+        long hash = hash(key);
+        return (V) segmentFor(hash).put(key, (int) hash, value, true);
+    }
+
+    // The mapping function runs under the segment's write lock, so it must be cheap and must not
+    // touch this map.
+    @SuppressWarnings("unchecked")
+    public V computeIfAbsent(long key, LongFunction<? extends V> mappingFunction) {
+        long hash = hash(key);
+        Segment segment = segmentFor(hash);
+        Object existing = segment.get(key, (int) hash);
+        if (existing != null) {
+            return (V) existing;
+        }
+        return (V) segment.computeIfAbsent(key, (int) hash, mappingFunction);
+    }
+
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        long hash = hash(key);
+        return (V) segmentFor(hash).remove(key, (int) hash);
+    }
+
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.size;
+        }
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    // Copies each segment's values under its read lock before calling the action, so slow
+    // consumers never block writers.
+    @SuppressWarnings("unchecked")
+    public void forEachValue(Consumer<? super V> action) {
+        List<Object> batch = new ArrayList<>();
+        for (Segment segment : segments) {
+            batch.clear();
+            segment.copyValuesTo(batch);
+            for (Object value : batch) {
+                action.accept((V) value);
+            }
+        }
+    }
+
+    public List<V> values() {
+        List<V> values = new ArrayList<>();
+        forEachValue(values::add);
+        return values;
+    }
+
+    private Segment segmentFor(long hash) {
+        return segments[(int) (hash >>> (Long.SIZE - SEGMENT_BITS))];
+    }
+
+    // MurmurHash3 finalizer: sequential ids spread over both the segment bits and the slot bits.
+    private static long hash(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+
+    // Keys and values of one segment. A null value marks an empty slot. Resizing publishes a new
+    // Table, so an optimistic reader always sees two arrays of the same length.
+    private static final class Table {
+
+        final long[] keys;
+        final Object[] values;
+
+        Table(int capacity) {
+            keys = new long[capacity];
+            values = new Object[capacity];
+        }
+
+        int indexOf(long key, int hash) {
+            int mask = values.length - 1;
+            int index = hash & mask;
+            for (int probes = 0; probes <= mask; probes++) {
+                if (values[index] == null) {
+                    return -1 - index;
+                }
+                if (keys[index] == key) {
+                    return index;
+                }
+                index = (index + 1) & mask;
+            }
+            return Integer.MIN_VALUE;
+        }
+    }
+
+    private static final class Segment {
+
+        private final StampedLock lock = new StampedLock();
+        private Table table = new Table(INITIAL_SEGMENT_CAPACITY);
+        private volatile int size;
+
+        Object get(long key, int hash) {
+            long stamp = lock.tryOptimisticRead();
+            Object value = find(table, key, hash);
+            if (!lock.validate(stamp)) {
+                stamp = lock.readLock();
+                try {
+                    value = find(table, key, hash);
+                } finally {
+                    lock.unlockRead(stamp);
+                }
+            }
+            return value;
+        }
+
+        Object put(long key, int hash, Object value, boolean onlyIfAbsent) {
+            long stamp = lock.writeLock();
+            try {
+                Table current = table;
+                int index = current.indexOf(key, hash);
+                if (index >= 0) {
+                    Object previous = current.values[index];
+                    if (!onlyIfAbsent) {
+                        current.values[index] = value;
+                    }
+                    return previous;
+                }
+                insert(key, hash, value, index);
+                return null;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        Object computeIfAbsent(long key, int hash, LongFunction<?> mappingFunction) {
+            long stamp = lock.writeLock();
+            try {
+                int index = table.indexOf(key, hash);
+                if (index >= 0) {
+                    return table.values[index];
+                }
+                Object value = mappingFunction.apply(key);
+                if (value != null) {
+                    insert(key, hash, value, index);
+                }
+                return value;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        Object remove(long key, int hash) {
+            long stamp = lock.writeLock();
+            try {
+                Table current = table;
+                int index = current.indexOf(key, hash);
+                if (index < 0) {
+                    return null;
+                }
+                Object previous = current.values[index];
+                deleteAt(current, index);
+                size--;
+                return previous;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        void clear() {
+            long stamp = lock.writeLock();
+            try {
+                table = new Table(INITIAL_SEGMENT_CAPACITY);
+                size = 0;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        void copyValuesTo(List<Object> target) {
+            long stamp = lock.readLock();
+            try {
+                for (Object value : table.values) {
+                    if (value != null) {
+                        target.add(value);
+                    }
+                }
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        // An optimistic probe may see a half-written slot; the caller's validate() throws the result away.
+        private static Object find(Table table, long key, int hash) {
+            Object[] values = table.values;
+            long[] keys = table.keys;
+            int mask = values.length - 1;
+            int index = hash & mask;
+            for (int probes = 0; probes <= mask; probes++) {
+                Object value = values[index];
+                if (value == null) {
+                    return null;
+                }
+                if (keys[index] == key) {
+                    return value;
+                }
+                index = (index + 1) & mask;
+            }
+            return null;
+        }
+
+        // Caller holds the write lock and passes the negative slot returned by indexOf.
+        private void insert(long key, int hash, Object value, int missingIndex) {
+            int capacity = table.values.length;
+            if ((size + 1) * 4L > capacity * 3L || missingIndex == Integer.MIN_VALUE) {
+                resize(capacity * 2);
+                missingIndex = table.indexOf(key, hash);
+            }
+            int index = -1 - missingIndex;
+            table.keys[index] = key;
+            table.values[index] = value;
+            size++;
+        }
+
+        private void resize(int capacity) {
+            if (capacity > MAX_SEGMENT_CAPACITY) {
+                throw new IllegalStateException("ConcurrentLongMap segment is full");
+            }
+            Table current = table;
+            Table grown = new Table(capacity);
+            int mask = capacity - 1;
+            for (int i = 0; i < current.values.length; i++) {
+                Object value = current.values[i];
+                if (value == null) {
+                    continue;
+                }
+                long key = current.keys[i];
+                int index = (int) hash(key) & mask;
+                while (grown.values[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                grown.keys[index] = key;
+                grown.values[index] = value;
+            }
+            table = grown;
+        }
+
+        // Backward-shift deletion: later entries of the probe run move up so no tombstones are needed.
+        private static void deleteAt(Table table, int index) {
+            long[] keys = table.keys;
+            Object[] values = table.values;
+            int mask = values.length - 1;
+            int hole = index;
+            int next = (hole + 1) & mask;
+            while (values[next] != null) {
+                int home = (int) hash(keys[next]) & mask;
+                // Move the entry into the hole unless its home slot lies cyclically in (hole, next].
+                boolean stays = hole <= next ? (hole < home && home <= next) : (hole < home || home <= next);
+                if (!stays) {
+                    keys[hole] = keys[next];
+                    values[hole] = values[next];
+                    hole = next;
+                }
+                next = (next + 1) & mask;
+            }
+            values[hole] = null;
+        }
+    }
+}
@@ -0,0 +1,405 @@
+package com.carmanagement.util;
+
+import com.carmanagement.dto.request.AddFuelRequest;
+import com.carmanagement.dto.request.CreateCarRequest;
+import com.carmanagement.dto.response.CarResponse;
+import com.carmanagement.dto.response.ErrorResponse;
+import com.carmanagement.dto.response.FuelEntryResponse;
+import com.carmanagement.dto.response.FuelStatsResponse;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Streaming codecs for the DTOs on every request path, so Gson never falls back to its reflective
+// adapter for them. Output matches the reflective one: fields in declaration order, nulls left out.
+// On read, unknown fields are skipped and bad numbers surface as JsonSyntaxException, as before.
+public final class DtoTypeAdapters {
+
+    private static final LocalDateTimeAdapter TIMESTAMPS = new LocalDateTimeAdapter();
+
+    private DtoTypeAdapters() {
+    }
+
+    public static GsonBuilder register(GsonBuilder builder) {
+        return builder
+                .registerTypeAdapter(LocalDateTime.class, TIMESTAMPS)
+                .registerTypeAdapter(CreateCarRequest.class, new CreateCarRequestAdapter())
+                .registerTypeAdapter(AddFuelRequest.class, new AddFuelRequestAdapter())
+                .registerTypeAdapter(CarResponse.class, new CarResponseAdapter())
+                .registerTypeAdapter(FuelEntryResponse.class, new FuelEntryResponseAdapter())
+                .registerTypeAdapter(FuelStatsResponse.class, new FuelStatsResponseAdapter())
+                .registerTypeAdapter(ErrorResponse.class, new ErrorResponseAdapter());
+    }
+
+    // Handles JSON null and the object braces; subclasses deal with the fields only.
+    private abstract static class DtoAdapter<T> extends TypeAdapter<T> {
+
+        @Override
+        public final void write(JsonWriter out, T value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            writeFields(out, value);
+            out.endObject();
+        }
+
+        @Override
+        public final T read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            in.beginObject();
+            T value = readFields(in);
+            in.endObject();
+            return value;
+        }
+
+        abstract void writeFields(JsonWriter out, T value) throws IOException;
+
+        // Reads name/value pairs until the end of the object, leaving the closing brace to the caller.
+        abstract T readFields(JsonReader in) throws IOException;
+    }
+
+    private static final class CreateCarRequestAdapter extends DtoAdapter<CreateCarRequest> {
+
+        @Override
+        void writeFields(JsonWriter out, CreateCarRequest value) throws IOException {
+            writeString(out, "brand", value.getBrand());
+            writeString(out, "model", value.getModel());
+            writeNumber(out, "year", value.getYear());
+        }
+
+        @Override
+        CreateCarRequest readFields(JsonReader in) throws IOException {
+            CreateCarRequest request = new CreateCarRequest();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "brand":
+                        request.setBrand(readString(in));
+                        break;
+                    case "model":
+                        request.setModel(readString(in));
+                        break;
+                    case "year":
+                        request.setYear(readInteger(in));
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            return request;
+        }
+    }
+
+    private static final class AddFuelRequestAdapter extends DtoAdapter<AddFuelRequest> {
+
+        @Override
+        void writeFields(JsonWriter out, AddFuelRequest value) throws IOException {
+            writeNumber(out, "liters", value.getLiters());
+            writeNumber(out, "price", value.getPrice());
+            writeNumber(out, "odometer", value.getOdometer());
+        }
+
+        @Override
+        AddFuelRequest readFields(JsonReader in) throws IOException {
+            AddFuelRequest request = new AddFuelRequest();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "liters":
+                        request.setLiters(readDouble(in));
+                        break;
+                    case "price":
+                        request.setPrice(readDouble(in));
+                        break;
+                    case "odometer":
+                        request.setOdometer(readLong(in));
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            return request;
+        }
+    }
+
+    private static final class CarResponseAdapter extends DtoAdapter<CarResponse> {
+
+        @Override
+        void writeFields(JsonWriter out, CarResponse value) throws IOException {
+            writeNumber(out, "id", value.getId());
+            writeString(out, "brand", value.getBrand());
+            writeString(out, "model", value.getModel());
+            writeNumber(out, "year", value.getYear());
+            writeTimestamp(out, "createdAt", value.getCreatedAt());
+        }
+
+        @Override
+        CarResponse readFields(JsonReader in) throws IOException {
+            Long id = null;
+            String brand = null;
+            String model = null;
+            Integer year = null;
+            LocalDateTime createdAt = null;
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "id":
+                        id = readLong(in);
+                        break;
+                    case "brand":
+                        brand = readString(in);
+                        break;
+                    case "model":
+                        model = readString(in);
+                        break;
+                    case "year":
+                        year = readInteger(in);
+                        break;
+                    case "createdAt":
+                        createdAt = TIMESTAMPS.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            return new CarResponse(id, brand, model, year, createdAt);
+        }
+    }
+
+    private static final class FuelEntryResponseAdapter extends DtoAdapter<FuelEntryResponse> {
+
+        @Override
+        void writeFields(JsonWriter out, FuelEntryResponse value) throws IOException {
+            writeNumber(out, "id", value.getId());
+            writeNumber(out, "carId", value.getCarId());
+            writeNumber(out, "liters", value.getLiters());
+            writeNumber(out, "price", value.getPrice());
+            writeNumber(out, "odometer", value.getOdometer());
+            writeTimestamp(out, "createdAt", value.getCreatedAt());
+        }
+
+        @Override
+        FuelEntryResponse readFields(JsonReader in) throws IOException {
+            Long id = null;
+            Long carId = null;
+            Double liters = null;
+            Double price = null;
+            Long odometer = null;
+            LocalDateTime createdAt = null;
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "id":
+                        id = readLong(in);
+                        break;
+                    case "carId":
+                        carId = readLong(in);
+                        break;
+                    case "liters":
+                        liters = readDouble(in);
+                        break;
+                    case "price":
+                        price = readDouble(in);
+                        break;
+                    case "odometer":
+                        odometer = readLong(in);
+                        break;
+                    case "createdAt":
+                        createdAt = TIMESTAMPS.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            return new FuelEntryResponse(id, carId, liters, price, odometer, createdAt);
+        }
+    }
+
+    private static final class FuelStatsResponseAdapter extends DtoAdapter<FuelStatsResponse> {
+
+        @Override
+        void writeFields(JsonWriter out, FuelStatsResponse value) throws IOException {
+            writeNumber(out, "totalFuel", value.getTotalFuel());
+            writeNumber(out, "totalCost", value.getTotalCost());
+            writeNumber(out, "averageConsumption", value.getAverageConsumption());
+            writeNumber(out, "entryCount", value.getEntryCount());
+        }
+
+        @Override
+        FuelStatsResponse readFields(JsonReader in) throws IOException {
+            Double totalFuel = null;
+            Double totalCost = null;
+            Double averageConsumption = null;
+            Integer entryCount = null;
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "totalFuel":
+                        totalFuel = readDouble(in);
+                        break;
+                    case "totalCost":
+                        totalCost = readDouble(in);
+                        break;
+                    case "averageConsumption":
+                        averageConsumption = readDouble(in);
+                        break;
+                    case "entryCount":
+                        entryCount = readInteger(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            return new FuelStatsResponse(totalFuel, totalCost, averageConsumption, entryCount);
+        }
+    }
+
+    private static final class ErrorResponseAdapter extends DtoAdapter<ErrorResponse> {
+
+        @Override
+        void writeFields(JsonWriter out, ErrorResponse value) throws IOException {
+            out.name("status").value(value.getStatus());
+            writeString(out, "error", value.getError());
+            writeString(out, "message", value.getMessage());
+            writeTimestamp(out, "timestamp", value.getTimestamp());
+            if (value.getFieldErrors() != null) {
+                out.name("fieldErrors").beginObject();
+                for (Map.Entry<String, String> fieldError : value.getFieldErrors().entrySet()) {
+                    out.name(fieldError.getKey());
+                    if (fieldError.getValue() == null) {
+                        out.nullValue();
+                    } else {
+                        out.value(fieldError.getValue());
+                    }
+                }
+                out.endObject();
+            }
+        }
+
+        @Override
+        ErrorResponse readFields(JsonReader in) throws IOException {
+            int status = 0;
+            String error = null;
+            String message = null;
+            LocalDateTime timestamp = null;
+            Map<String, String> fieldErrors = null;
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "status":
+                        Integer value = readInteger(in);
+                        status = value == null ? 0 : value;
+                        break;
+                    case "error":
+                        error = readString(in);
+                        break;
+                    case "message":
+                        message = readString(in);
+                        break;
+                    case "timestamp":
+                        timestamp = TIMESTAMPS.read(in);
+                        break;
+                    case "fieldErrors":
+                        fieldErrors = readStringMap(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            return new ErrorResponse(status, error, message, timestamp, fieldErrors);
+        }
+    }
+
+    private static void writeString(JsonWriter out, String name, String value) throws IOException {
+        if (value != null) {
+            out.name(name).value(value);
+        }
+    }
+
+    private static void writeNumber(JsonWriter out, String name, Number value) throws IOException {
+        if (value != null) {
+            // Gson's own Double adapter refuses these even though it writes leniently.
+            if (value instanceof Double && !Double.isFinite((Double) value)) {
+                throw new IllegalArgumentException(value + " is not a valid double value as per JSON specification");
+            }
+            out.name(name).value(value);
+        }
+    }
+
+    private static void writeTimestamp(JsonWriter out, String name, LocalDateTime value) throws IOException {
+        if (value != null) {
+            out.name(name);
+            TIMESTAMPS.write(out, value);
+        }
+    }
+
+    // Like Gson's own String adapter, numbers and booleans are read as their text.
+    private static String readString(JsonReader in) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        if (token == JsonToken.BOOLEAN) {
+            return Boolean.toString(in.nextBoolean());
+        }
+        return in.nextString();
+    }
+
+    private static Integer readInteger(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        try {
+            return in.nextInt();
+        } catch (NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    private static Long readLong(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        try {
+            return in.nextLong();
+        } catch (NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    private static Double readDouble(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        try {
+            return in.nextDouble();
+        } catch (NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    private static Map<String, String> readStringMap(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        Map<String, String> map = new LinkedHashMap<>();
+        in.beginObject();
+        while (in.hasNext()) {
+            map.put(in.nextName(), readString(in));
+        }
+        in.endObject();
+        return map;
+    }
+}
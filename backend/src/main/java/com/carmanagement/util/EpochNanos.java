@@ -0,0 +1,39 @@
+package com.carmanagement.util;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+// Packs a LocalDateTime into a single long (nanoseconds since the epoch, read as UTC) for binary storage.
+public final class EpochNanos {
+
+    public static final long NONE = Long.MIN_VALUE;
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final long NANOS_PER_DAY = 86_400L * NANOS_PER_SECOND;
+
+    private EpochNanos() {
+    }
+
+    public static long of(LocalDateTime value) {
+        if (value == null) {
+            return NONE;
+        }
+        return value.toEpochSecond(ZoneOffset.UTC) * NANOS_PER_SECOND + value.getNano();
+    }
+
+    public static LocalDateTime toLocalDateTime(long value) {
+        if (value == NONE) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(
+            Math.floorDiv(value, NANOS_PER_SECOND),
+            (int) Math.floorMod(value, NANOS_PER_SECOND),
+            ZoneOffset.UTC
+        );
+    }
+
+    // Epoch day of the date part, without materializing a LocalDateTime.
+    public static long toEpochDay(long value) {
+        return Math.floorDiv(value, NANOS_PER_DAY);
+    }
+}
@@ -0,0 +1,63 @@
+package com.carmanagement.util;
+
+import com.carmanagement.model.FuelEntry;
+
+// Row formats for exporting a car's fuel history. Every row ends with a newline, so rows can be
+// appended chunk by chunk. Timestamps are ISO-8601 local date-times rather than the API's display
+// format, so an export can be loaded back without loss.
+public enum FuelExportFormat {
+
+    NDJSON("application/x-ndjson"),
+    CSV("text/csv");
+
+    private static final String CSV_HEADER = "id,carId,liters,price,odometer,createdAt\n";
+
+    private final String contentType;
+
+    FuelExportFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void appendHeader(StringBuilder out) {
+        if (this == CSV) {
+            out.append(CSV_HEADER);
+        }
+    }
+
+    // No field holds free text, so nothing needs quoting or escaping.
+    public void appendRow(StringBuilder out, FuelEntry entry) {
+        if (this == CSV) {
+            out.append(entry.getId()).append(',')
+                    .append(entry.getCarId()).append(',')
+                    .append(entry.getLiters()).append(',')
+                    .append(entry.getPrice()).append(',')
+                    .append(entry.getOdometer()).append(',');
+            if (entry.getCreatedAt() != null) {
+                out.append(entry.getCreatedAt());
+            }
+        } else {
+            out.append("{\"id\":").append(entry.getId())
+                    .append(",\"carId\":").append(entry.getCarId())
+                    .append(",\"liters\":").append(entry.getLiters())
+                    .append(",\"price\":").append(entry.getPrice())
+                    .append(",\"odometer\":").append(entry.getOdometer());
+            if (entry.getCreatedAt() != null) {
+                out.append(",\"createdAt\":\"").append(entry.getCreatedAt()).append('"');
+            }
+            out.append('}');
+        }
+        out.append('\n');
+    }
+
+    public static FuelExportFormat fromString(String value) {
+        try {
+            return FuelExportFormat.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown format: " + value + " (expected ndjson or csv)");
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.carmanagement.util;
+
+import com.carmanagement.dto.request.AddFuelRequest;
+import com.carmanagement.dto.request.FuelImportRecord;
+import com.carmanagement.exception.BadRequestException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+// Pulls bulk fuel import records one at a time from a JSON array of objects or from newline-delimited
+// JSON objects, so the body is never held in memory as a whole. A record with bad field values is
+// returned with a parse error and reading continues; broken JSON ends the stream with one such record.
+public final class FuelImportReader implements Iterator<FuelImportRecord> {
+
+    private final JsonReader reader;
+    private final boolean array;
+    private long line;
+    private boolean finished;
+
+    public FuelImportReader(InputStream in) {
+        reader = new JsonReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        // Lenient mode is what lets NDJSON carry more than one top-level value.
+        reader.setLenient(true);
+        try {
+            array = reader.peek() == JsonToken.BEGIN_ARRAY;
+            if (array) {
+                reader.beginArray();
+            }
+        } catch (EOFException e) {
+            throw new BadRequestException("Request body is empty");
+        } catch (MalformedJsonException e) {
+            throw new BadRequestException("Invalid JSON format");
+        } catch (IOException e) {
+            throw new BadRequestException("Error reading request body");
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (finished) {
+            return false;
+        }
+        try {
+            boolean more = array ? reader.peek() != JsonToken.END_ARRAY : reader.peek() != JsonToken.END_DOCUMENT;
+            finished = !more;
+            return more;
+        } catch (MalformedJsonException | EOFException e) {
+            return true;
+        } catch (IOException e) {
+            throw new BadRequestException("Error reading request body");
+        }
+    }
+
+    @Override
+    public FuelImportRecord next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        line++;
+        try {
+            if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                reader.skipValue();
+                return new FuelImportRecord(line, null, null, "Expected a JSON object");
+            }
+            return readRecord();
+        } catch (MalformedJsonException | EOFException e) {
+            finished = true;
+            return new FuelImportRecord(line, null, null, "Invalid JSON format; import stopped at this line");
+        } catch (IOException e) {
+            throw new BadRequestException("Error reading request body");
+        }
+    }
+
+    private FuelImportRecord readRecord() throws IOException {
+        Long carId = null;
+        AddFuelRequest fuel = new AddFuelRequest();
+        String error = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            try {
+                switch (name) {
+                    case "carId":
+                        carId = readLong();
+                        break;
+                    case "liters":
+                        fuel.setLiters(readDouble());
+                        break;
+                    case "price":
+                        fuel.setPrice(readDouble());
+                        break;
+                    case "odometer":
+                        fuel.setOdometer(readLong());
+                        break;
+                    default:
+                        reader.skipValue();
+                }
+            } catch (NumberFormatException | IllegalStateException e) {
+                reader.skipValue();
+                if (error == null) {
+                    error = "Invalid " + name + " value";
+                }
+            }
+        }
+        reader.endObject();
+        // Lenient mode also reads NaN and Infinity, which no range check would catch later.
+        if (error == null && !isFinite(fuel.getLiters())) {
+            error = "Invalid liters value";
+        } else if (error == null && !isFinite(fuel.getPrice())) {
+            error = "Invalid price value";
+        }
+        return new FuelImportRecord(line, carId, error == null ? fuel : null, error);
+    }
+
+    private static boolean isFinite(Double value) {
+        return value == null || Double.isFinite(value);
+    }
+
+    private Long readLong() throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        return reader.nextLong();
+    }
+
+    private Double readDouble() throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        return reader.nextDouble();
+    }
+}
@@ -2,24 +2,21 @@ package com.carmanagement.util;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
-import com.google.gson.TypeAdapter;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonSyntaxException;
 import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonToken;
 import com.google.gson.stream.JsonWriter;
 
 import java.io.IOException;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.io.Writer;
 
 public final class JsonUtil {
     
     private static final Gson GSON;
     
     static {
-        GSON = new GsonBuilder()
-                .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
-                .setPrettyPrinting()
-                .create();
+        GSON = DtoTypeAdapters.register(new GsonBuilder()).create();
     }
     
     private JsonUtil() {
@@ -29,36 +26,30 @@ public final class JsonUtil {
         return GSON.toJson(object);
     }
 
+    // Streams the object into out as it is serialized, so no String copy of the document is built.
+    // Pretty output indents by two spaces; out is left open and unflushed for the caller.
+    public static void writeJson(Object object, Writer out, boolean pretty) throws IOException {
+        JsonWriter writer = GSON.newJsonWriter(out);
+        if (pretty) {
+            writer.setIndent("  ");
+        }
+        if (object == null) {
+            GSON.toJson(JsonNull.INSTANCE, writer);
+        } else {
+            GSON.toJson(object, object.getClass(), writer);
+        }
+    }
+
     public static <T> T fromJson(String json, Class<T> clazz) {
         return GSON.fromJson(json, clazz);
     }
 
-    private static class LocalDateTimeAdapter extends TypeAdapter<LocalDateTime> {
-        
-        private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("MMM dd, yyyy hh:mm a");
-
-        @Override
-        public void write(JsonWriter out, LocalDateTime value) throws IOException {
-            if (value == null) {
-                out.nullValue();
-            } else {
-                out.value(value.format(FORMATTER));
-            }
-        }
-
-        @Override
-        public LocalDateTime read(JsonReader in) throws IOException {
-            if (in.peek() == JsonToken.NULL) {
-                in.nextNull();
-                return null;
-            }
-            String dateStr = in.nextString();
-            try {
-                return LocalDateTime.parse(dateStr, FORMATTER);
-            } catch (Exception e) {
-                return LocalDateTime.parse(dateStr, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
-            }
+    // Reads one value that must make up the rest of the document, as fromJson(String) requires.
+    public static <T> T fromJson(JsonReader reader, Class<T> clazz) throws IOException {
+        T result = GSON.fromJson(reader, clazz);
+        if (reader.peek() != JsonToken.END_DOCUMENT) {
+            throw new JsonSyntaxException("JSON document was not fully consumed.");
         }
+        return result;
     }
 }
-
@@ -0,0 +1,100 @@
+package com.carmanagement.util;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+// Timestamps in the API's display format, e.g. "Jan 15, 2025 10:30 AM"; ISO date-times are accepted on read.
+// The format has minute resolution, so rendered strings are cached per minute in a direct-mapped table.
+// A miss joins the cached date part to one of the 1440 times of day, so the formatter runs once per
+// day and once per time of day rather than once per value. Entries are immutable, so racing writers
+// only cost a repeated render.
+public final class LocalDateTimeAdapter extends TypeAdapter<LocalDateTime> {
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("MMM dd, yyyy hh:mm a");
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("MMM dd, yyyy");
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("hh:mm a");
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    // Powers of two, so a slot is the key's low bits.
+    private static final int MINUTE_SLOTS = 4096;
+    private static final int DAY_SLOTS = 1024;
+
+    private final Rendered[] minutes = new Rendered[MINUTE_SLOTS];
+    private final Rendered[] days = new Rendered[DAY_SLOTS];
+    private final String[] timesOfDay = new String[MINUTES_PER_DAY];
+
+    @Override
+    public void write(JsonWriter out, LocalDateTime value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+        } else {
+            out.value(format(value));
+        }
+    }
+
+    @Override
+    public LocalDateTime read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        String dateStr = in.nextString();
+        // ISO date-times start with the year, the display format with the month name.
+        if (!dateStr.isEmpty() && !Character.isLetter(dateStr.charAt(0))) {
+            return LocalDateTime.parse(dateStr, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+        }
+        return LocalDateTime.parse(dateStr, FORMATTER);
+    }
+
+    String format(LocalDateTime value) {
+        long epochDay = value.toLocalDate().toEpochDay();
+        int minuteOfDay = value.getHour() * 60 + value.getMinute();
+        long minute = epochDay * MINUTES_PER_DAY + minuteOfDay;
+
+        int slot = (int) (minute & (MINUTE_SLOTS - 1));
+        Rendered cached = minutes[slot];
+        if (cached != null && cached.key == minute) {
+            return cached.text;
+        }
+        String text = date(epochDay) + ' ' + timeOfDay(minuteOfDay);
+        minutes[slot] = new Rendered(minute, text);
+        return text;
+    }
+
+    private String date(long epochDay) {
+        int slot = (int) (epochDay & (DAY_SLOTS - 1));
+        Rendered cached = days[slot];
+        if (cached != null && cached.key == epochDay) {
+            return cached.text;
+        }
+        String text = LocalDate.ofEpochDay(epochDay).format(DATE_FORMATTER);
+        days[slot] = new Rendered(epochDay, text);
+        return text;
+    }
+
+    private String timeOfDay(int minuteOfDay) {
+        String text = timesOfDay[minuteOfDay];
+        if (text == null) {
+            text = LocalDateTime.of(2000, 1, 1, minuteOfDay / 60, minuteOfDay % 60).format(TIME_FORMATTER);
+            timesOfDay[minuteOfDay] = text;
+        }
+        return text;
+    }
+
+    private static final class Rendered {
+
+        private final long key;
+        private final String text;
+
+        Rendered(long key, String text) {
+            this.key = key;
+            this.text = text;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.carmanagement;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Unit tests for ServerTuning.
+class ServerTuningTest {
+
+    @Test
+    @DisplayName("Should use defaults when nothing is configured")
+    void shouldUseDefaults() {
+        ServerTuning tuning = new ServerTuning(new Properties(), null);
+
+        assertEquals("platform", tuning.getThreadMode());
+        assertEquals(200, tuning.getMaxThreads());
+        assertEquals(8, tuning.getMinThreads());
+        assertEquals(0, tuning.getMaxQueuedRequests());
+        assertEquals(-1, tuning.getAcceptors());
+        assertEquals(-1, tuning.getSelectors());
+        assertEquals(30_000, tuning.getIdleTimeoutMs());
+        assertEquals(0, tuning.getAcceptQueueSize());
+        assertEquals(32 * 1024, tuning.getOutputBufferSize());
+        assertFalse(tuning.isH2c());
+        assertNull(tuning.getSource());
+        assertEquals(List.of("gzip", "deflate"), tuning.getCompressionEncodings());
+        assertEquals(1024, tuning.getCompressionThreshold());
+        assertEquals(6, tuning.getCompressionLevel());
+    }
+
+    @Test
+    @DisplayName("Should apply configured values")
+    void shouldApplyConfiguredValues() {
+        Properties properties = new Properties();
+        properties.setProperty(ServerTuning.THREADS, "virtual");
+        properties.setProperty(ServerTuning.MAX_THREADS, "64");
+        properties.setProperty(ServerTuning.MIN_THREADS, "4");
+        properties.setProperty(ServerTuning.MAX_QUEUED_REQUESTS, "1000");
+        properties.setProperty(ServerTuning.ACCEPTORS, "2");
+        properties.setProperty(ServerTuning.SELECTORS, "4");
+        properties.setProperty(ServerTuning.IDLE_TIMEOUT_MS, "5000");
+        properties.setProperty(ServerTuning.ACCEPT_QUEUE_SIZE, "1024");
+        properties.setProperty(ServerTuning.OUTPUT_BUFFER_SIZE, "65536");
+        properties.setProperty(ServerTuning.H2C, " true ");
+
+        ServerTuning tuning = new ServerTuning(properties, null);
+
+        assertEquals("virtual", tuning.getThreadMode());
+        assertEquals(64, tuning.getMaxThreads());
+        assertEquals(4, tuning.getMinThreads());
+        assertEquals(1000, tuning.getMaxQueuedRequests());
+        assertEquals(2, tuning.getAcceptors());
+        assertEquals(4, tuning.getSelectors());
+        assertEquals(5000, tuning.getIdleTimeoutMs());
+        assertEquals(1024, tuning.getAcceptQueueSize());
+        assertEquals(65536, tuning.getOutputBufferSize());
+        assertTrue(tuning.isH2c());
+    }
+
+    @Test
+    @DisplayName("Should fall back to defaults for invalid values")
+    void shouldFallBackForInvalidValues() {
+        Properties properties = new Properties();
+        properties.setProperty(ServerTuning.THREADS, "green");
+        properties.setProperty(ServerTuning.SELECTORS, "many");
+        properties.setProperty(ServerTuning.ACCEPTORS, "-5");
+        properties.setProperty(ServerTuning.MIN_THREADS, "300");
+
+        ServerTuning tuning = new ServerTuning(properties, null);
+
+        assertEquals("platform", tuning.getThreadMode());
+        assertEquals(-1, tuning.getSelectors());
+        assertEquals(-1, tuning.getAcceptors());
+        assertEquals(8, tuning.getMinThreads());
+        assertEquals(200, tuning.getMaxThreads());
+    }
+
+    @Test
+    @DisplayName("Should parse compression encodings and turn compression off with none")
+    void shouldParseCompressionSettings() {
+        Properties properties = new Properties();
+        properties.setProperty(ServerTuning.COMPRESSION_ENCODINGS, "Deflate, br, gzip, deflate");
+        properties.setProperty(ServerTuning.COMPRESSION_THRESHOLD, "0");
+        properties.setProperty(ServerTuning.COMPRESSION_LEVEL, "12");
+
+        ServerTuning tuning = new ServerTuning(properties, null);
+
+        assertEquals(List.of("deflate", "gzip"), tuning.getCompressionEncodings());
+        assertEquals(0, tuning.getCompressionThreshold());
+        assertEquals(6, tuning.getCompressionLevel());
+
+        properties.setProperty(ServerTuning.COMPRESSION_ENCODINGS, "none");
+        assertTrue(new ServerTuning(properties, null).getCompressionEncodings().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should read a properties file and let later values override it")
+    void shouldReadPropertiesFile(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("server.properties");
+        Files.writeString(file, ServerTuning.MAX_THREADS + "=64\n" + ServerTuning.H2C + "=true\n");
+
+        Properties properties = ServerTuning.readFile(file);
+        properties.setProperty(ServerTuning.MAX_THREADS, "80");
+        ServerTuning tuning = new ServerTuning(properties, file.toString());
+
+        assertEquals(80, tuning.getMaxThreads());
+        assertTrue(tuning.isH2c());
+        assertEquals(file.toString(), tuning.getSource());
+        assertThrows(UncheckedIOException.class, () -> ServerTuning.readFile(dir.resolve("missing.properties")));
+    }
+}
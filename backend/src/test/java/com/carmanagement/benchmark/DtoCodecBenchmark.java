@@ -0,0 +1,93 @@
+package com.carmanagement.benchmark;
+
+import com.carmanagement.dto.request.AddFuelRequest;
+import com.carmanagement.dto.request.CreateCarRequest;
+import com.carmanagement.dto.response.CarResponse;
+import com.carmanagement.dto.response.FuelStatsResponse;
+import com.carmanagement.util.DtoTypeAdapters;
+import com.carmanagement.util.LocalDateTimeAdapter;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Type;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Encode and decode throughput of the request/response DTOs through Gson's reflective adapter
+// against the hand-written ones in DtoTypeAdapters. Both Gsons share the timestamp adapter, so
+// the difference is the field access alone.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoCodecBenchmark {
+
+    private static final Type CAR_LIST = new TypeToken<List<CarResponse>>() { }.getType();
+
+    @Param({"reflective", "adapters"})
+    private String codec;
+
+    private Gson gson;
+    private List<CarResponse> cars;
+    private FuelStatsResponse stats;
+    private String carListJson;
+    private String createCarJson;
+    private String addFuelJson;
+
+    @Setup
+    public void setUp() {
+        GsonBuilder builder = new GsonBuilder().registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter());
+        gson = "adapters".equals(codec) ? DtoTypeAdapters.register(builder).create() : builder.create();
+
+        cars = new ArrayList<>();
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 15, 10, 30);
+        for (int i = 0; i < 100; i++) {
+            cars.add(new CarResponse((long) i + 1, "Toyota", "Corolla " + i, 2000 + i % 25, createdAt));
+        }
+        stats = new FuelStatsResponse(127.0, 157.0, 8.7, 3);
+        carListJson = gson.toJson(cars);
+        createCarJson = "{\"brand\":\"Toyota\",\"model\":\"Corolla\",\"year\":2020}";
+        addFuelJson = "{\"liters\":40.5,\"price\":52.75,\"odometer\":45000}";
+    }
+
+    @Benchmark
+    public String encodeCarList() {
+        return gson.toJson(cars, CAR_LIST);
+    }
+
+    @Benchmark
+    public String encodeStats() {
+        return gson.toJson(stats);
+    }
+
+    @Benchmark
+    public List<CarResponse> decodeCarList() {
+        return gson.fromJson(carListJson, CAR_LIST);
+    }
+
+    @Benchmark
+    public CreateCarRequest decodeCreateCar() {
+        return gson.fromJson(createCarJson, CreateCarRequest.class);
+    }
+
+    @Benchmark
+    public AddFuelRequest decodeAddFuel() {
+        return gson.fromJson(addFuelJson, AddFuelRequest.class);
+    }
+}
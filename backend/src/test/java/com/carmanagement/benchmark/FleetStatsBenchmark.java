@@ -0,0 +1,69 @@
+package com.carmanagement.benchmark;
+
+import com.carmanagement.dto.response.FleetFuelStatsResponse;
+import com.carmanagement.model.Car;
+import com.carmanagement.model.FuelEntry;
+import com.carmanagement.repository.CarRepository;
+import com.carmanagement.repository.FuelRepository;
+import com.carmanagement.service.FleetService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Fleet statistics over a 100k-car dataset at increasing pool sizes; the time per request
+// should fall close to 1/parallelism up to the number of physical cores.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FleetStatsBenchmark {
+
+    private static final String[] BRANDS = {"Toyota", "BMW", "Audi", "Ford", "Honda", "Volvo"};
+
+    @Param({"1", "2", "4", "8"})
+    private int parallelism;
+
+    @Param({"100000"})
+    private int cars;
+
+    @Param({"10"})
+    private int entriesPerCar;
+
+    private FleetService fleetService;
+
+    @Setup
+    public void setUp() {
+        CarRepository carRepository = new CarRepository();
+        FuelRepository fuelRepository = new FuelRepository();
+        for (int i = 0; i < cars; i++) {
+            Car car = carRepository.save(new Car(BRANDS[i % BRANDS.length], "Model", 2000 + i % 25));
+            for (int e = 0; e < entriesPerCar; e++) {
+                fuelRepository.save(new FuelEntry(car.getId(), 40.0, 60.0, 10000L + e * 600L));
+            }
+        }
+        fleetService = new FleetService(carRepository, fuelRepository, parallelism);
+    }
+
+    @TearDown
+    public void tearDown() {
+        fleetService.close();
+    }
+
+    @Benchmark
+    public FleetFuelStatsResponse allTime() {
+        return fleetService.getFleetFuelStats(null, null);
+    }
+}
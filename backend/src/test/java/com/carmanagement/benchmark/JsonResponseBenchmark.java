@@ -0,0 +1,97 @@
+package com.carmanagement.benchmark;
+
+import com.carmanagement.dto.response.CarResponse;
+import com.carmanagement.util.JsonUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Rendering a car list response: the old path built the pretty-printed document as a String and then
+// copied it into the response writer; the new one streams compact JSON straight into the writer.
+// Run with -prof gc for allocation per request; each method returns the characters written.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonResponseBenchmark {
+
+    private static final String[] BRANDS = {"Toyota", "BMW", "Audi", "Ford", "Honda", "Volvo"};
+
+    @Param({"100", "10000"})
+    private int cars;
+
+    private List<CarResponse> body;
+
+    @Setup
+    public void setUp() {
+        body = new ArrayList<>(cars);
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 15, 10, 30);
+        for (int i = 0; i < cars; i++) {
+            body.add(new CarResponse((long) i + 1, BRANDS[i % BRANDS.length], "Model " + i, 2000 + i % 25,
+                    createdAt.plusMinutes(i)));
+        }
+    }
+
+    @Benchmark
+    public long prettyString() throws IOException {
+        StringWriter document = new StringWriter();
+        JsonUtil.writeJson(body, document, true);
+        CountingWriter out = new CountingWriter();
+        out.write(document.toString());
+        return out.count;
+    }
+
+    @Benchmark
+    public long compactStreaming() throws IOException {
+        CountingWriter out = new CountingWriter();
+        JsonUtil.writeJson(body, out, false);
+        return out.count;
+    }
+
+    // Stands in for the container's response writer: counts what it is given and drops it.
+    private static final class CountingWriter extends Writer {
+
+        private long count;
+
+        @Override
+        public void write(int c) {
+            count++;
+        }
+
+        @Override
+        public void write(char[] buffer, int offset, int length) {
+            count += length;
+        }
+
+        @Override
+        public void write(String text, int offset, int length) {
+            count += length;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
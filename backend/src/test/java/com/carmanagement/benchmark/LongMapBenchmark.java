@@ -0,0 +1,106 @@
+package com.carmanagement.benchmark;
+
+import com.carmanagement.util.ConcurrentLongMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Lookup throughput of the repositories' primary storage: ConcurrentHashMap<Long, V> against
+// ConcurrentLongMap<V>. Keys are looked up as the primitive ids the servlets parse from the path.
+// Memory per entry is measured separately by LongMapFootprint.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LongMapBenchmark {
+
+    private static final int LOOKUP_KEYS = 1 << 16;
+
+    @Param({"10000", "1000000"})
+    private int size;
+
+    private final Map<Long, Object> concurrentHashMap = new ConcurrentHashMap<>();
+    private final ConcurrentLongMap<Object> longMap = new ConcurrentLongMap<>();
+    private long[] hitKeys;
+    private long[] missKeys;
+
+    @Setup
+    public void setUp() {
+        Object value = new Object();
+        for (long id = 1; id <= size; id++) {
+            concurrentHashMap.put(id, value);
+            longMap.put(id, value);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        hitKeys = new long[LOOKUP_KEYS];
+        missKeys = new long[LOOKUP_KEYS];
+        for (int i = 0; i < LOOKUP_KEYS; i++) {
+            hitKeys[i] = 1 + random.nextInt(size);
+            missKeys[i] = size + 1 + random.nextInt(size);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUP_KEYS)
+    public int concurrentHashMapGet() {
+        int found = 0;
+        for (long key : hitKeys) {
+            if (concurrentHashMap.get(key) != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUP_KEYS)
+    public int longMapGet() {
+        int found = 0;
+        for (long key : hitKeys) {
+            if (longMap.get(key) != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUP_KEYS)
+    public int concurrentHashMapContainsMiss() {
+        int found = 0;
+        for (long key : missKeys) {
+            if (concurrentHashMap.containsKey(key)) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUP_KEYS)
+    public int longMapContainsMiss() {
+        int found = 0;
+        for (long key : missKeys) {
+            if (longMap.containsKey(key)) {
+                found++;
+            }
+        }
+        return found;
+    }
+}
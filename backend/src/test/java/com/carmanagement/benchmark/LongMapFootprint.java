@@ -0,0 +1,49 @@
+package com.carmanagement.benchmark;
+
+import com.carmanagement.util.ConcurrentLongMap;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongConsumer;
+
+// Heap retained per entry by each map, excluding the values themselves (all entries share one value).
+// Run after mvn test-compile:
+//   java -cp backend/target/test-classes:backend/target/classes com.carmanagement.benchmark.LongMapFootprint [entries]
+public final class LongMapFootprint {
+
+    private static final int ENTRIES = 2_000_000;
+
+    private LongMapFootprint() {
+    }
+
+    public static void main(String[] args) {
+        int entries = args.length > 0 ? Integer.parseInt(args[0]) : ENTRIES;
+        Object value = new Object();
+
+        Map<Long, Object> concurrentHashMap = new ConcurrentHashMap<>();
+        report("ConcurrentHashMap<Long, V>", entries, id -> concurrentHashMap.put(id, value));
+        concurrentHashMap.clear();
+
+        ConcurrentLongMap<Object> longMap = new ConcurrentLongMap<>();
+        report("ConcurrentLongMap<V>", entries, id -> longMap.put(id, value));
+        longMap.clear();
+    }
+
+    private static void report(String name, int entries, LongConsumer put) {
+        long before = usedHeap();
+        for (long id = 1; id <= entries; id++) {
+            put.accept(id);
+        }
+        long after = usedHeap();
+        System.out.printf("%-28s %,d entries  %6.1f bytes/entry%n", name, entries,
+                (after - before) / (double) entries);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
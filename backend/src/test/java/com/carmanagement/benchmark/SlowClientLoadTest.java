@@ -0,0 +1,151 @@
+package com.carmanagement.benchmark;
+
+import com.carmanagement.Application;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Load test for the request thread pool. Slow clients trickle their POST /api/cars bodies in, so each
+// one holds a request thread while the servlet blocks reading it; a probe client times GET /health
+// alongside them. Starts the server in-process with the thread settings given as system properties.
+// Run from backend after mvn package, once per mode:
+//   java -Dcarmanagement.server.threads=virtual -cp target/test-classes:target/classes:target/lib/*
+//       com.carmanagement.benchmark.SlowClientLoadTest [clients] [seconds] [chunkDelayMs] [port]
+public final class SlowClientLoadTest {
+
+    private static final byte[] BODY = "{\"brand\":\"Toyota\",\"model\":\"Corolla\",\"year\":2020}"
+            .getBytes(StandardCharsets.UTF_8);
+    private static final int CHUNKS = 4;
+    private static final long PROBE_INTERVAL_MS = 10;
+
+    private SlowClientLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        long chunkDelayMs = args.length > 2 ? Long.parseLong(args[2]) : 500;
+        int port = args.length > 3 ? Integer.parseInt(args[3]) : 18080;
+
+        Application app = new Application(port);
+        app.start();
+        try {
+            run(port, clients, seconds, chunkDelayMs);
+        } finally {
+            app.stop();
+        }
+    }
+
+    private static void run(int port, int clients, int seconds, long chunkDelayMs) throws InterruptedException {
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        AtomicLong failures = new AtomicLong();
+        List<List<Long>> slowLatencies = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+
+        for (int i = 0; i < clients; i++) {
+            List<Long> latencies = new ArrayList<>();
+            slowLatencies.add(latencies);
+            threads.add(start("slow-client-" + i, () -> {
+                while (System.nanoTime() < deadline) {
+                    long began = System.nanoTime();
+                    if (slowPost(port, chunkDelayMs)) {
+                        latencies.add(System.nanoTime() - began);
+                    } else {
+                        failures.incrementAndGet();
+                    }
+                }
+            }));
+        }
+
+        List<Long> probeLatencies = new ArrayList<>();
+        threads.add(start("probe", () -> {
+            while (System.nanoTime() < deadline) {
+                long began = System.nanoTime();
+                if (exchange(port, "GET /health HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\n\r\n",
+                        null, 0, "HTTP/1.1 200")) {
+                    probeLatencies.add(System.nanoTime() - began);
+                } else {
+                    failures.incrementAndGet();
+                }
+                sleep(PROBE_INTERVAL_MS);
+            }
+        }));
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        List<Long> slow = new ArrayList<>();
+        slowLatencies.forEach(slow::addAll);
+        System.out.println();
+        System.out.printf("threads=%s clients=%d seconds=%d chunkDelayMs=%d%n",
+                System.getProperty("carmanagement.server.threads", "platform"), clients, seconds, chunkDelayMs);
+        System.out.printf("slow POST   %,8d ok  %8.1f req/s  p50 %7.1f ms  p99 %7.1f ms%n",
+                slow.size(), slow.size() / (double) seconds, percentile(slow, 50), percentile(slow, 99));
+        System.out.printf("probe GET   %,8d ok                 p50 %7.1f ms  p99 %7.1f ms%n",
+                probeLatencies.size(), percentile(probeLatencies, 50), percentile(probeLatencies, 99));
+        System.out.printf("failures    %,8d%n", failures.get());
+    }
+
+    private static boolean slowPost(int port, long chunkDelayMs) {
+        String head = "POST /api/cars HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\n"
+                + "Content-Type: application/json\r\nContent-Length: " + BODY.length + "\r\n\r\n";
+        return exchange(port, head, BODY, chunkDelayMs, "HTTP/1.1 201");
+    }
+
+    // One request per connection; the body, if any, is written in CHUNKS pieces with a pause before each.
+    private static boolean exchange(int port, String head, byte[] body, long chunkDelayMs, String expectedStatus) {
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress("localhost", port), 30_000);
+            socket.setSoTimeout(60_000);
+            OutputStream out = socket.getOutputStream();
+            out.write(head.getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            if (body != null) {
+                int chunk = (body.length + CHUNKS - 1) / CHUNKS;
+                for (int offset = 0; offset < body.length; offset += chunk) {
+                    sleep(chunkDelayMs);
+                    out.write(body, offset, Math.min(chunk, body.length - offset));
+                    out.flush();
+                }
+            }
+            InputStream in = socket.getInputStream();
+            byte[] response = in.readAllBytes();
+            return new String(response, 0, Math.min(response.length, expectedStatus.length()),
+                    StandardCharsets.US_ASCII).equals(expectedStatus);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static double percentile(List<Long> latencies, int percentile) {
+        if (latencies.isEmpty()) {
+            return 0;
+        }
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    private static Thread start(String name, Runnable task) {
+        Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.carmanagement.benchmark;
+
+import com.carmanagement.dto.response.CarResponse;
+import com.carmanagement.util.LocalDateTimeAdapter;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Serializing a 10k-car list, and its timestamps alone, with createdAt rendered by the display formatter
+// on every value against LocalDateTimeAdapter's per-minute cache. "batch" cars were created within a few minutes of each
+// other; "spread" cars at random minutes over five years, so most cached lookups miss.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TimestampListBenchmark {
+
+    @Param({"formatter", "cached"})
+    private String timestamps;
+
+    @Param({"batch", "spread"})
+    private String createdAt;
+
+    private Gson gson;
+    private TypeAdapter<LocalDateTime> adapter;
+    private List<CarResponse> cars;
+
+    @Setup
+    public void setUp() {
+        adapter = "cached".equals(timestamps)
+                ? new LocalDateTimeAdapter() : new FormatterAdapter();
+        // Reflective CarResponse, so the registered timestamp adapter is the one that runs.
+        gson = new GsonBuilder().registerTypeAdapter(LocalDateTime.class, adapter).create();
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalDateTime start = LocalDateTime.of(2021, 1, 1, 8, 0);
+        cars = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            int minutes = "batch".equals(createdAt) ? i / 2500 : random.nextInt(5 * 365 * 24 * 60);
+            cars.add(new CarResponse((long) i + 1, "Toyota", "Corolla", 2020, start.plusMinutes(minutes)));
+        }
+    }
+
+    @Benchmark
+    public String serializeList() {
+        return gson.toJson(cars);
+    }
+
+    // The createdAt values of the same list on their own, into a writer that drops its input.
+    @Benchmark
+    public JsonWriter writeTimestamps() throws IOException {
+        JsonWriter out = new JsonWriter(Writer.nullWriter());
+        out.beginArray();
+        for (CarResponse car : cars) {
+            adapter.write(out, car.getCreatedAt());
+        }
+        out.endArray();
+        return out;
+    }
+
+    // The adapter as it was: one DateTimeFormatter.format per value.
+    private static final class FormatterAdapter extends TypeAdapter<LocalDateTime> {
+
+        private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("MMM dd, yyyy hh:mm a");
+
+        @Override
+        public void write(JsonWriter out, LocalDateTime value) throws IOException {
+            out.value(value.format(FORMATTER));
+        }
+
+        @Override
+        public LocalDateTime read(JsonReader in) throws IOException {
+            return LocalDateTime.parse(in.nextString(), FORMATTER);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.carmanagement.persistence;
+
+import com.carmanagement.model.Car;
+import com.carmanagement.model.FuelEntry;
+import com.carmanagement.repository.CarRepository;
+import com.carmanagement.repository.ColumnarFuelRepository;
+import com.carmanagement.repository.FuelRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Unit tests for SnapshotFile and snapshot-based recovery in PersistenceManager.
+class SnapshotFileTest {
+
+    @TempDir
+    Path dataDir;
+
+    @Test
+    @DisplayName("Should round-trip cars and fuel entries through a snapshot")
+    void shouldRoundTripSnapshot() throws IOException {
+        CarRepository cars = new CarRepository();
+        FuelRepository fuel = new FuelRepository();
+        Car car = new Car("Škoda", "Octavia", 2019);
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 2, 3, 4, 5, 6000);
+        car.setCreatedAt(createdAt);
+        cars.save(car);
+        cars.save(new Car(null, "Unknown", null));
+        fuel.save(new FuelEntry(1L, 40.0, 50.5, 40000L));
+        fuel.save(new FuelEntry(1L, 45.0, 55.5, 40500L));
+
+        SnapshotFile.Summary written = SnapshotFile.write(dataDir, 7, cars, fuel);
+
+        CarRepository restoredCars = new CarRepository();
+        ColumnarFuelRepository restoredFuel = new ColumnarFuelRepository();
+        SnapshotFile.Summary restored = SnapshotFile.restoreLatest(dataDir, restoredCars, restoredFuel);
+
+        assertEquals(7, restored.getWalSegment());
+        assertEquals(2, written.getCars());
+        assertEquals(2, restored.getFuelEntries());
+        Car restoredCar = restoredCars.findAll().stream().filter(c -> c.getId() == 1L).findFirst().orElseThrow();
+        assertEquals("Škoda", restoredCar.getBrand());
+        assertEquals(createdAt, restoredCar.getCreatedAt());
+        Car partialCar = restoredCars.findAll().stream().filter(c -> c.getId() == 2L).findFirst().orElseThrow();
+        assertNull(partialCar.getBrand());
+        assertNull(partialCar.getYear());
+        assertEquals(85.0, restoredFuel.getAggregateByCarId(1L).getTotalLiters());
+        assertEquals(106.0, restoredFuel.getAggregateByCarId(1L).getTotalCost());
+    }
+
+    @Test
+    @DisplayName("Should return null when there is no snapshot")
+    void shouldReturnNullWithoutSnapshot() throws IOException {
+        assertNull(SnapshotFile.restoreLatest(dataDir, new CarRepository(), new FuelRepository()));
+    }
+
+    @Test
+    @DisplayName("Should recover from snapshot plus log tail and drop sealed segments")
+    void shouldRecoverFromSnapshotAndTail() throws IOException {
+        try (PersistenceManager persistence = new PersistenceManager(dataDir, FsyncPolicy.OS, 10, 0)) {
+            persistence.open(new CarRepository(), new FuelRepository());
+            persistence.getCarRepository().save(new Car("Toyota", "Corolla", 2018));
+            for (int i = 1; i <= 100; i++) {
+                persistence.getFuelRepository().appendIfOdometerNotDecreasing(
+                        new FuelEntry(1L, 10.0, 12.0, i * 100L));
+            }
+            persistence.snapshot();
+            persistence.getFuelRepository().appendIfOdometerNotDecreasing(new FuelEntry(1L, 10.0, 12.0, 20000L));
+            persistence.getCarRepository().deleteById(1L);
+        }
+
+        CarRepository cars = new CarRepository();
+        FuelRepository fuel = new FuelRepository();
+        try (PersistenceManager persistence = new PersistenceManager(dataDir, FsyncPolicy.OS, 10, 0)) {
+            persistence.open(cars, fuel);
+
+            assertEquals(100, persistence.getRestoredSnapshot().getFuelEntries());
+            assertEquals(2, persistence.getReplayedRecords());
+        }
+
+        assertEquals(0, cars.count());
+        assertEquals(101, fuel.count());
+        assertEquals(20000L, fuel.getMaxOdometerByCarId(1L));
+        try (Stream<Path> files = Files.list(dataDir)) {
+            assertEquals(0, files.filter(p -> p.getFileName().toString().equals("journal-0000000000000001.wal")).count());
+        }
+    }
+}
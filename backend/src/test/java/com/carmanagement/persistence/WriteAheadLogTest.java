@@ -0,0 +1,439 @@
+package com.carmanagement.persistence;
+
+import com.carmanagement.exception.InternalServerException;
+import com.carmanagement.model.Car;
+import com.carmanagement.model.FuelEntry;
+import com.carmanagement.repository.CarQuery;
+import com.carmanagement.repository.CarRepository;
+import com.carmanagement.repository.ColumnarFuelRepository;
+import com.carmanagement.repository.FuelRepository;
+import com.carmanagement.repository.FuelRepositoryInterface;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Unit tests for WriteAheadLog and the durable repository decorators.
+class WriteAheadLogTest {
+
+    @TempDir
+    Path dataDir;
+
+    @Test
+    @DisplayName("Should replay appended records in order after reopening")
+    void shouldReplayRecordsInOrder() throws IOException {
+        try (WriteAheadLog wal = new WriteAheadLog(dataDir, FsyncPolicy.ALWAYS, 10)) {
+            wal.open(record -> fail("New log should be empty"));
+            wal.append((byte) 1, new byte[] {10});
+            wal.append((byte) 2, new byte[] {20, 21});
+            wal.append((byte) 3, new byte[0]);
+        }
+
+        List<WalRecord> replayed = new ArrayList<>();
+        try (WriteAheadLog wal = new WriteAheadLog(dataDir, FsyncPolicy.ALWAYS, 10)) {
+            assertEquals(3, wal.open(replayed::add));
+        }
+
+        assertEquals(1, replayed.get(0).getType());
+        assertArrayEquals(new byte[] {20, 21}, replayed.get(1).getPayload());
+        assertEquals(0, replayed.get(2).getPayload().length);
+    }
+
+    @Test
+    @DisplayName("Should truncate a torn record at the end of the log")
+    void shouldTruncateTornTail() throws IOException {
+        Path file = dataDir.resolve("journal-0000000000000001.wal");
+        try (WriteAheadLog wal = new WriteAheadLog(dataDir, FsyncPolicy.OS, 10)) {
+            wal.open(record -> { });
+            wal.append((byte) 1, new byte[] {1, 2, 3});
+            wal.append((byte) 1, new byte[] {4, 5, 6});
+        }
+        long intactLength = Files.size(file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(intactLength - 2);
+        }
+
+        List<WalRecord> replayed = new ArrayList<>();
+        try (WriteAheadLog wal = new WriteAheadLog(dataDir, FsyncPolicy.OS, 10)) {
+            wal.open(replayed::add);
+            wal.append((byte) 1, new byte[] {7});
+        }
+        replayed.clear();
+        try (WriteAheadLog wal = new WriteAheadLog(dataDir, FsyncPolicy.OS, 10)) {
+            wal.open(replayed::add);
+        }
+
+        assertEquals(2, replayed.size());
+        assertArrayEquals(new byte[] {1, 2, 3}, replayed.get(0).getPayload());
+        assertArrayEquals(new byte[] {7}, replayed.get(1).getPayload());
+    }
+
+    @Test
+    @DisplayName("Should cut a partially written batch off the log so later appends survive replay")
+    void shouldDiscardTornBatch() throws IOException {
+        FailingChannel[] channel = new FailingChannel[1];
+        try (WriteAheadLog wal = failingLog(channel)) {
+            wal.open(record -> { });
+            wal.append((byte) 1, new byte[] {1});
+            channel[0].tearWrites = true;
+            assertThrows(InternalServerException.class, () -> wal.append((byte) 1, new byte[] {2, 2, 2, 2}));
+            channel[0].tearWrites = false;
+            wal.append((byte) 1, new byte[] {3});
+        }
+
+        List<WalRecord> replayed = new ArrayList<>();
+        try (WriteAheadLog wal = new WriteAheadLog(dataDir, FsyncPolicy.ALWAYS, 10)) {
+            wal.open(replayed::add);
+        }
+
+        assertEquals(2, replayed.size());
+        assertArrayEquals(new byte[] {1}, replayed.get(0).getPayload());
+        assertArrayEquals(new byte[] {3}, replayed.get(1).getPayload());
+    }
+
+    @Test
+    @DisplayName("Should reject appends once a partial write cannot be cut off")
+    void shouldRejectAppendsAfterUnrecoverableWrite() throws IOException {
+        FailingChannel[] channel = new FailingChannel[1];
+        try (WriteAheadLog wal = failingLog(channel)) {
+            wal.open(record -> { });
+            wal.append((byte) 1, new byte[] {1});
+            channel[0].tearWrites = true;
+            channel[0].failTruncate = true;
+            assertThrows(InternalServerException.class, () -> wal.append((byte) 1, new byte[] {2, 2, 2, 2}));
+            channel[0].tearWrites = false;
+            assertThrows(InternalServerException.class, () -> wal.append((byte) 1, new byte[] {3}));
+        }
+
+        List<WalRecord> replayed = new ArrayList<>();
+        try (WriteAheadLog wal = new WriteAheadLog(dataDir, FsyncPolicy.ALWAYS, 10)) {
+            wal.open(replayed::add);
+        }
+
+        assertEquals(1, replayed.size());
+        assertArrayEquals(new byte[] {1}, replayed.get(0).getPayload());
+    }
+
+    @Test
+    @DisplayName("Should replay only segments from the requested one after rotation")
+    void shouldReplayFromRotatedSegment() throws IOException {
+        long segment;
+        try (WriteAheadLog wal = new WriteAheadLog(dataDir, FsyncPolicy.ALWAYS, 10)) {
+            wal.open(record -> { });
+            wal.append((byte) 1, new byte[] {1});
+            segment = wal.rotate();
+            wal.append((byte) 1, new byte[] {2});
+            wal.deleteSegmentsBefore(segment);
+        }
+
+        List<WalRecord> replayed = new ArrayList<>();
+        try (WriteAheadLog wal = new WriteAheadLog(dataDir, FsyncPolicy.ALWAYS, 10)) {
+            wal.open(segment, replayed::add);
+            assertEquals(segment, wal.getActiveSegment());
+        }
+
+        assertEquals(2L, segment);
+        assertEquals(1, replayed.size());
+        assertArrayEquals(new byte[] {2}, replayed.get(0).getPayload());
+        assertFalse(Files.exists(dataDir.resolve("journal-0000000000000001.wal")));
+    }
+
+    @Test
+    @DisplayName("Should group concurrent appends into shared commits")
+    void shouldGroupConcurrentAppends() throws Exception {
+        int threads = 8;
+        int appendsPerThread = 200;
+
+        WalStats stats;
+        try (WriteAheadLog wal = new WriteAheadLog(dataDir, FsyncPolicy.ALWAYS, 10)) {
+            wal.open(record -> { });
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < appendsPerThread; i++) {
+                        wal.append((byte) 1, new byte[16]);
+                    }
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get(60, TimeUnit.SECONDS);
+            }
+            executor.shutdown();
+            stats = wal.getStats();
+        }
+
+        assertEquals(threads * appendsPerThread, stats.getRecords());
+        assertTrue(stats.getCommits() <= stats.getRecords());
+        assertEquals(stats.getCommits(), stats.getFsyncs());
+        assertTrue(stats.getMaxBatchSize() >= 1);
+
+        long[] replayed = new long[1];
+        try (WriteAheadLog wal = new WriteAheadLog(dataDir, FsyncPolicy.ALWAYS, 10)) {
+            wal.open(record -> replayed[0]++);
+        }
+        assertEquals(threads * appendsPerThread, replayed[0]);
+    }
+
+    @Test
+    @DisplayName("Should log each car's concurrent fuel appends in the order they were applied")
+    void shouldLogFuelAppendsInApplyOrder() throws Exception {
+        int threads = 8;
+        int appendsPerThread = 200;
+        FuelRepository fuel = new FuelRepository();
+
+        try (WriteAheadLog wal = new WriteAheadLog(dataDir, FsyncPolicy.OS, 10)) {
+            wal.open(record -> { });
+            DurableFuelRepository durableFuel = new DurableFuelRepository(fuel, wal);
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                long carId = 1 + t % 2;
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < appendsPerThread; i++) {
+                        // Equal readings keep their write order, so memory order is apply order.
+                        assertNotNull(durableFuel.appendIfOdometerNotDecreasing(new FuelEntry(carId, 40.0, 50.0, 1000L)));
+                    }
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get(60, TimeUnit.SECONDS);
+            }
+            executor.shutdown();
+        }
+
+        CarRepository cars = new CarRepository();
+        FuelRepository replayed = new FuelRepository();
+        try (WriteAheadLog wal = new WriteAheadLog(dataDir, FsyncPolicy.OS, 10)) {
+            assertEquals(threads * appendsPerThread, wal.open(record -> JournalRecords.apply(record, cars, replayed)));
+        }
+
+        for (long carId = 1; carId <= 2; carId++) {
+            assertEquals(ids(fuel.findByCarId(carId)), ids(replayed.findByCarId(carId)));
+        }
+    }
+
+    @Test
+    @DisplayName("Should leave fuel entries out of memory when their commit fails")
+    void shouldNotApplyFuelWritesWhoseCommitFailed() throws IOException {
+        FailingChannel[] channel = new FailingChannel[1];
+        try (WriteAheadLog wal = failingLog(channel)) {
+            wal.open(record -> { });
+            for (FuelRepositoryInterface fuel : List.of(new FuelRepository(), new ColumnarFuelRepository())) {
+                DurableFuelRepository durableFuel = new DurableFuelRepository(fuel, wal);
+                durableFuel.appendIfOdometerNotDecreasing(new FuelEntry(1L, 40.0, 50.0, 1000L));
+
+                channel[0].tearWrites = true;
+                assertThrows(InternalServerException.class,
+                        () -> durableFuel.appendIfOdometerNotDecreasing(new FuelEntry(1L, 45.0, 55.0, 2000L)));
+                assertThrows(InternalServerException.class, () -> durableFuel.appendAllIfOdometerNotDecreasing(1L,
+                        List.of(new FuelEntry(1L, 30.0, 35.0, 3000L), new FuelEntry(1L, 35.0, 40.0, 4000L))));
+                assertThrows(InternalServerException.class,
+                        () -> durableFuel.save(new FuelEntry(2L, 20.0, 25.0, 500L)));
+                channel[0].tearWrites = false;
+
+                assertEquals(1, fuel.count());
+                assertEquals(List.of(1000L), fuel.findByCarId(1L).stream().map(FuelEntry::getOdometer).toList());
+                assertEquals(1000L, fuel.getMaxOdometerByCarId(1L));
+                assertTrue(fuel.findByCarId(2L).isEmpty());
+                assertNotNull(durableFuel.appendIfOdometerNotDecreasing(new FuelEntry(1L, 45.0, 55.0, 2000L)));
+                durableFuel.clear();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should leave cars out of memory when their commit fails")
+    void shouldNotApplyCarWritesWhoseCommitFailed() throws IOException {
+        FailingChannel[] channel = new FailingChannel[1];
+        try (WriteAheadLog wal = failingLog(channel)) {
+            wal.open(record -> { });
+            CarRepository cars = new CarRepository();
+            DurableCarRepository durableCars = new DurableCarRepository(cars, wal);
+            Car kept = durableCars.save(new Car("Toyota", "Corolla", 2018));
+
+            channel[0].tearWrites = true;
+            assertThrows(InternalServerException.class, () -> durableCars.save(new Car("Honda", "Civic", 2020)));
+            assertThrows(InternalServerException.class, () -> durableCars.saveAll(
+                    List.of(new Car("Ford", "Focus", 2019), new Car("Mazda", "3", 2021))));
+            assertThrows(InternalServerException.class, () -> durableCars.deleteById(kept.getId()));
+            channel[0].tearWrites = false;
+
+            assertEquals(1, cars.count());
+            assertEquals(List.of(kept), cars.findAll());
+            assertTrue(cars.findMatching(new CarQuery("Honda", null, null, null, null), 0, 10).isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("Should restore cars and fuel entries through the durable repositories")
+    void shouldRestoreRepositoriesFromLog() throws IOException {
+        try (WriteAheadLog wal = new WriteAheadLog(dataDir, FsyncPolicy.INTERVAL, 5)) {
+            CarRepository cars = new CarRepository();
+            FuelRepository fuel = new FuelRepository();
+            wal.open(record -> JournalRecords.apply(record, cars, fuel));
+            DurableCarRepository durableCars = new DurableCarRepository(cars, wal);
+            DurableFuelRepository durableFuel = new DurableFuelRepository(fuel, wal);
+
+            durableCars.save(new Car("Toyota", "Corolla", 2018));
+            durableCars.save(new Car("Honda", "Civic", 2020));
+            durableCars.deleteById(2L);
+            durableFuel.appendIfOdometerNotDecreasing(new FuelEntry(1L, 40.0, 50.0, 40000L));
+            durableFuel.appendIfOdometerNotDecreasing(new FuelEntry(1L, 45.0, 55.0, 40500L));
+        }
+
+        CarRepository cars = new CarRepository();
+        FuelRepository fuel = new FuelRepository();
+        try (WriteAheadLog wal = new WriteAheadLog(dataDir, FsyncPolicy.INTERVAL, 5)) {
+            assertEquals(5, wal.open(record -> JournalRecords.apply(record, cars, fuel)));
+        }
+
+        assertEquals(1, cars.count());
+        assertEquals("Corolla", cars.findAll().get(0).getModel());
+        assertEquals(2, fuel.findByCarId(1L).size());
+        assertEquals(85.0, fuel.getAggregateByCarId(1L).getTotalLiters());
+        assertEquals(3L, cars.save(new Car("Ford", "Focus", 2019)).getId());
+        assertEquals(3L, fuel.save(new FuelEntry(1L, 30.0, 35.0, 41000L)).getId());
+    }
+
+    private static List<Long> ids(List<FuelEntry> entries) {
+        return entries.stream().map(FuelEntry::getId).toList();
+    }
+
+    private WriteAheadLog failingLog(FailingChannel[] channel) {
+        return new WriteAheadLog(dataDir, FsyncPolicy.ALWAYS, 10) {
+            @Override
+            FileChannel openChannel(Path path) throws IOException {
+                channel[0] = new FailingChannel(super.openChannel(path));
+                return channel[0];
+            }
+        };
+    }
+
+    // Delegating channel whose gathering writes can be made to stop half-way through the first frame,
+    // as a full disk would, and whose truncate can be made to fail.
+    private static final class FailingChannel extends FileChannel {
+
+        private final FileChannel delegate;
+        private volatile boolean tearWrites;
+        private volatile boolean failTruncate;
+
+        FailingChannel(FileChannel delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+            if (tearWrites) {
+                ByteBuffer first = srcs[offset].duplicate();
+                first.limit(first.position() + first.remaining() / 2);
+                delegate.write(first);
+                throw new IOException("No space left on device");
+            }
+            return delegate.write(srcs, offset, length);
+        }
+
+        @Override
+        public FileChannel truncate(long size) throws IOException {
+            if (failTruncate) {
+                throw new IOException("Input/output error");
+            }
+            delegate.truncate(size);
+            return this;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            return delegate.read(dst);
+        }
+
+        @Override
+        public long read(ByteBuffer[] dsts, int offset, int length) throws IOException {
+            return delegate.read(dsts, offset, length);
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            return delegate.write(src);
+        }
+
+        @Override
+        public long position() throws IOException {
+            return delegate.position();
+        }
+
+        @Override
+        public FileChannel position(long newPosition) throws IOException {
+            delegate.position(newPosition);
+            return this;
+        }
+
+        @Override
+        public long size() throws IOException {
+            return delegate.size();
+        }
+
+        @Override
+        public void force(boolean metaData) throws IOException {
+            delegate.force(metaData);
+        }
+
+        @Override
+        public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+            return delegate.transferTo(position, count, target);
+        }
+
+        @Override
+        public long transferFrom(ReadableByteChannel src, long position, long count) throws IOException {
+            return delegate.transferFrom(src, position, count);
+        }
+
+        @Override
+        public int read(ByteBuffer dst, long position) throws IOException {
+            return delegate.read(dst, position);
+        }
+
+        @Override
+        public int write(ByteBuffer src, long position) throws IOException {
+            return delegate.write(src, position);
+        }
+
+        @Override
+        public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
+            return delegate.map(mode, position, size);
+        }
+
+        @Override
+        public FileLock lock(long position, long size, boolean shared) throws IOException {
+            return delegate.lock(position, size, shared);
+        }
+
+        @Override
+        public FileLock tryLock(long position, long size, boolean shared) throws IOException {
+            return delegate.tryLock(position, size, shared);
+        }
+
+        @Override
+        protected void implCloseChannel() throws IOException {
+            delegate.close();
+        }
+    }
+}
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -56,6 +57,24 @@ class CarRepositoryTest {
         assertEquals(3, cars.size());
     }
 
+    @Test
+    @DisplayName("Should find all cars in ascending id order")
+    void shouldFindAllCarsInIdOrder() {
+        for (long id = 8; id >= 1; id--) {
+            Car car = new Car("Brand" + id, "Model", 2020);
+            car.setId(id);
+            repository.save(car);
+        }
+        repository.save(new Car("Toyota", "Corolla", 2020));
+
+        List<Car> cars = repository.findAll();
+
+        assertEquals(9, cars.size());
+        for (int i = 0; i < cars.size(); i++) {
+            assertEquals(i + 1L, cars.get(i).getId());
+        }
+    }
+
     @Test
     @DisplayName("Should return empty list when no cars")
     void shouldReturnEmptyListWhenNoCars() {
@@ -114,5 +133,86 @@ class CarRepositoryTest {
         assertEquals(0, repository.count());
         assertTrue(repository.findAll().isEmpty());
     }
-}
 
+    @Test
+    @DisplayName("Should return pages in ascending id order after a given id")
+    void shouldFindPageAfterId() {
+        for (int i = 0; i < 5; i++) {
+            repository.save(new Car("Toyota", "Corolla", 2020));
+        }
+        repository.deleteById(3L);
+
+        List<Car> first = repository.findPage(0, 2);
+        List<Car> second = repository.findPage(2L, 2);
+
+        assertEquals(List.of(1L, 2L), first.stream().map(Car::getId).toList());
+        assertEquals(List.of(4L, 5L), second.stream().map(Car::getId).toList());
+        assertTrue(repository.findPage(5L, 2).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should find cars by normalized brand, model and year")
+    void shouldFindByBrandModelAndYear() {
+        repository.save(new Car("Toyota", "Corolla", 2019));
+        repository.save(new Car("toyota ", "Corolla", 2020));
+        repository.save(new Car("Toyota", "Camry", 2019));
+        repository.save(new Car("Honda", "Corolla", 2019));
+
+        List<Car> cars = repository.findMatching(new CarQuery("TOYOTA", "corolla", 2019, null, null), 0, 10);
+        List<Car> toyotas = repository.findMatching(new CarQuery("toyota", null, null, null, null), 0, 10);
+
+        assertEquals(List.of(1L), cars.stream().map(Car::getId).toList());
+        assertEquals(List.of(1L, 2L, 3L), toyotas.stream().map(Car::getId).toList());
+        assertTrue(repository.findMatching(new CarQuery("Ford", null, null, null, null), 0, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should find cars in a year range in id order across years")
+    void shouldFindByYearRange() {
+        repository.save(new Car("Toyota", "Corolla", 2021));
+        repository.save(new Car("Honda", "Civic", 2015));
+        repository.save(new Car("Ford", "Focus", 2019));
+        repository.save(new Car("Kia", "Rio", 2020));
+
+        List<Car> cars = repository.findMatching(new CarQuery(null, null, null, 2019, 2021), 0, 10);
+        List<Car> afterFirst = repository.findMatching(new CarQuery(null, null, null, 2019, null), 1L, 1);
+
+        assertEquals(List.of(1L, 3L, 4L), cars.stream().map(Car::getId).toList());
+        assertEquals(List.of(3L), afterFirst.stream().map(Car::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Should keep indexes consistent on re-save and delete")
+    void shouldKeepIndexesConsistent() {
+        Car car = repository.save(new Car("Toyota", "Corolla", 2019));
+        repository.save(new Car("Toyota", "Yaris", 2019));
+
+        Car updated = new Car("Honda", "Civic", 2022);
+        updated.setId(car.getId());
+        repository.save(updated);
+        repository.deleteById(2L);
+
+        assertTrue(repository.findMatching(new CarQuery("Toyota", null, null, null, null), 0, 10).isEmpty());
+        assertTrue(repository.findMatching(new CarQuery(null, null, 2019, null, null), 0, 10).isEmpty());
+        assertEquals(1, repository.findMatching(new CarQuery("honda", "civic", 2022, null, null), 0, 10).size());
+    }
+
+    @Test
+    @DisplayName("Should save a batch under a contiguous id block")
+    void shouldSaveBatchWithContiguousIds() {
+        repository.save(new Car("Toyota", "Corolla", 2020));
+        List<Car> batch = Arrays.asList(
+            new Car("BMW", "X5", 2019),
+            new Car("Audi", "A4", 2018),
+            new Car("BMW", "X3", 2021));
+
+        repository.saveAll(batch);
+
+        assertEquals(2L, batch.get(0).getId());
+        assertEquals(3L, batch.get(1).getId());
+        assertEquals(4L, batch.get(2).getId());
+        assertEquals(4, repository.count());
+        assertEquals(2, repository.findMatching(new CarQuery("bmw", null, null, null, null), 0, 10).size());
+        assertEquals(5L, repository.save(new Car("Ford", "Focus", 2017)).getId());
+    }
+}
@@ -0,0 +1,162 @@
+package com.carmanagement.repository;
+
+import com.carmanagement.model.FuelEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Unit tests for ColumnarFuelRepository.
+class ColumnarFuelRepositoryTest {
+
+    private ColumnarFuelRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new ColumnarFuelRepository();
+    }
+
+    @Test
+    @DisplayName("Should assign IDs and round-trip entry fields")
+    void shouldRoundTripEntries() {
+        FuelEntry entry = new FuelEntry(1L, 40.5, 52.25, 45000L);
+        LocalDateTime createdAt = LocalDateTime.of(2025, 12, 29, 20, 30, 15, 123456789);
+        entry.setCreatedAt(createdAt);
+
+        repository.save(entry);
+        List<FuelEntry> entries = repository.findByCarId(1L);
+
+        assertEquals(1L, entry.getId());
+        assertEquals(1, entries.size());
+        FuelEntry stored = entries.get(0);
+        assertEquals(1L, stored.getId());
+        assertEquals(1L, stored.getCarId());
+        assertEquals(40.5, stored.getLiters());
+        assertEquals(52.25, stored.getPrice());
+        assertEquals(45000L, stored.getOdometer());
+        assertEquals(createdAt, stored.getCreatedAt());
+    }
+
+    @Test
+    @DisplayName("Should grow past initial capacity and return entries sorted by odometer")
+    void shouldGrowAndSortByOdometer() {
+        for (int i = 100; i > 0; i--) {
+            repository.save(new FuelEntry(1L, 10.0, 12.0, i * 100L));
+        }
+
+        List<FuelEntry> entries = repository.findByCarId(1L);
+
+        assertEquals(100, entries.size());
+        assertEquals(100L, entries.get(0).getOdometer());
+        assertEquals(10000L, entries.get(99).getOdometer());
+        assertEquals(100, repository.count());
+    }
+
+    @Test
+    @DisplayName("Should maintain aggregate and max odometer")
+    void shouldMaintainAggregate() {
+        repository.save(new FuelEntry(1L, 40.0, 50.0, 40000L));
+        repository.save(new FuelEntry(1L, 45.0, 55.0, 40500L));
+        repository.save(new FuelEntry(1L, 50.0, 60.0, 41000L));
+
+        FuelAggregate aggregate = repository.getAggregateByCarId(1L);
+
+        assertEquals(3, aggregate.getEntryCount());
+        assertEquals(135.0, aggregate.getTotalLiters());
+        assertEquals(95.0, aggregate.getLitersExcludingFirst());
+        assertEquals(41000L, repository.getMaxOdometerByCarId(1L));
+        assertNull(repository.getMaxOdometerByCarId(2L));
+    }
+
+    @Test
+    @DisplayName("Should move an entry between cars when re-saved")
+    void shouldMoveEntryBetweenCars() {
+        FuelEntry entry = repository.save(new FuelEntry(1L, 40.0, 50.0, 40000L));
+        repository.save(new FuelEntry(1L, 45.0, 55.0, 40500L));
+
+        FuelEntry moved = new FuelEntry(2L, 40.0, 50.0, 40000L);
+        moved.setId(entry.getId());
+        repository.save(moved);
+
+        assertEquals(1, repository.findByCarId(1L).size());
+        assertEquals(1, repository.findByCarId(2L).size());
+        assertEquals(45.0, repository.getAggregateByCarId(1L).getTotalLiters());
+        assertEquals(2, repository.count());
+    }
+
+    @Test
+    @DisplayName("Should store explicit ids interleaved across cars and overwrite them when saved again")
+    void shouldStoreExplicitIdsAcrossCars() {
+        for (long id = 1; id <= 300; id++) {
+            FuelEntry entry = new FuelEntry(id % 3 + 1, 10.0, 12.0, 1000L * id);
+            entry.setId(301 - id);
+            repository.save(entry);
+        }
+        FuelEntry updated = new FuelEntry(1L, 20.0, 24.0, 3000L);
+        updated.setId(298L);
+        repository.save(updated);
+
+        assertEquals(300, repository.count());
+        assertEquals(100, repository.findByCarId(1L).size());
+        assertEquals(1010.0, repository.getAggregateByCarId(1L).getTotalLiters());
+        assertEquals(301L, repository.save(new FuelEntry(1L, 10.0, 12.0, 400000L)).getId());
+    }
+
+    @Test
+    @DisplayName("Should clear all entries")
+    void shouldClear() {
+        repository.save(new FuelEntry(1L, 40.0, 50.0, 40000L));
+
+        repository.clear();
+
+        assertEquals(0, repository.count());
+        assertTrue(repository.findByCarId(1L).isEmpty());
+        assertTrue(repository.getAggregateByCarId(1L).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should rebuild rollups when an entry is overwritten")
+    void shouldRebuildRollupsOnOverwrite() {
+        FuelEntry entry = new FuelEntry(1L, 40.0, 50.0, 40000L);
+        entry.setCreatedAt(LocalDateTime.of(2025, 1, 31, 23, 59));
+        repository.save(entry);
+
+        FuelEntry moved = new FuelEntry(1L, 40.0, 50.0, 40000L);
+        moved.setId(entry.getId());
+        moved.setCreatedAt(LocalDateTime.of(2025, 2, 1, 0, 1));
+        repository.save(moved);
+
+        List<FuelRollup> months = repository.getRollups(1L, RollupGranularity.MONTH, LocalDate.MIN, LocalDate.MAX);
+        assertEquals(1, months.size());
+        assertEquals(LocalDate.of(2025, 2, 1), months.get(0).getPeriodStart());
+        assertTrue(repository.getAggregateBetween(1L, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should append a batch and skip entries that lower the odometer")
+    void shouldAppendBatchSkippingDecreasingOdometer() {
+        repository.save(new FuelEntry(1L, 10.0, 12.0, 1000L));
+        List<FuelEntry> batch = Arrays.asList(
+            new FuelEntry(1L, 40.0, 50.0, 2000L),
+            new FuelEntry(1L, 45.0, 55.0, 1500L),
+            new FuelEntry(1L, 50.0, 60.0, 2000L),
+            new FuelEntry(1L, 20.0, 25.0, 500L));
+
+        int appended = repository.appendAllIfOdometerNotDecreasing(1L, batch);
+
+        assertEquals(2, appended);
+        assertNotNull(batch.get(0).getId());
+        assertNull(batch.get(1).getId());
+        assertNotNull(batch.get(2).getId());
+        assertNull(batch.get(3).getId());
+        assertEquals(3, repository.count());
+        assertEquals(3, repository.getAggregateByCarId(1L).getEntryCount());
+        assertEquals(2000L, repository.getMaxOdometerByCarId(1L));
+    }
+}
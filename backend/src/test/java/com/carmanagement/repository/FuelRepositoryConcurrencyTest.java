@@ -0,0 +1,116 @@
+package com.carmanagement.repository;
+
+import com.carmanagement.model.FuelEntry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Stress tests for the atomic odometer check in every FuelRepositoryInterface implementation.
+class FuelRepositoryConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int ATTEMPTS_PER_THREAD = 5_000;
+
+    static Stream<Supplier<FuelRepositoryInterface>> repositories() {
+        return Stream.of(FuelRepository::new, ColumnarFuelRepository::new, OffHeapFuelRepository::new);
+    }
+
+    @ParameterizedTest
+    @MethodSource("repositories")
+    @DisplayName("Should never store a decreasing odometer under concurrent appends to one car")
+    void shouldKeepOdometerMonotonicForOneCar(Supplier<FuelRepositoryInterface> factory) throws Exception {
+        FuelRepositoryInterface repository = factory.get();
+
+        long accepted = runConcurrently(THREADS, thread -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long stored = 0;
+            for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                long odometer = 1 + i * 10L + random.nextLong(50);
+                if (repository.appendIfOdometerNotDecreasing(new FuelEntry(1L, 10.0, 15.0, odometer)) != null) {
+                    stored++;
+                }
+            }
+            return stored;
+        });
+
+        List<FuelEntry> byWriteOrder = new ArrayList<>(repository.findByCarId(1L));
+        byWriteOrder.sort(Comparator.comparing(FuelEntry::getId));
+
+        assertEquals(accepted, byWriteOrder.size());
+        assertEquals(accepted, repository.count());
+        assertEquals(accepted, repository.getAggregateByCarId(1L).getEntryCount());
+        for (int i = 1; i < byWriteOrder.size(); i++) {
+            assertTrue(byWriteOrder.get(i).getOdometer() >= byWriteOrder.get(i - 1).getOdometer(),
+                    "Entry " + byWriteOrder.get(i).getId() + " went backwards");
+        }
+        assertEquals(byWriteOrder.get(byWriteOrder.size() - 1).getOdometer(),
+                repository.getMaxOdometerByCarId(1L));
+    }
+
+    @ParameterizedTest
+    @MethodSource("repositories")
+    @DisplayName("Should accept every increasing append when cars are written in parallel")
+    void shouldAcceptAllAppendsAcrossCars(Supplier<FuelRepositoryInterface> factory) throws Exception {
+        FuelRepositoryInterface repository = factory.get();
+
+        long accepted = runConcurrently(THREADS, thread -> {
+            long carId = thread + 1L;
+            long stored = 0;
+            for (int i = 1; i <= ATTEMPTS_PER_THREAD; i++) {
+                if (repository.appendIfOdometerNotDecreasing(new FuelEntry(carId, 10.0, 15.0, i * 100L)) != null) {
+                    stored++;
+                }
+            }
+            return stored;
+        });
+
+        assertEquals((long) THREADS * ATTEMPTS_PER_THREAD, accepted);
+        for (long carId = 1; carId <= THREADS; carId++) {
+            assertEquals(ATTEMPTS_PER_THREAD, repository.getAggregateByCarId(carId).getEntryCount());
+            assertEquals(ATTEMPTS_PER_THREAD * 100L, repository.getMaxOdometerByCarId(carId));
+        }
+    }
+
+    private long runConcurrently(int threads, ThreadTask task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Long>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return task.run(thread);
+                }));
+            }
+            start.countDown();
+
+            long total = 0;
+            for (Future<Long> result : results) {
+                total += result.get(30, TimeUnit.SECONDS);
+            }
+            return total;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ThreadTask {
+        long run(int thread) throws Exception;
+    }
+}
@@ -0,0 +1,279 @@
+package com.carmanagement.repository;
+
+import com.carmanagement.model.FuelEntry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Behaviour every FuelRepositoryInterface implementation shares, checked against a plain list model.
+class FuelRepositoryContractTest {
+
+    static Stream<Supplier<FuelRepositoryInterface>> repositories() {
+        // Four records per slab so the off-heap repository crosses slab boundaries.
+        return Stream.of(FuelRepository::new, ColumnarFuelRepository::new,
+                () -> new OffHeapFuelRepository(new FuelSlabAllocator(2)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("repositories")
+    @DisplayName("Should keep history in odometer order and read it in chunks")
+    void shouldReadHistoryInOdometerOrderByChunk(Supplier<FuelRepositoryInterface> factory) {
+        FuelRepositoryInterface repository = factory.get();
+        repository.save(new FuelEntry(1L, 10.0, 10.0, 3000L));
+        repository.save(new FuelEntry(1L, 20.0, 20.0, 1000L));
+        repository.save(new FuelEntry(1L, 30.0, 30.0, 2000L));
+        repository.save(new FuelEntry(1L, 40.0, 40.0, 2000L));
+        FuelEntry moved = new FuelEntry(1L, 50.0, 50.0, 500L);
+        repository.save(moved);
+        FuelEntry update = new FuelEntry(1L, 50.0, 50.0, 4000L);
+        update.setId(moved.getId());
+        repository.save(update);
+
+        List<FuelEntry> first = repository.findByCarId(1L, 0, 3);
+        List<FuelEntry> rest = repository.findByCarId(1L, 3, 3);
+
+        assertEquals(Arrays.asList(1000L, 2000L, 2000L), odometers(first));
+        assertEquals(30.0, first.get(1).getLiters());
+        assertEquals(40.0, first.get(2).getLiters());
+        assertEquals(Arrays.asList(3000L, 4000L), odometers(rest));
+        assertTrue(repository.findByCarId(1L, 5, 3).isEmpty());
+        assertEquals(Arrays.asList(1000L, 2000L, 2000L, 3000L, 4000L), odometers(repository.findByCarId(1L)));
+        assertEquals(130.0, repository.getAggregateByCarId(1L).getLitersExcludingFirst());
+    }
+
+    @ParameterizedTest
+    @MethodSource("repositories")
+    @DisplayName("Should find entries and totals within an odometer range")
+    void shouldFindEntriesWithinOdometerRange(Supplier<FuelRepositoryInterface> factory) {
+        FuelRepositoryInterface repository = factory.get();
+        repository.save(new FuelEntry(1L, 10.0, 15.0, 1000L));
+        repository.save(new FuelEntry(1L, 20.0, 25.0, 2000L));
+        repository.save(new FuelEntry(1L, 30.0, 35.0, 3000L));
+        repository.save(new FuelEntry(1L, 40.0, 45.0, 4000L));
+        repository.save(new FuelEntry(2L, 50.0, 55.0, 2500L));
+
+        assertEquals(Arrays.asList(2000L, 3000L), odometers(repository.findByOdometerRange(1L, 1500L, 3500L, 10)));
+        assertEquals(Arrays.asList(2000L, 3000L), odometers(repository.findByOdometerRange(1L, 2000L, 4000L, 2)));
+        assertEquals(Arrays.asList(1000L, 2000L, 3000L, 4000L),
+                odometers(repository.findByOdometerRange(1L, Long.MIN_VALUE, Long.MAX_VALUE, 10)));
+        assertTrue(repository.findByOdometerRange(1L, 4001L, Long.MAX_VALUE, 10).isEmpty());
+        assertTrue(repository.findByOdometerRange(3L, 0L, Long.MAX_VALUE, 10).isEmpty());
+
+        FuelAggregate aggregate = repository.getAggregateByOdometerRange(1L, 1500L, 4000L);
+        assertEquals(3, aggregate.getEntryCount());
+        assertEquals(90.0, aggregate.getTotalLiters());
+        assertEquals(105.0, aggregate.getTotalCost());
+        assertEquals(70.0, aggregate.getLitersExcludingFirst());
+        assertEquals(2000L, aggregate.getDistance());
+        assertTrue(repository.getAggregateByOdometerRange(1L, 1001L, 1999L).isEmpty());
+    }
+
+    @ParameterizedTest
+    @MethodSource("repositories")
+    @DisplayName("Should answer index ranges from running totals after out-of-order writes")
+    void shouldAnswerIndexRangesAfterOutOfOrderWrites(Supplier<FuelRepositoryInterface> factory) {
+        FuelRepositoryInterface repository = factory.get();
+        repository.save(new FuelEntry(1L, 10.0, 15.0, 1000L));
+        repository.save(new FuelEntry(1L, 30.0, 35.0, 3000L));
+        repository.save(new FuelEntry(1L, 40.0, 45.0, 4000L));
+        repository.save(new FuelEntry(1L, 20.0, 25.0, 2000L));
+        FuelEntry moved = new FuelEntry(1L, 5.0, 5.0, 500L);
+        repository.save(moved);
+        FuelEntry update = new FuelEntry(1L, 50.0, 55.0, 5000L);
+        update.setId(moved.getId());
+        repository.save(update);
+
+        FuelAggregate middle = repository.getAggregateByIndexRange(1L, 1, 4);
+        assertEquals(3, middle.getEntryCount());
+        assertEquals(90.0, middle.getTotalLiters());
+        assertEquals(105.0, middle.getTotalCost());
+        assertEquals(70.0, middle.getLitersExcludingFirst());
+        assertEquals(2000L, middle.getMinOdometer());
+        assertEquals(4000L, middle.getMaxOdometer());
+
+        FuelAggregate all = repository.getAggregateByIndexRange(1L, 0, Integer.MAX_VALUE);
+        assertEquals(5, all.getEntryCount());
+        assertEquals(150.0, all.getTotalLiters());
+        assertEquals(140.0, all.getLitersExcludingFirst());
+        assertEquals(4000L, all.getDistance());
+        assertEquals(90.0, repository.getAggregateByOdometerRange(1L, 1500L, 4000L).getTotalLiters());
+        assertTrue(repository.getAggregateByIndexRange(1L, 5, 6).isEmpty());
+        assertTrue(repository.getAggregateByIndexRange(2L, 0, 1).isEmpty());
+    }
+
+    @ParameterizedTest
+    @MethodSource("repositories")
+    @DisplayName("Should walk entries one car at a time in odometer order")
+    void shouldWalkEntriesByCarInOdometerOrder(Supplier<FuelRepositoryInterface> factory) {
+        FuelRepositoryInterface repository = factory.get();
+        for (long odometer = 5000L; odometer >= 1000L; odometer -= 1000L) {
+            for (long carId = 1; carId <= 4; carId++) {
+                repository.save(new FuelEntry(carId, 10.0, 12.0, odometer + carId));
+            }
+        }
+
+        List<FuelEntry> walked = new ArrayList<>();
+        repository.forEachEntry(walked::add);
+
+        assertEquals(20, walked.size());
+        for (int i = 1; i < walked.size(); i++) {
+            FuelEntry previous = walked.get(i - 1);
+            FuelEntry current = walked.get(i);
+            if (i % 5 == 0) {
+                assertNotEquals(previous.getCarId(), current.getCarId());
+            } else {
+                assertEquals(previous.getCarId(), current.getCarId());
+                assertTrue(previous.getOdometer() < current.getOdometer());
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("repositories")
+    @DisplayName("Should restore a batch with the same result as saving it entry by entry")
+    void shouldRestoreBatchLikeSavingEachEntry(Supplier<FuelRepositoryInterface> factory) {
+        FuelRepositoryInterface repository = factory.get();
+        ReferenceModel model = new ReferenceModel();
+        for (FuelEntry entry : List.of(new FuelEntry(1L, 10.0, 11.0, 1000L), new FuelEntry(1L, 30.0, 31.0, 3000L),
+                new FuelEntry(1L, 50.0, 51.0, 5000L))) {
+            model.save(repository.save(entry));
+        }
+
+        repository.restoreAll(restoredBatch());
+        for (FuelEntry entry : restoredBatch()) {
+            model.save(entry);
+        }
+
+        assertMatches(model, repository, 2);
+        assertEquals(13L, repository.save(new FuelEntry(1L, 1.0, 1.0, 9000L)).getId());
+    }
+
+    @ParameterizedTest
+    @MethodSource("repositories")
+    @DisplayName("Should match the reference model under random appends, re-saves and interval queries")
+    void shouldMatchReferenceModel(Supplier<FuelRepositoryInterface> factory) {
+        FuelRepositoryInterface repository = factory.get();
+        ReferenceModel model = new ReferenceModel();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 400; i++) {
+            long carId = 1 + random.nextInt(3);
+            FuelEntry entry = new FuelEntry(carId, 1.0 + random.nextInt(60), 1.0 + random.nextInt(90),
+                    random.nextInt(50) * 100L);
+            if (i > 20 && random.nextInt(5) == 0) {
+                // Re-save a stored entry, possibly under another car and at another odometer.
+                entry.setId(1L + random.nextInt(i - 1));
+            }
+            model.save(repository.save(entry));
+            if (random.nextInt(4) == 0) {
+                int from = random.nextInt(40);
+                int to = from + random.nextInt(40);
+                assertTotals(model.aggregate(carId, from, to), repository.getAggregateByIndexRange(carId, from, to));
+            }
+        }
+
+        assertMatches(model, repository, 3);
+    }
+
+    private static void assertMatches(ReferenceModel model, FuelRepositoryInterface repository, int cars) {
+        assertEquals(model.entries.size(), repository.count());
+        for (long carId = 1; carId <= cars; carId++) {
+            List<FuelEntry> expected = model.history(carId);
+            assertEquals(ids(expected), ids(repository.findByCarId(carId)));
+            assertEquals(odometers(expected), odometers(repository.findByCarId(carId)));
+            assertTotals(model.aggregate(carId, 0, expected.size()), repository.getAggregateByCarId(carId));
+            for (int from = 0; from < expected.size(); from += 3) {
+                assertTotals(model.aggregate(carId, from, from + 4),
+                        repository.getAggregateByIndexRange(carId, from, from + 4));
+            }
+        }
+    }
+
+    private static void assertTotals(FuelAggregate expected, FuelAggregate actual) {
+        assertEquals(expected.getEntryCount(), actual.getEntryCount());
+        assertEquals(expected.getTotalLiters(), actual.getTotalLiters(), 1e-9);
+        assertEquals(expected.getTotalCost(), actual.getTotalCost(), 1e-9);
+        assertEquals(expected.getMinOdometer(), actual.getMinOdometer());
+        assertEquals(expected.getMaxOdometer(), actual.getMaxOdometer());
+        assertEquals(expected.getLitersExcludingFirst(), actual.getLitersExcludingFirst(), 1e-9);
+    }
+
+    // New ids out of odometer order and across two cars, a tie with a stored reading, a re-save of a
+    // stored entry and an id listed twice.
+    private static List<FuelEntry> restoredBatch() {
+        long[][] rows = {
+            {10, 1, 4000}, {11, 2, 700}, {12, 1, 2000}, {3, 1, 5500}, {7, 1, 3000},
+            {8, 2, 300}, {12, 2, 500}, {9, 1, 500},
+        };
+        List<FuelEntry> entries = new ArrayList<>();
+        for (long[] row : rows) {
+            FuelEntry entry = new FuelEntry(row[1], row[0] * 2.0, row[0] * 3.0, row[2]);
+            entry.setId(row[0]);
+            entry.setCreatedAt(LocalDateTime.of(2025, 1, 1, 0, 0).plusDays(row[0]));
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    private static List<Long> ids(List<FuelEntry> entries) {
+        return entries.stream().map(FuelEntry::getId).toList();
+    }
+
+    private static List<Long> odometers(List<FuelEntry> entries) {
+        return entries.stream().map(FuelEntry::getOdometer).toList();
+    }
+
+    // Entries in write order, a re-save moving the entry to the end; a car's history is its entries
+    // stably sorted by odometer, so equal readings stay in write order.
+    private static final class ReferenceModel {
+
+        private final List<FuelEntry> entries = new ArrayList<>();
+
+        void save(FuelEntry entry) {
+            entries.removeIf(stored -> stored.getId().equals(entry.getId()));
+            entries.add(copy(entry));
+        }
+
+        List<FuelEntry> history(long carId) {
+            return entries.stream()
+                    .filter(entry -> entry.getCarId() == carId)
+                    .sorted(Comparator.comparingLong(FuelEntry::getOdometer))
+                    .toList();
+        }
+
+        // Totals of history positions fromIndex..toIndex-1, the first of them being the first fill.
+        FuelAggregate aggregate(long carId, int fromIndex, int toIndex) {
+            List<FuelEntry> history = history(carId);
+            int end = Math.min(history.size(), toIndex);
+            if (fromIndex >= end) {
+                return FuelAggregate.EMPTY;
+            }
+            double liters = 0.0;
+            double cost = 0.0;
+            for (FuelEntry entry : history.subList(fromIndex, end)) {
+                liters += entry.getLiters();
+                cost += entry.getPrice();
+            }
+            return FuelAggregate.ofInterval(end - fromIndex, liters, cost, history.get(fromIndex).getOdometer(),
+                    history.get(end - 1).getOdometer(), history.get(fromIndex).getLiters());
+        }
+
+        private static FuelEntry copy(FuelEntry entry) {
+            FuelEntry copy = new FuelEntry(entry.getCarId(), entry.getLiters(), entry.getPrice(), entry.getOdometer());
+            copy.setId(entry.getId());
+            copy.setCreatedAt(entry.getCreatedAt());
+            return copy;
+        }
+    }
+}
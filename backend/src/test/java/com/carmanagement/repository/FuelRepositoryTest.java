@@ -0,0 +1,180 @@
+package com.carmanagement.repository;
+
+import com.carmanagement.model.FuelEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Unit tests for FuelRepository.
+class FuelRepositoryTest {
+
+    private FuelRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new FuelRepository();
+    }
+
+    @Test
+    @DisplayName("Should return empty aggregate for car without entries")
+    void shouldReturnEmptyAggregate() {
+        FuelAggregate aggregate = repository.getAggregateByCarId(1L);
+
+        assertTrue(aggregate.isEmpty());
+        assertEquals(0, aggregate.getEntryCount());
+    }
+
+    @Test
+    @DisplayName("Should maintain aggregate on save")
+    void shouldMaintainAggregateOnSave() {
+        repository.save(new FuelEntry(1L, 40.0, 50.0, 40000L));
+        repository.save(new FuelEntry(1L, 45.0, 55.0, 40500L));
+        repository.save(new FuelEntry(1L, 50.0, 60.0, 41000L));
+        repository.save(new FuelEntry(2L, 10.0, 12.0, 1000L));
+
+        FuelAggregate aggregate = repository.getAggregateByCarId(1L);
+
+        assertEquals(3, aggregate.getEntryCount());
+        assertEquals(135.0, aggregate.getTotalLiters());
+        assertEquals(165.0, aggregate.getTotalCost());
+        assertEquals(40000L, aggregate.getMinOdometer());
+        assertEquals(41000L, aggregate.getMaxOdometer());
+        assertEquals(95.0, aggregate.getLitersExcludingFirst());
+    }
+
+    @Test
+    @DisplayName("Should treat lowest odometer as first fill when saved out of order")
+    void shouldTreatLowestOdometerAsFirstFill() {
+        repository.save(new FuelEntry(1L, 45.0, 55.0, 40500L));
+        repository.save(new FuelEntry(1L, 40.0, 50.0, 40000L));
+
+        FuelAggregate aggregate = repository.getAggregateByCarId(1L);
+
+        assertEquals(40000L, aggregate.getMinOdometer());
+        assertEquals(45.0, aggregate.getLitersExcludingFirst());
+    }
+
+    @Test
+    @DisplayName("Should rebuild aggregates when an entry moves to another car")
+    void shouldRebuildAggregatesOnUpdate() {
+        FuelEntry entry = repository.save(new FuelEntry(1L, 40.0, 50.0, 40000L));
+        repository.save(new FuelEntry(1L, 45.0, 55.0, 40500L));
+
+        FuelEntry moved = new FuelEntry(2L, 40.0, 50.0, 40000L);
+        moved.setId(entry.getId());
+        repository.save(moved);
+
+        assertEquals(1, repository.getAggregateByCarId(1L).getEntryCount());
+        assertEquals(45.0, repository.getAggregateByCarId(1L).getTotalLiters());
+        assertEquals(1, repository.getAggregateByCarId(2L).getEntryCount());
+        assertEquals(40.0, repository.getAggregateByCarId(2L).getTotalLiters());
+    }
+
+    @Test
+    @DisplayName("Should clear aggregates")
+    void shouldClearAggregates() {
+        repository.save(new FuelEntry(1L, 40.0, 50.0, 40000L));
+
+        repository.clear();
+
+        assertTrue(repository.getAggregateByCarId(1L).isEmpty());
+        assertEquals(0, repository.count());
+    }
+
+    @Test
+    @DisplayName("Should roll entries up by day, week and month of creation")
+    void shouldMaintainRollups() {
+        save(1L, 40.0, 50.0, 40000L, LocalDateTime.of(2025, 1, 6, 8, 0));
+        save(1L, 45.0, 55.0, 40500L, LocalDateTime.of(2025, 1, 6, 18, 0));
+        save(1L, 50.0, 60.0, 41000L, LocalDateTime.of(2025, 1, 12, 9, 0));
+        save(1L, 30.0, 40.0, 41400L, LocalDateTime.of(2025, 2, 3, 9, 0));
+
+        List<FuelRollup> days = repository.getRollups(1L, RollupGranularity.DAY, LocalDate.MIN, LocalDate.MAX);
+        List<FuelRollup> weeks = repository.getRollups(1L, RollupGranularity.WEEK,
+                LocalDate.of(2025, 1, 8), LocalDate.of(2025, 2, 28));
+        List<FuelRollup> months = repository.getRollups(1L, RollupGranularity.MONTH, LocalDate.MIN, LocalDate.MAX);
+
+        assertEquals(3, days.size());
+        assertEquals(2, days.get(0).getAggregate().getEntryCount());
+        assertEquals(LocalDate.of(2025, 1, 6), weeks.get(0).getPeriodStart());
+        assertEquals(3, weeks.get(0).getAggregate().getEntryCount());
+        assertEquals(LocalDate.of(2025, 2, 3), weeks.get(1).getPeriodStart());
+        assertEquals(2, months.size());
+        assertEquals(135.0, months.get(0).getAggregate().getTotalLiters());
+    }
+
+    @Test
+    @DisplayName("Should answer window totals from daily rollups")
+    void shouldAggregateBetweenDays() {
+        save(1L, 40.0, 50.0, 40000L, LocalDateTime.of(2025, 1, 6, 8, 0));
+        save(1L, 45.0, 55.0, 40500L, LocalDateTime.of(2025, 1, 7, 8, 0));
+        save(1L, 50.0, 60.0, 41000L, LocalDateTime.of(2025, 1, 8, 8, 0));
+
+        FuelAggregate window = repository.getAggregateBetween(1L, LocalDate.of(2025, 1, 7), LocalDate.of(2025, 1, 8));
+
+        assertEquals(2, window.getEntryCount());
+        assertEquals(95.0, window.getTotalLiters());
+        assertEquals(115.0, window.getTotalCost());
+        assertEquals(500L, window.getDistance());
+        assertEquals(50.0, window.getLitersExcludingFirst());
+    }
+
+    @Test
+    @DisplayName("Should keep rollup periods in order when entries arrive out of creation order")
+    void shouldOrderRollupsCreatedOutOfOrder() {
+        save(1L, 40.0, 50.0, 41000L, LocalDateTime.of(2025, 3, 10, 8, 0));
+        save(1L, 45.0, 55.0, 40000L, LocalDateTime.of(2025, 1, 6, 8, 0));
+        save(1L, 50.0, 60.0, 40800L, LocalDateTime.of(2025, 2, 4, 8, 0));
+        save(1L, 20.0, 25.0, 39000L, LocalDateTime.of(2025, 1, 6, 20, 0));
+        save(1L, 35.0, 45.0, 40500L, LocalDateTime.of(2025, 2, 4, 9, 0));
+
+        List<FuelRollup> days = repository.getRollups(1L, RollupGranularity.DAY, LocalDate.MIN, LocalDate.MAX);
+        FuelAggregate window = repository.getAggregateBetween(1L, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 2, 28));
+
+        assertEquals(List.of(LocalDate.of(2025, 1, 6), LocalDate.of(2025, 2, 4), LocalDate.of(2025, 3, 10)),
+                days.stream().map(FuelRollup::getPeriodStart).toList());
+        assertEquals(65.0, days.get(0).getAggregate().getTotalLiters());
+        assertEquals(45.0, days.get(0).getAggregate().getLitersExcludingFirst());
+        assertEquals(50.0, days.get(1).getAggregate().getLitersExcludingFirst());
+        assertEquals(4, window.getEntryCount());
+        assertEquals(185.0, window.getTotalCost());
+        assertEquals(1800L, window.getDistance());
+        assertEquals(130.0, window.getLitersExcludingFirst());
+        assertTrue(repository.getAggregateBetween(1L, LocalDate.of(2025, 1, 7), LocalDate.of(2025, 2, 3)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should append a batch and skip entries that lower the odometer")
+    void shouldAppendBatchSkippingDecreasingOdometer() {
+        repository.save(new FuelEntry(1L, 10.0, 12.0, 1000L));
+        List<FuelEntry> batch = Arrays.asList(
+            new FuelEntry(1L, 40.0, 50.0, 2000L),
+            new FuelEntry(1L, 45.0, 55.0, 1500L),
+            new FuelEntry(1L, 50.0, 60.0, 2000L),
+            new FuelEntry(1L, 20.0, 25.0, 500L));
+
+        int appended = repository.appendAllIfOdometerNotDecreasing(1L, batch);
+
+        assertEquals(2, appended);
+        assertNotNull(batch.get(0).getId());
+        assertNull(batch.get(1).getId());
+        assertNotNull(batch.get(2).getId());
+        assertNull(batch.get(3).getId());
+        assertEquals(3, repository.count());
+        assertEquals(3, repository.getAggregateByCarId(1L).getEntryCount());
+        assertEquals(2000L, repository.getMaxOdometerByCarId(1L));
+    }
+
+    private void save(Long carId, double liters, double price, long odometer, LocalDateTime createdAt) {
+        FuelEntry entry = new FuelEntry(carId, liters, price, odometer);
+        entry.setCreatedAt(createdAt);
+        repository.save(entry);
+    }
+}
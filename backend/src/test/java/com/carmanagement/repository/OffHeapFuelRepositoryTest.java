@@ -0,0 +1,118 @@
+package com.carmanagement.repository;
+
+import com.carmanagement.model.FuelEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Unit tests for OffHeapFuelRepository.
+class OffHeapFuelRepositoryTest {
+
+    private OffHeapFuelRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        // Four records per slab so the tests cross slab boundaries.
+        repository = new OffHeapFuelRepository(new FuelSlabAllocator(2));
+    }
+
+    @Test
+    @DisplayName("Should round-trip entry fields through off-heap slabs")
+    void shouldRoundTripEntries() {
+        FuelEntry entry = new FuelEntry(1L, 40.5, 52.25, 45000L);
+        LocalDateTime createdAt = LocalDateTime.of(2025, 12, 29, 20, 30, 15, 123456789);
+        entry.setCreatedAt(createdAt);
+
+        repository.save(entry);
+        FuelEntry stored = repository.findByCarId(1L).get(0);
+
+        assertEquals(1L, stored.getId());
+        assertEquals(1L, stored.getCarId());
+        assertEquals(40.5, stored.getLiters());
+        assertEquals(52.25, stored.getPrice());
+        assertEquals(45000L, stored.getOdometer());
+        assertEquals(createdAt, stored.getCreatedAt());
+    }
+
+    @Test
+    @DisplayName("Should keep interleaved cars separate across many slabs")
+    void shouldInterleaveCarsAcrossSlabs() {
+        for (int i = 1; i <= 50; i++) {
+            repository.save(new FuelEntry(1L, 10.0, 12.0, i * 100L));
+            repository.save(new FuelEntry(2L, 20.0, 24.0, i * 200L));
+        }
+
+        List<FuelEntry> first = repository.findByCarId(1L);
+        List<FuelEntry> second = repository.findByCarId(2L);
+
+        assertEquals(50, first.size());
+        assertEquals(50, second.size());
+        assertTrue(first.stream().allMatch(entry -> entry.getLiters() == 10.0));
+        assertEquals(10000L, second.get(49).getOdometer());
+        assertEquals(500.0, repository.getAggregateByCarId(1L).getTotalLiters());
+        assertEquals(25, repository.getStorageStats().get("slabs"));
+    }
+
+    @Test
+    @DisplayName("Should reuse the record freed when an entry moves to another car")
+    void shouldReuseFreedRecords() {
+        FuelEntry entry = repository.save(new FuelEntry(1L, 40.0, 50.0, 40000L));
+        repository.save(new FuelEntry(1L, 45.0, 55.0, 40500L));
+
+        FuelEntry moved = new FuelEntry(2L, 40.0, 50.0, 40000L);
+        moved.setId(entry.getId());
+        repository.save(moved);
+        repository.save(new FuelEntry(1L, 50.0, 60.0, 41000L));
+
+        Map<String, Object> stats = repository.getStorageStats();
+        assertEquals(3L, stats.get("liveRecords"));
+        assertEquals(0, stats.get("freeRecords"));
+        assertEquals(2, repository.findByCarId(1L).size());
+        assertEquals(40.0, repository.findByCarId(2L).get(0).getLiters());
+        assertEquals(95.0, repository.getAggregateByCarId(1L).getTotalLiters());
+    }
+
+    @Test
+    @DisplayName("Should release slabs on clear")
+    void shouldReleaseSlabsOnClear() {
+        for (int i = 1; i <= 10; i++) {
+            repository.save(new FuelEntry(1L, 10.0, 12.0, i * 100L));
+        }
+
+        repository.clear();
+        repository.save(new FuelEntry(1L, 30.0, 36.0, 500L));
+
+        assertEquals(1, repository.count());
+        assertEquals(1, repository.getStorageStats().get("slabs"));
+        assertEquals(30.0, repository.findByCarId(1L).get(0).getLiters());
+    }
+
+    @Test
+    @DisplayName("Should keep the running totals in the slab records current across out-of-order writes")
+    void shouldRefreshRunningTotalsAfterOutOfOrderWrites() {
+        for (int i = 1; i <= 6; i++) {
+            repository.save(new FuelEntry(1L, i * 10.0, i * 20.0, i * 1000L));
+        }
+        assertEquals(90.0, repository.getAggregateByIndexRange(1L, 1, 4).getTotalLiters());
+
+        repository.save(new FuelEntry(1L, 5.0, 7.0, 1500L));
+        FuelEntry moved = repository.findByCarId(1L).get(5);
+        moved.setOdometer(500L);
+        repository.save(moved);
+
+        FuelAggregate middle = repository.getAggregateByIndexRange(1L, 1, 4);
+        assertEquals(35.0, middle.getTotalLiters());
+        assertEquals(67.0, middle.getTotalCost());
+        assertEquals(1000L, middle.getMinOdometer());
+        assertEquals(2000L, middle.getMaxOdometer());
+        assertEquals(25.0, middle.getLitersExcludingFirst());
+        assertEquals(215.0, repository.getAggregateByIndexRange(1L, 0, 7).getTotalLiters());
+        assertEquals(56L * 4, repository.getStorageStats().get("slabBytes"));
+    }
+}
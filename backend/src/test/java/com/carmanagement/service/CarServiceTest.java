@@ -1,13 +1,18 @@
 package com.carmanagement.service;
 
 import com.carmanagement.dto.request.CreateCarRequest;
+import com.carmanagement.dto.response.CarBatchItemResponse;
+import com.carmanagement.dto.response.CarBatchResponse;
+import com.carmanagement.dto.response.CarPageResponse;
 import com.carmanagement.dto.response.CarResponse;
 import com.carmanagement.exception.ValidationException;
 import com.carmanagement.repository.CarRepository;
+import com.carmanagement.util.PageCursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -169,5 +174,61 @@ class CarServiceTest {
         assertTrue(carService.existsById(created.getId()));
         assertFalse(carService.existsById(999L));
     }
-}
 
+    @Test
+    @DisplayName("Should walk all cars page by page using the next cursor")
+    void shouldWalkPagesWithCursor() {
+        for (int i = 0; i < 5; i++) {
+            carService.createCar(new CreateCarRequest("Toyota", "Corolla", 2020));
+        }
+
+        CarPageResponse first = carService.getCarsPage(0, 2);
+        CarPageResponse second = carService.getCarsPage(PageCursor.decode(first.getNextCursor()), 2);
+        CarPageResponse last = carService.getCarsPage(PageCursor.decode(second.getNextCursor()), 2);
+
+        assertEquals(2, first.getCars().size());
+        assertEquals(3L, second.getCars().get(0).getId());
+        assertEquals(1, last.getCars().size());
+        assertEquals(5L, last.getCars().get(0).getId());
+        assertNull(last.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Should omit the next cursor when the last page is exactly full")
+    void shouldOmitCursorOnExactlyFullLastPage() {
+        carService.createCar(new CreateCarRequest("Toyota", "Corolla", 2020));
+        carService.createCar(new CreateCarRequest("Honda", "Civic", 2021));
+
+        CarPageResponse page = carService.getCarsPage(0, 2);
+
+        assertEquals(2, page.getCars().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Should create valid cars of a batch and report invalid items")
+    void shouldCreateCarsInBatch() {
+        List<CreateCarRequest> requests = Arrays.asList(
+            new CreateCarRequest(" Toyota ", "Corolla", 2020),
+            new CreateCarRequest("", "X5", 1800),
+            null,
+            new CreateCarRequest("Audi", "A4", 2018));
+
+        CarBatchResponse response = carService.createCars(requests);
+
+        assertEquals(2, response.getCreated());
+        assertEquals(2, response.getRejected());
+        assertEquals(4, response.getResults().size());
+        CarBatchItemResponse first = response.getResults().get(0);
+        assertEquals(0, first.getIndex());
+        assertEquals("Toyota", first.getCar().getBrand());
+        assertNull(first.getErrors());
+        CarBatchItemResponse invalid = response.getResults().get(1);
+        assertNull(invalid.getCar());
+        assertEquals("Brand is required", invalid.getErrors().get("brand"));
+        assertEquals("Year must be 1900 or later", invalid.getErrors().get("year"));
+        assertEquals("Car details are required", response.getResults().get(2).getErrors().get("car"));
+        assertEquals(first.getCar().getId() + 1, response.getResults().get(3).getCar().getId());
+        assertEquals(2, carRepository.count());
+    }
+}
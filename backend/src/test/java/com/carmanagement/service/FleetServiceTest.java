@@ -0,0 +1,123 @@
+package com.carmanagement.service;
+
+import com.carmanagement.dto.request.AddFuelRequest;
+import com.carmanagement.dto.response.BrandFuelStatsResponse;
+import com.carmanagement.dto.response.FleetFuelStatsResponse;
+import com.carmanagement.exception.ValidationException;
+import com.carmanagement.model.Car;
+import com.carmanagement.repository.CarRepository;
+import com.carmanagement.repository.FuelRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Unit tests for FleetService.
+class FleetServiceTest {
+
+    private CarRepository carRepository;
+    private FuelService fuelService;
+    private FleetService fleetService;
+
+    @BeforeEach
+    void setUp() {
+        carRepository = new CarRepository();
+        FuelRepository fuelRepository = new FuelRepository();
+        fuelService = new FuelService(fuelRepository, carRepository);
+        fleetService = new FleetService(carRepository, fuelRepository, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        fleetService.close();
+    }
+
+    @Test
+    @DisplayName("Should return zero totals for an empty fleet")
+    void shouldReturnZeroTotalsForEmptyFleet() {
+        FleetFuelStatsResponse stats = fleetService.getFleetFuelStats(null, null);
+
+        assertEquals(0, stats.getCarCount());
+        assertEquals(0.0, stats.getTotalFuel());
+        assertEquals(0.0, stats.getAverageConsumption());
+        assertTrue(stats.getBrands().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should sum totals and break them down by brand")
+    void shouldSumTotalsByBrand() {
+        Long toyota = carRepository.save(new Car("Toyota", "Corolla", 2020)).getId();
+        Long otherToyota = carRepository.save(new Car("toyota ", "Yaris", 2021)).getId();
+        Long bmw = carRepository.save(new Car("BMW", "X5", 2019)).getId();
+        carRepository.save(new Car("Audi", "A4", 2018));
+        fuelService.addFuelEntry(toyota, new AddFuelRequest(40.0, 50.0, 10000L));
+        fuelService.addFuelEntry(toyota, new AddFuelRequest(30.0, 40.0, 10500L));
+        fuelService.addFuelEntry(otherToyota, new AddFuelRequest(20.0, 30.0, 5000L));
+        fuelService.addFuelEntry(otherToyota, new AddFuelRequest(10.0, 15.0, 5500L));
+        fuelService.addFuelEntry(bmw, new AddFuelRequest(60.0, 90.0, 20000L));
+
+        FleetFuelStatsResponse stats = fleetService.getFleetFuelStats(null, null);
+
+        assertEquals(4, stats.getCarCount());
+        assertEquals(3, stats.getCarsWithEntries());
+        assertEquals(5, stats.getEntryCount());
+        assertEquals(160.0, stats.getTotalFuel());
+        assertEquals(225.0, stats.getTotalCost());
+        // (30 + 10) liters over (500 + 500) km; the single BMW fill has no distance yet.
+        assertEquals(4.0, stats.getAverageConsumption());
+
+        assertEquals(3, stats.getBrands().size());
+        assertEquals("Audi", stats.getBrands().get(0).getBrand());
+        BrandFuelStatsResponse toyotas = stats.getBrands().get(2);
+        assertEquals("Toyota", toyotas.getBrand());
+        assertEquals(2, toyotas.getCarCount());
+        assertEquals(100.0, toyotas.getTotalFuel());
+        assertEquals(4.0, toyotas.getAverageConsumption());
+    }
+
+    @Test
+    @DisplayName("Should give the same totals when the fleet is split across many tasks")
+    void shouldSplitLargeFleet() {
+        for (int i = 0; i < 5000; i++) {
+            Long carId = carRepository.save(new Car(i % 2 == 0 ? "Toyota" : "BMW", "Model", 2020)).getId();
+            fuelService.addFuelEntry(carId, new AddFuelRequest(10.0, 20.0, 1000L));
+            fuelService.addFuelEntry(carId, new AddFuelRequest(5.0, 10.0, 1100L));
+        }
+
+        FleetFuelStatsResponse stats = fleetService.getFleetFuelStats(null, null);
+
+        assertEquals(5000, stats.getCarCount());
+        assertEquals(10000, stats.getEntryCount());
+        assertEquals(75000.0, stats.getTotalFuel());
+        assertEquals(5.0, stats.getAverageConsumption());
+        assertEquals(2500, stats.getBrands().get(0).getCarCount());
+        assertEquals(2500, stats.getBrands().get(1).getCarCount());
+    }
+
+    @Test
+    @DisplayName("Should restrict totals to the requested window")
+    void shouldRestrictToWindow() {
+        Long carId = carRepository.save(new Car("Toyota", "Corolla", 2020)).getId();
+        fuelService.addFuelEntry(carId, new AddFuelRequest(40.0, 50.0, 10000L));
+        LocalDate today = LocalDate.now();
+
+        assertEquals(1, fleetService.getFleetFuelStats(today, today).getEntryCount());
+        FleetFuelStatsResponse before = fleetService.getFleetFuelStats(null, today.minusDays(1));
+        assertEquals(0, before.getEntryCount());
+        assertEquals(1, before.getCarCount());
+        assertEquals(0, before.getCarsWithEntries());
+    }
+
+    @Test
+    @DisplayName("Should reject a window that ends before it starts")
+    void shouldRejectInvertedWindow() {
+        LocalDate today = LocalDate.now();
+
+        assertThrows(ValidationException.class,
+                () -> fleetService.getFleetFuelStats(today, today.minusDays(1)));
+    }
+}
@@ -1,17 +1,31 @@
 package com.carmanagement.service;
 
 import com.carmanagement.dto.request.AddFuelRequest;
+import com.carmanagement.dto.request.FuelImportRecord;
+import com.carmanagement.dto.response.FuelEntryRangeResponse;
 import com.carmanagement.dto.response.FuelEntryResponse;
+import com.carmanagement.dto.response.FuelImportResponse;
+import com.carmanagement.dto.response.FuelRangeStatsResponse;
 import com.carmanagement.dto.response.FuelStatsResponse;
+import com.carmanagement.dto.response.FuelWindowStatsResponse;
 import com.carmanagement.exception.NotFoundException;
 import com.carmanagement.exception.ValidationException;
 import com.carmanagement.model.Car;
 import com.carmanagement.repository.CarRepository;
 import com.carmanagement.repository.FuelRepository;
+import com.carmanagement.repository.RollupGranularity;
+import com.carmanagement.util.FuelExportFormat;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 // Unit tests for FuelService.
@@ -263,5 +277,209 @@ class FuelServiceTest {
         // Consumption should be 0 because distance is 0
         assertEquals(0.0, stats.getAverageConsumption());
     }
-}
 
+    @Test
+    @DisplayName("Should return windowed stats with monthly buckets")
+    void shouldReturnWindowedStats() {
+        fuelService.addFuelEntry(testCarId, new AddFuelRequest(40.0, 50.0, 40000L));
+        fuelService.addFuelEntry(testCarId, new AddFuelRequest(45.0, 55.0, 40500L));
+        LocalDate today = LocalDate.now();
+
+        FuelWindowStatsResponse stats = fuelService.getFuelStats(testCarId, today, today, RollupGranularity.MONTH);
+
+        assertEquals(85.0, stats.getTotalFuel());
+        assertEquals(2, stats.getEntryCount());
+        assertEquals(9.0, stats.getAverageConsumption());
+        assertEquals("month", stats.getGranularity());
+        assertEquals(1, stats.getBuckets().size());
+        assertEquals(today.withDayOfMonth(1).toString(), stats.getBuckets().get(0).getPeriodStart());
+        assertEquals(0, fuelService.getFuelStats(testCarId, null, today.minusDays(1), null).getEntryCount());
+    }
+
+    @Test
+    @DisplayName("Should reject a window that ends before it starts")
+    void shouldRejectInvertedWindow() {
+        LocalDate today = LocalDate.now();
+
+        assertThrows(ValidationException.class,
+                () -> fuelService.getFuelStats(testCarId, today, today.minusDays(1), null));
+    }
+
+    @Test
+    @DisplayName("Should import valid records and report rejected lines")
+    void shouldImportFuelEntries() {
+        Car other = carRepository.save(new Car("BMW", "X5", 2019));
+        List<FuelImportRecord> records = Arrays.asList(
+            new FuelImportRecord(1, testCarId, new AddFuelRequest(40.0, 50.0, 1000L), null),
+            new FuelImportRecord(2, other.getId(), new AddFuelRequest(30.0, 40.0, 5000L), null),
+            new FuelImportRecord(3, testCarId, new AddFuelRequest(45.0, 55.0, 900L), null),
+            new FuelImportRecord(4, 999L, new AddFuelRequest(45.0, 55.0, 900L), null),
+            new FuelImportRecord(5, testCarId, new AddFuelRequest(-1.0, 55.0, 1200L), null),
+            new FuelImportRecord(6, null, null, "Invalid price value"),
+            new FuelImportRecord(7, testCarId, new AddFuelRequest(50.0, 60.0, 1500L), null));
+
+        FuelImportResponse response = fuelService.importFuelEntries(records.iterator());
+
+        assertEquals(7, response.getReceived());
+        assertEquals(3, response.getImported());
+        assertEquals(4, response.getRejected());
+        assertFalse(response.getErrorsTruncated());
+        assertEquals(4, response.getErrors().size());
+        assertEquals(3, response.getErrors().get(0).getLine());
+        assertTrue(response.getErrors().get(0).getMessage().contains("Odometer reading (900)"));
+        assertEquals(4, response.getErrors().get(1).getLine());
+        assertTrue(response.getErrors().get(1).getMessage().contains("999"));
+        assertEquals("Liters must be greater than 0", response.getErrors().get(2).getMessage());
+        assertEquals("Invalid price value", response.getErrors().get(3).getMessage());
+        assertEquals(2, fuelService.getFuelStats(testCarId).getEntryCount());
+        assertEquals(1500L, fuelRepository.getMaxOdometerByCarId(testCarId));
+    }
+
+    @Test
+    @DisplayName("Should import across chunks and cap the reported errors")
+    void shouldImportAcrossChunks() {
+        List<FuelImportRecord> records = new ArrayList<>();
+        for (int i = 1; i <= 20000; i++) {
+            // Every other record goes backwards and is rejected.
+            long odometer = i % 2 == 1 ? i * 10L : 5L;
+            records.add(new FuelImportRecord(i, testCarId, new AddFuelRequest(10.0, 15.0, odometer), null));
+        }
+
+        FuelImportResponse response = fuelService.importFuelEntries(records.iterator());
+
+        assertEquals(20000, response.getReceived());
+        assertEquals(10000, response.getImported());
+        assertEquals(10000, response.getRejected());
+        assertEquals(1000, response.getErrors().size());
+        assertTrue(response.getErrorsTruncated());
+        assertEquals(2, response.getErrors().get(0).getLine());
+        assertEquals(10000, fuelService.getFuelStats(testCarId).getEntryCount());
+    }
+
+    @Test
+    @DisplayName("Should export entries in odometer order as CSV and NDJSON")
+    void shouldExportFuelEntries() throws IOException {
+        for (int i = 0; i < 2500; i++) {
+            fuelService.addFuelEntry(testCarId, new AddFuelRequest(40.0, 50.5, 1000L + i));
+        }
+
+        StringWriter csv = new StringWriter();
+        fuelService.exportFuelEntries(testCarId, FuelExportFormat.CSV, csv);
+        String[] lines = csv.toString().split("\n");
+        assertEquals(2501, lines.length);
+        assertEquals("id,carId,liters,price,odometer,createdAt", lines[0]);
+        assertTrue(lines[1].startsWith("1," + testCarId + ",40.0,50.5,1000,"));
+        assertTrue(lines[2500].contains(",3499,"));
+
+        StringWriter ndjson = new StringWriter();
+        fuelService.exportFuelEntries(testCarId, FuelExportFormat.NDJSON, ndjson);
+        String[] rows = ndjson.toString().split("\n");
+        assertEquals(2500, rows.length);
+        assertTrue(rows[0].startsWith("{\"id\":1,\"carId\":" + testCarId + ",\"liters\":40.0,\"price\":50.5,\"odometer\":1000,\"createdAt\":\""));
+    }
+
+    @Test
+    @DisplayName("Should not write anything when exporting an unknown car")
+    void shouldNotExportUnknownCar() {
+        StringWriter out = new StringWriter();
+
+        assertThrows(NotFoundException.class, () -> fuelService.exportFuelEntries(999L, FuelExportFormat.CSV, out));
+        assertEquals("", out.toString());
+    }
+
+    @Test
+    @DisplayName("Should page entries within an odometer range")
+    void shouldPageEntriesWithinOdometerRange() {
+        fuelService.addFuelEntry(testCarId, new AddFuelRequest(10.0, 15.0, 1000L));
+        fuelService.addFuelEntry(testCarId, new AddFuelRequest(20.0, 25.0, 2000L));
+        fuelService.addFuelEntry(testCarId, new AddFuelRequest(30.0, 35.0, 3000L));
+
+        FuelEntryRangeResponse page = fuelService.getFuelEntries(testCarId, 1500L, null, 1);
+        FuelEntryRangeResponse all = fuelService.getFuelEntries(testCarId, null, null, 10);
+
+        assertEquals(1, page.getEntries().size());
+        assertEquals(2000L, page.getEntries().get(0).getOdometer());
+        assertTrue(page.getHasMore());
+        assertEquals(3, all.getEntries().size());
+        assertFalse(all.getHasMore());
+        assertThrows(NotFoundException.class, () -> fuelService.getFuelEntries(999L, null, null, 10));
+    }
+
+    @Test
+    @DisplayName("Should calculate stats between two odometer readings")
+    void shouldCalculateStatsBetweenOdometers() {
+        fuelService.addFuelEntry(testCarId, new AddFuelRequest(40.0, 50.0, 40000L));
+        fuelService.addFuelEntry(testCarId, new AddFuelRequest(45.0, 55.0, 40500L));
+        fuelService.addFuelEntry(testCarId, new AddFuelRequest(50.0, 60.0, 41000L));
+
+        // The fill at 40,500 km becomes the baseline: 50L over 500 km.
+        FuelStatsResponse stats = fuelService.getFuelStatsBetweenOdometers(testCarId, 40100L, null);
+
+        assertEquals(95.0, stats.getTotalFuel());
+        assertEquals(115.0, stats.getTotalCost());
+        assertEquals(10.0, stats.getAverageConsumption());
+        assertEquals(2, stats.getEntryCount());
+    }
+
+    @Test
+    @DisplayName("Should reject an odometer range that ends before it starts")
+    void shouldRejectInvertedOdometerRange() {
+        ValidationException exception = assertThrows(
+            ValidationException.class,
+            () -> fuelService.getFuelStatsBetweenOdometers(testCarId, 2000L, 1000L)
+        );
+        assertTrue(exception.getFieldErrors().containsKey("fromOdometer"));
+    }
+
+    @Test
+    @DisplayName("Should calculate stats between two fill-ups")
+    void shouldCalculateStatsBetweenFillUps() {
+        fuelService.addFuelEntry(testCarId, new AddFuelRequest(40.0, 50.0, 40000L));
+        fuelService.addFuelEntry(testCarId, new AddFuelRequest(45.0, 55.0, 40500L));
+        fuelService.addFuelEntry(testCarId, new AddFuelRequest(50.0, 60.0, 41000L));
+        fuelService.addFuelEntry(testCarId, new AddFuelRequest(30.0, 40.0, 41300L));
+
+        FuelRangeStatsResponse stats = fuelService.getFuelRangeStats(testCarId, 1, 2);
+        FuelRangeStatsResponse sinceSecond = fuelService.getFuelRangeStats(testCarId, 1, null);
+
+        assertEquals(1, stats.getFromIndex());
+        assertEquals(2, stats.getToIndex());
+        assertEquals(40500L, stats.getFromOdometer());
+        assertEquals(41000L, stats.getToOdometer());
+        assertEquals(95.0, stats.getTotalFuel());
+        assertEquals(115.0, stats.getTotalCost());
+        assertEquals(10.0, stats.getAverageConsumption());
+        assertEquals(2, stats.getEntryCount());
+        assertEquals(3, sinceSecond.getToIndex());
+        assertEquals(10.0, sinceSecond.getAverageConsumption());
+        assertEquals(4, fuelService.getFuelRangeStats(testCarId, null, null).getEntryCount());
+    }
+
+    @Test
+    @DisplayName("Should reject fill-up indexes outside the history")
+    void shouldRejectFillUpIndexesOutsideHistory() {
+        fuelService.addFuelEntry(testCarId, new AddFuelRequest(40.0, 50.0, 40000L));
+        fuelService.addFuelEntry(testCarId, new AddFuelRequest(45.0, 55.0, 40500L));
+
+        ValidationException outOfRange = assertThrows(
+            ValidationException.class,
+            () -> fuelService.getFuelRangeStats(testCarId, 0, 2)
+        );
+        ValidationException inverted = assertThrows(
+            ValidationException.class,
+            () -> fuelService.getFuelRangeStats(testCarId, 1, 0)
+        );
+        assertTrue(outOfRange.getFieldErrors().containsKey("toIndex"));
+        assertTrue(inverted.getFieldErrors().containsKey("fromIndex"));
+        assertThrows(NotFoundException.class, () -> fuelService.getFuelRangeStats(999L, null, null));
+    }
+
+    @Test
+    @DisplayName("Should return empty range stats for a car without fill-ups")
+    void shouldReturnEmptyRangeStatsWithoutFillUps() {
+        FuelRangeStatsResponse stats = fuelService.getFuelRangeStats(testCarId, null, null);
+
+        assertNull(stats.getFromIndex());
+        assertEquals(0, stats.getEntryCount());
+    }
+}
@@ -0,0 +1,58 @@
+package com.carmanagement.servlet;
+
+import com.carmanagement.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Unit tests for AnalyticsExecutor.
+class AnalyticsExecutorTest {
+
+    @Test
+    @DisplayName("Should run tasks on its own threads")
+    void shouldRunTasks() throws InterruptedException {
+        try (AnalyticsExecutor executor = new AnalyticsExecutor(2, 4)) {
+            CountDownLatch done = new CountDownLatch(1);
+            String[] threadName = new String[1];
+            executor.execute(() -> {
+                threadName[0] = Thread.currentThread().getName();
+                done.countDown();
+            });
+
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+            assertTrue(threadName[0].startsWith("analytics-"));
+        }
+    }
+
+    @Test
+    @DisplayName("Should turn tasks away once the threads and queue are full")
+    void shouldRejectWhenFull() throws InterruptedException {
+        try (AnalyticsExecutor executor = new AnalyticsExecutor(1, 1)) {
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            executor.execute(() -> {
+                started.countDown();
+                awaitQuietly(release);
+            });
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            executor.execute(() -> { });
+
+            assertThrows(ServiceUnavailableException.class, () -> executor.execute(() -> { }));
+            assertEquals(1L, executor.getStats().get("rejected"));
+            assertEquals(1, executor.getStats().get("queued"));
+            release.countDown();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.carmanagement.servlet;
+
+import com.carmanagement.exception.BadRequestException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Unit tests for PathRouter.
+class PathRouterTest {
+
+    private PathRouter router;
+    private String matched;
+    private long matchedId;
+
+    @BeforeEach
+    void setUp() {
+        router = new PathRouter()
+                .add("/", route("root"))
+                .add("/batch", route("batch"))
+                .add("/fuel/import", route("import"))
+                .add("/{id}/fuel", route("fuel"))
+                .add("/{id}/fuel/stats", route("stats"));
+    }
+
+    private PathRouter.Handler route(String name) {
+        return (req, resp, id) -> {
+            matched = name;
+            matchedId = id;
+        };
+    }
+
+    @Test
+    @DisplayName("Should route literal paths and treat a missing path as the root")
+    void shouldRouteLiteralPaths() throws IOException {
+        assertTrue(router.dispatch(null, null, null));
+        assertEquals("root", matched);
+        assertTrue(router.dispatch("/", null, null));
+        assertEquals("root", matched);
+        assertTrue(router.dispatch("/batch", null, null));
+        assertEquals("batch", matched);
+        assertTrue(router.dispatch("/fuel/import", null, null));
+        assertEquals("import", matched);
+        assertEquals(0, matchedId);
+    }
+
+    @Test
+    @DisplayName("Should extract the car id from an {id} segment")
+    void shouldExtractCarId() throws IOException {
+        assertTrue(router.dispatch("/42/fuel", null, null));
+        assertEquals("fuel", matched);
+        assertEquals(42, matchedId);
+        assertTrue(router.dispatch("/007/fuel/stats", null, null));
+        assertEquals("stats", matched);
+        assertEquals(7, matchedId);
+    }
+
+    @Test
+    @DisplayName("Should not match unknown paths, non-numeric ids or trailing slashes")
+    void shouldRejectUnknownPaths() throws IOException {
+        assertFalse(router.dispatch("/abc/fuel", null, null));
+        assertFalse(router.dispatch("/42", null, null));
+        assertFalse(router.dispatch("/42/fuel/", null, null));
+        assertFalse(router.dispatch("/42/fuel/stats/extra", null, null));
+        assertFalse(router.dispatch("//fuel", null, null));
+        assertFalse(router.dispatch("/-1/fuel", null, null));
+        assertFalse(router.dispatch("/batches", null, null));
+        assertNull(matched);
+    }
+
+    @Test
+    @DisplayName("Should reject a zero or overflowing car id on a matching route")
+    void shouldRejectInvalidCarId() throws IOException {
+        BadRequestException zero = assertThrows(BadRequestException.class,
+                () -> router.dispatch("/0/fuel", null, null));
+        assertEquals("Car ID must be a positive number, got: 0", zero.getMessage());
+        BadRequestException overflow = assertThrows(BadRequestException.class,
+                () -> router.dispatch("/99999999999999999999/fuel", null, null));
+        assertEquals("Invalid car ID format: 99999999999999999999", overflow.getMessage());
+        // Only a matching route validates the id.
+        assertFalse(router.dispatch("/0/unknown", null, null));
+    }
+
+    @Test
+    @DisplayName("Should refuse duplicate routes and more than one {id}")
+    void shouldRefuseBadTemplates() {
+        assertThrows(IllegalArgumentException.class, () -> router.add("/batch", route("again")));
+        assertThrows(IllegalArgumentException.class, () -> router.add("/{id}/fuel/{id}", route("two")));
+        assertThrows(IllegalArgumentException.class, () -> router.add("batch", route("relative")));
+    }
+}
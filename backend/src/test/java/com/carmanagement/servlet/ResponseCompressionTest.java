@@ -0,0 +1,89 @@
+package com.carmanagement.servlet;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Unit tests for ResponseCompression.
+class ResponseCompressionTest {
+
+    private final ResponseCompression compression = new ResponseCompression(1024, 6,
+            Arrays.asList(ResponseCompression.GZIP, ResponseCompression.DEFLATE));
+
+    @Test
+    @DisplayName("Should pick the accepted encoding with the highest q-value")
+    void shouldNegotiateEncoding() {
+        assertEquals("gzip", compression.negotiate("gzip, deflate, br"));
+        assertEquals("deflate", compression.negotiate("deflate"));
+        assertEquals("deflate", compression.negotiate("gzip;q=0.5, deflate"));
+        assertEquals("gzip", compression.negotiate("GZIP ; q=0.8, deflate;q=0.8"));
+        assertEquals("deflate", compression.negotiate("*;q=0.3, gzip;q=0"));
+        assertNull(compression.negotiate("br"));
+        assertNull(compression.negotiate("gzip;q=0, deflate;q=0"));
+        assertNull(compression.negotiate(""));
+        assertNull(compression.negotiate(null));
+    }
+
+    @Test
+    @DisplayName("Should only offer the configured encodings")
+    void shouldOnlyOfferConfiguredEncodings() {
+        ResponseCompression deflateOnly = new ResponseCompression(0, 1, List.of(ResponseCompression.DEFLATE));
+
+        assertNull(deflateOnly.negotiate("gzip"));
+        assertEquals("deflate", deflateOnly.negotiate("gzip, deflate"));
+    }
+
+    @Test
+    @DisplayName("Should compress to a body the matching decoder restores, and count it")
+    void shouldCompressAndRecordStats() throws IOException {
+        byte[] body = "{\"brand\":\"Toyota\",\"model\":\"Corolla\",\"year\":2020}".repeat(100)
+                .getBytes(StandardCharsets.UTF_8);
+
+        byte[] gzip = compression.compress(body, ResponseCompression.GZIP);
+        byte[] deflate = compression.compress(body, ResponseCompression.DEFLATE);
+        compression.recordBelowThreshold();
+
+        assertArrayEquals(body, new GZIPInputStream(new ByteArrayInputStream(gzip)).readAllBytes());
+        assertArrayEquals(body, inflate(deflate));
+        Map<String, Object> stats = compression.getStats();
+        assertEquals(2L, stats.get("compressedResponses"));
+        assertEquals(1L, stats.get("belowThreshold"));
+        assertEquals(2L * body.length, stats.get("bytesIn"));
+        assertEquals((long) (gzip.length + deflate.length), stats.get("bytesOut"));
+        assertTrue((Double) stats.get("ratio") > 10);
+    }
+
+    @Test
+    @DisplayName("Should release the encoder when a body is abandoned part-way")
+    void shouldReleaseEncoderOnAbort() throws IOException {
+        byte[] body = "{\"brand\":\"Toyota\"}".repeat(100).getBytes(StandardCharsets.UTF_8);
+
+        for (String encoding : List.of(ResponseCompression.GZIP, ResponseCompression.DEFLATE)) {
+            ResponseCompression.Encoder encoder = compression.wrap(encoding, new ByteArrayOutputStream());
+            encoder.write(body, 0, body.length);
+            encoder.abort();
+
+            // An ended Deflater reports itself closed on the next use.
+            assertThrows(NullPointerException.class, () -> encoder.write(body, 0, body.length));
+        }
+        assertEquals(0L, compression.getStats().get("compressedResponses"));
+    }
+
+    private static byte[] inflate(byte[] deflate) throws IOException {
+        try (InputStream in = new InflaterInputStream(new ByteArrayInputStream(deflate))) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.carmanagement.util;
+
+import com.carmanagement.exception.BadRequestException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Unit tests for BoundedInputStream.
+class BoundedInputStreamTest {
+
+    @Test
+    @DisplayName("Should pass through a stream of exactly the limit")
+    void shouldReadUpToLimit() throws IOException {
+        InputStream in = new BoundedInputStream(new ByteArrayInputStream(new byte[100]), 100, "Too large");
+
+        assertEquals(100, in.readAllBytes().length);
+        assertEquals(-1, in.read());
+        assertEquals(100, ((BoundedInputStream) in).getCount());
+    }
+
+    @Test
+    @DisplayName("Should fail once more than the limit has been read")
+    void shouldFailPastLimit() throws IOException {
+        BoundedInputStream in = new BoundedInputStream(new ByteArrayInputStream(new byte[101]), 100, "Too large");
+        byte[] buffer = new byte[60];
+
+        assertEquals(60, in.read(buffer, 0, 60));
+        assertEquals(0, in.read());
+        BadRequestException e = assertThrows(BadRequestException.class, () -> in.read(buffer, 0, 60));
+        assertEquals("Too large", e.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should count skipped bytes towards the limit")
+    void shouldCountSkippedBytes() {
+        BoundedInputStream in = new BoundedInputStream(new ByteArrayInputStream(new byte[200]), 100, "Too large");
+
+        assertThrows(BadRequestException.class, () -> in.skip(150));
+        assertFalse(in.markSupported());
+    }
+}
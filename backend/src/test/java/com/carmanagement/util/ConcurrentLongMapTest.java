@@ -0,0 +1,124 @@
+package com.carmanagement.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Unit tests for ConcurrentLongMap.
+class ConcurrentLongMapTest {
+
+    private ConcurrentLongMap<String> map;
+
+    @BeforeEach
+    void setUp() {
+        map = new ConcurrentLongMap<>();
+    }
+
+    @Test
+    @DisplayName("Should put, replace and get values by primitive key")
+    void shouldPutAndGet() {
+        assertNull(map.put(1L, "one"));
+        assertNull(map.put(0L, "zero"));
+        assertNull(map.put(-5L, "minus five"));
+        assertEquals("one", map.put(1L, "uno"));
+
+        assertEquals("uno", map.get(1L));
+        assertEquals("zero", map.get(0L));
+        assertEquals("minus five", map.get(-5L));
+        assertNull(map.get(2L));
+        assertTrue(map.containsKey(0L));
+        assertEquals(3, map.size());
+    }
+
+    @Test
+    @DisplayName("Should match HashMap under random puts and removes")
+    void shouldMatchHashMapUnderRandomOperations() {
+        Map<Long, String> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 200_000; i++) {
+            long key = random.nextInt(5_000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                String value = "v" + i;
+                assertEquals(expected.put(key, value), map.put(key, value));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (long key = 0; key < 5_000; key++) {
+            assertEquals(expected.get(key), map.get(key), "key " + key);
+        }
+        assertEquals(expected.size(), map.values().size());
+    }
+
+    @Test
+    @DisplayName("Should only compute absent values once")
+    void shouldComputeIfAbsent() {
+        assertEquals("a", map.computeIfAbsent(7L, key -> "a"));
+        assertEquals("a", map.computeIfAbsent(7L, key -> "b"));
+        assertEquals("a", map.putIfAbsent(7L, "c"));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    @DisplayName("Should reject null values")
+    void shouldRejectNullValues() {
+        assertThrows(NullPointerException.class, () -> map.put(1L, null));
+    }
+
+    @Test
+    @DisplayName("Should clear all segments")
+    void shouldClear() {
+        for (long key = 0; key < 1_000; key++) {
+            map.put(key, "v");
+        }
+
+        map.clear();
+
+        assertTrue(map.isEmpty());
+        assertNull(map.get(10L));
+    }
+
+    @Test
+    @DisplayName("Should keep every entry written by concurrent writers")
+    void shouldHandleConcurrentWriters() throws Exception {
+        int threads = 8;
+        int perThread = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                long base = (long) t * perThread;
+                futures.add(executor.submit(() -> {
+                    for (long key = base; key < base + perThread; key++) {
+                        map.put(key, "v" + key);
+                        assertEquals("v" + key, map.get(key));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals((long) threads * perThread, map.size());
+        for (long key = 0; key < (long) threads * perThread; key++) {
+            assertEquals("v" + key, map.get(key));
+        }
+    }
+}
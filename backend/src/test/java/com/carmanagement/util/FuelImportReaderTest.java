@@ -0,0 +1,94 @@
+package com.carmanagement.util;
+
+import com.carmanagement.dto.request.FuelImportRecord;
+import com.carmanagement.exception.BadRequestException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Unit tests for FuelImportReader.
+class FuelImportReaderTest {
+
+    @Test
+    @DisplayName("Should read newline-delimited records")
+    void shouldReadNdjson() {
+        List<FuelImportRecord> records = read(
+                "{\"carId\":1,\"liters\":40.5,\"price\":50,\"odometer\":1000}\n"
+                + "{\"carId\":2,\"liters\":30,\"price\":40,\"odometer\":2000,\"station\":\"A1\"}\n");
+
+        assertEquals(2, records.size());
+        FuelImportRecord first = records.get(0);
+        assertEquals(1, first.getLine());
+        assertEquals(1L, first.getCarId());
+        assertEquals(40.5, first.getFuel().getLiters());
+        assertEquals(50.0, first.getFuel().getPrice());
+        assertEquals(1000L, first.getFuel().getOdometer());
+        assertNull(first.getParseError());
+        assertEquals(2, records.get(1).getLine());
+        assertEquals(2000L, records.get(1).getFuel().getOdometer());
+    }
+
+    @Test
+    @DisplayName("Should read a JSON array of records")
+    void shouldReadArray() {
+        List<FuelImportRecord> records = read(
+                "[{\"carId\":1,\"liters\":40,\"price\":50,\"odometer\":1000},"
+                + " {\"carId\":1,\"liters\":45,\"price\":55,\"odometer\":1500}]");
+
+        assertEquals(2, records.size());
+        assertEquals(1500L, records.get(1).getFuel().getOdometer());
+    }
+
+    @Test
+    @DisplayName("Should report bad field values and keep reading")
+    void shouldReportBadValues() {
+        List<FuelImportRecord> records = read(
+                "{\"carId\":1,\"liters\":\"lots\",\"price\":50,\"odometer\":1000}\n"
+                + "{\"carId\":1.5,\"liters\":40,\"price\":50,\"odometer\":1000}\n"
+                + "{\"carId\":1,\"liters\":NaN,\"price\":50,\"odometer\":1000}\n"
+                + "[1, 2]\n"
+                + "{\"carId\":1,\"liters\":40,\"price\":50,\"odometer\":1000}\n");
+
+        assertEquals(5, records.size());
+        assertEquals("Invalid liters value", records.get(0).getParseError());
+        assertNull(records.get(0).getFuel());
+        assertEquals("Invalid carId value", records.get(1).getParseError());
+        assertEquals("Invalid liters value", records.get(2).getParseError());
+        assertEquals("Expected a JSON object", records.get(3).getParseError());
+        assertNull(records.get(4).getParseError());
+    }
+
+    @Test
+    @DisplayName("Should stop at broken JSON with an error record")
+    void shouldStopAtBrokenJson() {
+        List<FuelImportRecord> records = read(
+                "{\"carId\":1,\"liters\":40,\"price\":50,\"odometer\":1000}\n"
+                + "{\"carId\":1,\"liters\":40,\n");
+
+        assertEquals(2, records.size());
+        assertNull(records.get(0).getParseError());
+        assertTrue(records.get(1).getParseError().startsWith("Invalid JSON format"));
+    }
+
+    @Test
+    @DisplayName("Should reject an empty body")
+    void shouldRejectEmptyBody() {
+        BadRequestException exception = assertThrows(BadRequestException.class, () -> read("  \n"));
+
+        assertEquals("Request body is empty", exception.getMessage());
+    }
+
+    private static List<FuelImportRecord> read(String body) {
+        FuelImportReader reader = new FuelImportReader(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+        List<FuelImportRecord> records = new ArrayList<>();
+        reader.forEachRemaining(records::add);
+        return records;
+    }
+}
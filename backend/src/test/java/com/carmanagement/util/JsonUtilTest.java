@@ -0,0 +1,119 @@
+package com.carmanagement.util;
+
+import com.carmanagement.dto.request.AddFuelRequest;
+import com.carmanagement.dto.request.CreateCarRequest;
+import com.carmanagement.dto.response.CarResponse;
+import com.carmanagement.dto.response.ErrorResponse;
+import com.carmanagement.dto.response.FuelEntryResponse;
+import com.carmanagement.dto.response.FuelStatsResponse;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonSyntaxException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Unit tests for JsonUtil.
+class JsonUtilTest {
+
+    // Gson's reflective output, which the hand-written adapters must reproduce.
+    private static final Gson REFLECTIVE = new GsonBuilder()
+            .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
+            .create();
+
+    @Test
+    @DisplayName("Should write compact JSON by default")
+    void shouldWriteCompactJson() throws IOException {
+        StringWriter out = new StringWriter();
+
+        JsonUtil.writeJson(new FuelStatsResponse(40.0, 50.5, 8.0, 2), out, false);
+
+        String expected = "{\"totalFuel\":40.0,\"totalCost\":50.5,\"averageConsumption\":8.0,\"entryCount\":2}";
+        assertEquals(expected, out.toString());
+        assertEquals(expected, JsonUtil.toJson(new FuelStatsResponse(40.0, 50.5, 8.0, 2)));
+    }
+
+    @Test
+    @DisplayName("Should indent JSON when asked to")
+    void shouldWritePrettyJson() throws IOException {
+        StringWriter out = new StringWriter();
+
+        JsonUtil.writeJson(new FuelStatsResponse(40.0, 50.5, 8.0, 2), out, true);
+
+        assertEquals("{\n  \"totalFuel\": 40.0,\n  \"totalCost\": 50.5,\n  \"averageConsumption\": 8.0,\n"
+                + "  \"entryCount\": 2\n}", out.toString());
+    }
+
+    @Test
+    @DisplayName("Should write null as a JSON null")
+    void shouldWriteNull() throws IOException {
+        StringWriter out = new StringWriter();
+
+        JsonUtil.writeJson(null, out, false);
+
+        assertEquals("null", out.toString());
+    }
+
+    @Test
+    @DisplayName("Should write DTOs exactly as Gson's reflective adapter does")
+    void shouldMatchReflectiveOutput() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 15, 10, 30);
+        Map<String, String> fieldErrors = new LinkedHashMap<>();
+        fieldErrors.put("brand", "Brand is required");
+        fieldErrors.put("year", "Year must be <= 2026");
+        List<Object> values = Arrays.asList(
+                new CreateCarRequest("Toyota", "Corolla \"E\" <12>", 2020),
+                new CreateCarRequest(null, "Corolla", null),
+                new AddFuelRequest(40.5, 50.0, 45000L),
+                new CarResponse(1L, "Toyota", "Corolla", 2020, createdAt),
+                new CarResponse(2L, "BMW", "X5", 2019, null),
+                new FuelEntryResponse(3L, 1L, 40.0, 50.25, 45000L, createdAt),
+                new FuelStatsResponse(127.0, 157.0, 8.7, 3),
+                new ErrorResponse(400, "Validation Error", "Validation failed", createdAt, fieldErrors),
+                new ErrorResponse(404, "Not Found", "Car with id 9 not found", createdAt, null));
+
+        for (Object value : values) {
+            assertEquals(REFLECTIVE.toJson(value), JsonUtil.toJson(value));
+        }
+    }
+
+    @Test
+    @DisplayName("Should read DTOs and skip unknown fields")
+    void shouldReadDtos() {
+        CreateCarRequest car = JsonUtil.fromJson(
+                "{\"brand\":\"Toyota\",\"color\":{\"r\":1},\"model\":\"Corolla\",\"year\":2020}",
+                CreateCarRequest.class);
+        AddFuelRequest fuel = JsonUtil.fromJson("{\"liters\":40.5,\"price\":null,\"odometer\":45000}",
+                AddFuelRequest.class);
+        ErrorResponse error = JsonUtil.fromJson(JsonUtil.toJson(new ErrorResponse(400, "Bad Request", "Nope",
+                LocalDateTime.of(2025, 1, 15, 10, 30), null)), ErrorResponse.class);
+
+        assertEquals("Toyota", car.getBrand());
+        assertEquals("Corolla", car.getModel());
+        assertEquals(2020, car.getYear());
+        assertEquals(40.5, fuel.getLiters());
+        assertNull(fuel.getPrice());
+        assertEquals(45000L, fuel.getOdometer());
+        assertEquals(400, error.getStatus());
+        assertEquals(LocalDateTime.of(2025, 1, 15, 10, 30), error.getTimestamp());
+        assertNull(JsonUtil.fromJson("null", CreateCarRequest.class));
+    }
+
+    @Test
+    @DisplayName("Should reject malformed DTO values")
+    void shouldRejectMalformedValues() {
+        assertThrows(JsonSyntaxException.class, () -> JsonUtil.fromJson("{\"year\":\"soon\"}", CreateCarRequest.class));
+        assertThrows(JsonSyntaxException.class, () -> JsonUtil.fromJson("{\"odometer\":1.5}", AddFuelRequest.class));
+        assertThrows(JsonSyntaxException.class, () -> JsonUtil.fromJson("[1]", CreateCarRequest.class));
+        assertThrows(JsonSyntaxException.class, () -> JsonUtil.fromJson("{\"brand\":[]}", CreateCarRequest.class));
+    }
+}
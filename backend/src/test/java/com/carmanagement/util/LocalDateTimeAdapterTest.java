@@ -0,0 +1,58 @@
+package com.carmanagement.util;
+
+import com.google.gson.stream.JsonReader;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Unit tests for LocalDateTimeAdapter.
+class LocalDateTimeAdapterTest {
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("MMM dd, yyyy hh:mm a");
+
+    private final LocalDateTimeAdapter adapter = new LocalDateTimeAdapter();
+
+    @Test
+    @DisplayName("Should render the same text as the display formatter")
+    void shouldMatchFormatter() {
+        Random random = new Random(42);
+        LocalDateTime start = LocalDateTime.of(2020, 1, 1, 0, 0);
+        for (int i = 0; i < 20000; i++) {
+            // Minutes far apart land on the same cache slots, so hits, misses and evictions all occur.
+            LocalDateTime value = start.plusMinutes(random.nextInt(5 * 365 * 24 * 60))
+                    .plusSeconds(random.nextInt(60));
+            assertEquals(value.format(FORMATTER), adapter.format(value));
+            assertEquals(value.format(FORMATTER), adapter.format(value));
+        }
+    }
+
+    @Test
+    @DisplayName("Should read both display and ISO timestamps")
+    void shouldReadBothFormats() throws IOException {
+        LocalDateTime value = LocalDateTime.of(2025, 1, 15, 22, 30);
+
+        assertEquals(value, read("\"" + value.format(FORMATTER) + "\""));
+        assertEquals(value.plusSeconds(7), read("\"2025-01-15T22:30:07\""));
+        assertNull(read("null"));
+    }
+
+    @Test
+    @DisplayName("Should reject text in neither format")
+    void shouldRejectUnknownFormat() {
+        assertThrows(DateTimeParseException.class, () -> read("\"yesterday\""));
+        assertThrows(DateTimeParseException.class, () -> read("\"2025-13-01T00:00:00\""));
+        assertThrows(DateTimeParseException.class, () -> read("\"\""));
+    }
+
+    private LocalDateTime read(String json) throws IOException {
+        return adapter.read(new JsonReader(new StringReader(json)));
+    }
+}
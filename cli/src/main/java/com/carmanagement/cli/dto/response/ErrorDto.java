@@ -13,6 +13,14 @@ public class ErrorDto {
     public ErrorDto() {
     }
 
+    public ErrorDto(int status, String error, String message, String timestamp, Map<String, String> fieldErrors) {
+        this.status = status;
+        this.error = error;
+        this.message = message;
+        this.timestamp = timestamp;
+        this.fieldErrors = fieldErrors;
+    }
+
     public int getStatus() {
         return status;
     }
@@ -35,7 +35,7 @@ public class ApiClient {
         this.client = HttpClient.newBuilder()
                 .connectTimeout(TIMEOUT)
                 .build();
-        this.gson = new GsonBuilder().create();
+        this.gson = DtoTypeAdapters.register(new GsonBuilder()).create();
     }
 
     public CarDto createCar(String brand, String model, int year) throws ApiException {
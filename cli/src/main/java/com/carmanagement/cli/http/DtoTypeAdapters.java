@@ -0,0 +1,393 @@
+package com.carmanagement.cli.http;
+
+import com.carmanagement.cli.dto.request.AddFuelRequestDto;
+import com.carmanagement.cli.dto.request.CreateCarRequestDto;
+import com.carmanagement.cli.dto.response.CarDto;
+import com.carmanagement.cli.dto.response.ErrorDto;
+import com.carmanagement.cli.dto.response.FuelEntryDto;
+import com.carmanagement.cli.dto.response.FuelStatsDto;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Streaming codecs for the CLI's request and response DTOs, mirroring the backend's, so the client
+// never falls back to Gson's reflective adapter. Timestamps stay in the server's display text.
+public final class DtoTypeAdapters {
+
+    private DtoTypeAdapters() {
+    }
+
+    public static GsonBuilder register(GsonBuilder builder) {
+        return builder
+                .registerTypeAdapter(CreateCarRequestDto.class, new CreateCarRequestDtoAdapter())
+                .registerTypeAdapter(AddFuelRequestDto.class, new AddFuelRequestDtoAdapter())
+                .registerTypeAdapter(CarDto.class, new CarDtoAdapter())
+                .registerTypeAdapter(FuelEntryDto.class, new FuelEntryDtoAdapter())
+                .registerTypeAdapter(FuelStatsDto.class, new FuelStatsDtoAdapter())
+                .registerTypeAdapter(ErrorDto.class, new ErrorDtoAdapter());
+    }
+
+    // Handles JSON null and the object braces; subclasses deal with the fields only.
+    private abstract static class DtoAdapter<T> extends TypeAdapter<T> {
+
+        @Override
+        public final void write(JsonWriter out, T value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            writeFields(out, value);
+            out.endObject();
+        }
+
+        @Override
+        public final T read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            in.beginObject();
+            T value = readFields(in);
+            in.endObject();
+            return value;
+        }
+
+        abstract void writeFields(JsonWriter out, T value) throws IOException;
+
+        // Reads name/value pairs until the end of the object, leaving the closing brace to the caller.
+        abstract T readFields(JsonReader in) throws IOException;
+    }
+
+    private static final class CreateCarRequestDtoAdapter extends DtoAdapter<CreateCarRequestDto> {
+
+        @Override
+        void writeFields(JsonWriter out, CreateCarRequestDto value) throws IOException {
+            writeString(out, "brand", value.getBrand());
+            writeString(out, "model", value.getModel());
+            writeNumber(out, "year", value.getYear());
+        }
+
+        @Override
+        CreateCarRequestDto readFields(JsonReader in) throws IOException {
+            CreateCarRequestDto request = new CreateCarRequestDto();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "brand":
+                        request.setBrand(readString(in));
+                        break;
+                    case "model":
+                        request.setModel(readString(in));
+                        break;
+                    case "year":
+                        request.setYear(readInteger(in));
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            return request;
+        }
+    }
+
+    private static final class AddFuelRequestDtoAdapter extends DtoAdapter<AddFuelRequestDto> {
+
+        @Override
+        void writeFields(JsonWriter out, AddFuelRequestDto value) throws IOException {
+            writeNumber(out, "liters", value.getLiters());
+            writeNumber(out, "price", value.getPrice());
+            writeNumber(out, "odometer", value.getOdometer());
+        }
+
+        @Override
+        AddFuelRequestDto readFields(JsonReader in) throws IOException {
+            AddFuelRequestDto request = new AddFuelRequestDto();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "liters":
+                        request.setLiters(readDouble(in));
+                        break;
+                    case "price":
+                        request.setPrice(readDouble(in));
+                        break;
+                    case "odometer":
+                        request.setOdometer(readLong(in));
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            return request;
+        }
+    }
+
+    private static final class CarDtoAdapter extends DtoAdapter<CarDto> {
+
+        @Override
+        void writeFields(JsonWriter out, CarDto value) throws IOException {
+            writeNumber(out, "id", value.getId());
+            writeString(out, "brand", value.getBrand());
+            writeString(out, "model", value.getModel());
+            writeNumber(out, "year", value.getYear());
+            writeString(out, "createdAt", value.getCreatedAt());
+        }
+
+        @Override
+        CarDto readFields(JsonReader in) throws IOException {
+            Long id = null;
+            String brand = null;
+            String model = null;
+            Integer year = null;
+            String createdAt = null;
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "id":
+                        id = readLong(in);
+                        break;
+                    case "brand":
+                        brand = readString(in);
+                        break;
+                    case "model":
+                        model = readString(in);
+                        break;
+                    case "year":
+                        year = readInteger(in);
+                        break;
+                    case "createdAt":
+                        createdAt = readString(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            return new CarDto(id, brand, model, year, createdAt);
+        }
+    }
+
+    private static final class FuelEntryDtoAdapter extends DtoAdapter<FuelEntryDto> {
+
+        @Override
+        void writeFields(JsonWriter out, FuelEntryDto value) throws IOException {
+            writeNumber(out, "id", value.getId());
+            writeNumber(out, "carId", value.getCarId());
+            writeNumber(out, "liters", value.getLiters());
+            writeNumber(out, "price", value.getPrice());
+            writeNumber(out, "odometer", value.getOdometer());
+            writeString(out, "createdAt", value.getCreatedAt());
+        }
+
+        @Override
+        FuelEntryDto readFields(JsonReader in) throws IOException {
+            Long id = null;
+            Long carId = null;
+            Double liters = null;
+            Double price = null;
+            Long odometer = null;
+            String createdAt = null;
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "id":
+                        id = readLong(in);
+                        break;
+                    case "carId":
+                        carId = readLong(in);
+                        break;
+                    case "liters":
+                        liters = readDouble(in);
+                        break;
+                    case "price":
+                        price = readDouble(in);
+                        break;
+                    case "odometer":
+                        odometer = readLong(in);
+                        break;
+                    case "createdAt":
+                        createdAt = readString(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            return new FuelEntryDto(id, carId, liters, price, odometer, createdAt);
+        }
+    }
+
+    private static final class FuelStatsDtoAdapter extends DtoAdapter<FuelStatsDto> {
+
+        @Override
+        void writeFields(JsonWriter out, FuelStatsDto value) throws IOException {
+            writeNumber(out, "totalFuel", value.getTotalFuel());
+            writeNumber(out, "totalCost", value.getTotalCost());
+            writeNumber(out, "averageConsumption", value.getAverageConsumption());
+            writeNumber(out, "entryCount", value.getEntryCount());
+        }
+
+        @Override
+        FuelStatsDto readFields(JsonReader in) throws IOException {
+            Double totalFuel = null;
+            Double totalCost = null;
+            Double averageConsumption = null;
+            Integer entryCount = null;
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "totalFuel":
+                        totalFuel = readDouble(in);
+                        break;
+                    case "totalCost":
+                        totalCost = readDouble(in);
+                        break;
+                    case "averageConsumption":
+                        averageConsumption = readDouble(in);
+                        break;
+                    case "entryCount":
+                        entryCount = readInteger(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            return new FuelStatsDto(totalFuel, totalCost, averageConsumption, entryCount);
+        }
+    }
+
+    private static final class ErrorDtoAdapter extends DtoAdapter<ErrorDto> {
+
+        @Override
+        void writeFields(JsonWriter out, ErrorDto value) throws IOException {
+            out.name("status").value(value.getStatus());
+            writeString(out, "error", value.getError());
+            writeString(out, "message", value.getMessage());
+            writeString(out, "timestamp", value.getTimestamp());
+            if (value.getFieldErrors() != null) {
+                out.name("fieldErrors").beginObject();
+                for (Map.Entry<String, String> fieldError : value.getFieldErrors().entrySet()) {
+                    out.name(fieldError.getKey());
+                    if (fieldError.getValue() == null) {
+                        out.nullValue();
+                    } else {
+                        out.value(fieldError.getValue());
+                    }
+                }
+                out.endObject();
+            }
+        }
+
+        @Override
+        ErrorDto readFields(JsonReader in) throws IOException {
+            int status = 0;
+            String error = null;
+            String message = null;
+            String timestamp = null;
+            Map<String, String> fieldErrors = null;
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "status":
+                        Integer value = readInteger(in);
+                        status = value == null ? 0 : value;
+                        break;
+                    case "error":
+                        error = readString(in);
+                        break;
+                    case "message":
+                        message = readString(in);
+                        break;
+                    case "timestamp":
+                        timestamp = readString(in);
+                        break;
+                    case "fieldErrors":
+                        fieldErrors = readStringMap(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            return new ErrorDto(status, error, message, timestamp, fieldErrors);
+        }
+    }
+
+    private static void writeString(JsonWriter out, String name, String value) throws IOException {
+        if (value != null) {
+            out.name(name).value(value);
+        }
+    }
+
+    private static void writeNumber(JsonWriter out, String name, Number value) throws IOException {
+        if (value != null) {
+            // Gson's own Double adapter refuses these even though it writes leniently.
+            if (value instanceof Double && !Double.isFinite((Double) value)) {
+                throw new IllegalArgumentException(value + " is not a valid double value as per JSON specification");
+            }
+            out.name(name).value(value);
+        }
+    }
+
+    // Like Gson's own String adapter, numbers and booleans are read as their text.
+    private static String readString(JsonReader in) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        if (token == JsonToken.BOOLEAN) {
+            return Boolean.toString(in.nextBoolean());
+        }
+        return in.nextString();
+    }
+
+    private static Integer readInteger(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        try {
+            return in.nextInt();
+        } catch (NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    private static Long readLong(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        try {
+            return in.nextLong();
+        } catch (NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    private static Double readDouble(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        try {
+            return in.nextDouble();
+        } catch (NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    private static Map<String, String> readStringMap(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        Map<String, String> map = new LinkedHashMap<>();
+        in.beginObject();
+        while (in.hasNext()) {
+            map.put(in.nextName(), readString(in));
+        }
+        in.endObject();
+        return map;
+    }
+}